@@ -2,10 +2,15 @@ package com.vserdiuk.json.utility.controller;
 
 import com.vserdiuk.json.utility.service.JsonService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST controller for JSON Utility operations.
@@ -14,6 +19,10 @@ import java.util.List;
  * These tasks include validation, pretty printing, merging, schema validation,
  * minifying, sorting, finding, and conversions to and from other formats such as CSV, XML, Excel, and YAML.
  * </p>
+ * <p>
+ * Request bodies are bound as raw UTF-8 bytes and handed to the service as is, so large payloads are
+ * never decoded into an intermediate {@link String}.
+ * </p>
  */
 @RestController
 @RequestMapping("/api/json")
@@ -29,7 +38,7 @@ public class JsonController {
      * @return true if the JSON is valid, otherwise false
      */
     @PostMapping("/validate")
-    public ResponseEntity<Boolean> validateJson(@RequestBody String json) {
+    public ResponseEntity<Boolean> validateJson(@RequestBody byte[] json) {
         return ResponseEntity.ok(jsonService.validateJson(json));
     }
 
@@ -40,36 +49,262 @@ public class JsonController {
      * @return the pretty-printed JSON string
      */
     @PostMapping("/pretty")
-    public ResponseEntity<String> prettyPrintJson(@RequestBody String json) {
+    public ResponseEntity<String> prettyPrintJson(@RequestBody byte[] json) {
         return ResponseEntity.ok(jsonService.prettyPrintJson(json));
     }
 
     /**
-     * Merges two JSON strings into one.
+     * Streams a pretty-printed version of the request body straight to the response.
+     * <p>
+     * Selected with {@code stream=true}. Tokens are copied from the request to the response as they are
+     * parsed, so memory use stays flat regardless of the payload size. The response is committed with the
+     * first bytes, so a syntax error late in the input truncates the output instead of changing the status.
+     * </p>
+     *
+     * @param json the request body stream
+     * @return the pretty-printed JSON, written as it is produced
+     */
+    @PostMapping(value = "/pretty", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> prettyPrintJsonStream(InputStream json) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> jsonService.prettyPrintJson(json, out));
+    }
+
+    /**
+     * Merges JSON strings of the same structure into a JSON array.
      *
-     * @param jsonList a list containing exactly two JSON strings to merge
-     * @return the merged JSON string, or an error if input list size is not 2
+     * @param jsonList a list containing two or more JSON strings to merge
+     * @return the merged JSON array, or an error if fewer than two strings are given
      */
     @PostMapping("/merge")
     public ResponseEntity<String> mergeJson(@RequestBody List<String> jsonList) {
-        if (jsonList.size() != 2) {
-            return ResponseEntity.badRequest().body("Please provide exactly two or more JSON strings.");
+        if (jsonList.size() < 2) {
+            return ResponseEntity.badRequest().body("Please provide two or more JSON strings.");
         }
         return ResponseEntity.ok(jsonService.mergeJson(jsonList));
     }
 
+    /**
+     * Deep-merges JSON strings into one document, applying each one to the result of the previous ones as a
+     * JSON Merge Patch (RFC 7396). Selected with {@code mode=deep}, unless {@code stream=true} is also given.
+     *
+     * @param jsonList the base JSON string followed by one or more patches
+     * @return the merged JSON string, or an error if fewer than two strings are given
+     */
+    @PostMapping(value = "/merge", params = {"mode=deep", "stream!=true"})
+    public ResponseEntity<String> deepMergeJson(@RequestBody List<String> jsonList) {
+        if (jsonList.size() < 2) {
+            return ResponseEntity.badRequest().body("Please provide two or more JSON strings.");
+        }
+        return ResponseEntity.ok(jsonService.deepMergeJson(jsonList));
+    }
+
+    /**
+     * Streams the merge of a JSON array of documents straight to the response.
+     * <p>
+     * Selected with {@code stream=true}. Unlike the default mode, the elements of the request array are the
+     * documents themselves rather than JSON strings. Documents are merged one at a time, so any number of them
+     * can be merged; see {@link #prettyPrintJsonStream(InputStream)} for the trade-offs of streaming mode.
+     * Newline-delimited requests are left to {@link #mergeNdjson(InputStream)}, with or without {@code stream=true}.
+     * </p>
+     *
+     * @param json the request body stream
+     * @return the merged JSON array, written as it is produced
+     */
+    @PostMapping(value = "/merge", params = "stream=true", consumes = "!" + MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> mergeJsonStream(InputStream json) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> jsonService.mergeJson(json, out, false));
+    }
+
+    /**
+     * Streams the merge of newline-delimited JSON documents straight to the response.
+     * Selected with the {@code application/x-ndjson} content type.
+     *
+     * @param json the request body stream
+     * @return the merged JSON array, written as it is produced
+     */
+    @PostMapping(value = "/merge", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> mergeNdjson(InputStream json) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> jsonService.mergeJson(json, out, true));
+    }
+
+    /**
+     * Computes a JSON Patch (RFC 6902) that turns the first JSON string into the second.
+     *
+     * @param jsonList       a list containing exactly two JSON strings: the source and the target
+     * @param ignoreKeyOrder whether objects whose fields differ only in order are considered equal
+     * @return the JSON Patch operations, or an error if input list size is not 2
+     */
+    @PostMapping("/diff")
+    public ResponseEntity<String> diffJson(@RequestBody List<String> jsonList,
+                                           @RequestParam(defaultValue = "false") boolean ignoreKeyOrder) {
+        if (jsonList.size() != 2) {
+            return ResponseEntity.badRequest().body("Please provide exactly two JSON strings: the source and the target.");
+        }
+        return ResponseEntity.ok(jsonService.diffJson(jsonList.get(0), jsonList.get(1), ignoreKeyOrder));
+    }
+
+    /**
+     * Applies a JSON Patch (RFC 6902) to a JSON document.
+     *
+     * @param jsonList a list containing exactly two JSON strings: the document and the patch
+     * @return the patched JSON document, minified, or an error if input list size is not 2
+     */
+    @PostMapping("/patch")
+    public ResponseEntity<String> patchJson(@RequestBody List<String> jsonList) {
+        if (jsonList.size() != 2) {
+            return ResponseEntity.badRequest().body("Please provide exactly two JSON strings: the document and the patch.");
+        }
+        return ResponseEntity.ok(jsonService.patchJson(jsonList.get(0), jsonList.get(1)));
+    }
+
+    /**
+     * Converts the given JSON string into its canonical form (RFC 8785): object keys sorted, no whitespace and
+     * numbers in their shortest form.
+     * <p>
+     * With {@code hash}, the hex-encoded digest of the canonical form is returned instead, for use as a content
+     * address. The canonical form is hashed as it is written and never held in memory. Supported algorithms are
+     * {@code sha256}, {@code sha384} and {@code sha512}.
+     * </p>
+     *
+     * @param hash optional hash algorithm
+     * @param json the JSON string to canonicalize
+     * @return the canonical JSON string, or its digest if a hash algorithm is given
+     */
+    @PostMapping("/canonicalize")
+    public ResponseEntity<String> canonicalizeJson(@RequestParam(required = false) String hash, @RequestBody byte[] json) {
+        if (hash != null) {
+            return ResponseEntity.ok(jsonService.hashCanonicalJson(json, hash));
+        }
+        return ResponseEntity.ok(jsonService.canonicalizeJson(json));
+    }
+
     /**
      * Validates the given JSON against a provided JSON schema.
+     * Validation stops at the first error, since a single error decides the result.
      *
      * @param schema the JSON schema to validate against
      * @param json   the JSON string to validate
      * @return true if the JSON is valid against the schema, otherwise false
      */
     @PostMapping("/validate-schema")
-    public ResponseEntity<Boolean> validateJsonWithSchema(@RequestParam String schema, @RequestBody String json) {
+    public ResponseEntity<Boolean> validateJsonWithSchema(@RequestParam String schema, @RequestBody byte[] json) {
         return ResponseEntity.ok(jsonService.validateJsonWithSchema(json, schema));
     }
 
+    /**
+     * Validates the given JSON against a provided JSON schema and returns the validation errors.
+     * Selected with {@code errors=true}.
+     *
+     * @param schema    the JSON schema to validate against
+     * @param failFast  whether to stop at the first error
+     * @param maxErrors the maximum number of errors to return; unbounded if omitted
+     * @param json      the JSON string to validate
+     * @return the validation errors; an empty list if the JSON is valid
+     */
+    @PostMapping(value = "/validate-schema", params = {"errors=true", "stream!=true"})
+    public ResponseEntity<List<String>> getSchemaValidationErrors(@RequestParam String schema,
+                                                                  @RequestParam(defaultValue = "false") boolean failFast,
+                                                                  @RequestParam(required = false) Integer maxErrors,
+                                                                  @RequestBody byte[] json) {
+        return ResponseEntity.ok(jsonService.getSchemaValidationErrors(json, schema, errorBudget(failFast, maxErrors)));
+    }
+
+    /**
+     * Validates a top-level JSON array against a provided JSON schema one element at a time.
+     * <p>
+     * Selected with {@code stream=true}. Elements are read from the request stream and checked against the
+     * schema's {@code items} subschema one by one, so memory use is bounded by the largest element.
+     * </p>
+     *
+     * @param schema    the JSON schema describing the array
+     * @param failFast  whether to stop at the first error
+     * @param maxErrors the maximum number of errors to return; unbounded if omitted
+     * @param json      the request body stream
+     * @return validation errors prefixed with the element index; an empty list if the array is valid
+     */
+    @PostMapping(value = "/validate-schema", params = "stream=true")
+    public ResponseEntity<List<String>> validateJsonArrayWithSchema(@RequestParam String schema,
+                                                                    @RequestParam(defaultValue = "false") boolean failFast,
+                                                                    @RequestParam(required = false) Integer maxErrors,
+                                                                    InputStream json) {
+        return ResponseEntity.ok(jsonService.validateJsonArrayWithSchema(json, schema, errorBudget(failFast, maxErrors)));
+    }
+
+    /**
+     * Registers a JSON schema so that JSON can later be validated against it by ID.
+     *
+     * @param schema the JSON schema to register
+     * @return the ID of the registered schema
+     */
+    @PostMapping("/schemas")
+    public ResponseEntity<String> registerSchema(@RequestBody byte[] schema) {
+        return ResponseEntity.ok(jsonService.registerSchema(schema));
+    }
+
+    /**
+     * Validates the given JSON against a previously registered JSON schema.
+     *
+     * @param id   the ID of the registered schema
+     * @param json the JSON string to validate
+     * @return true if the JSON is valid against the schema, otherwise false
+     */
+    @PostMapping("/validate-schema/{id}")
+    public ResponseEntity<Boolean> validateJsonWithSchemaId(@PathVariable String id, @RequestBody byte[] json) {
+        return ResponseEntity.ok(jsonService.validateJsonWithSchemaId(json, id));
+    }
+
+    /**
+     * Validates the given JSON against a previously registered JSON schema and returns the validation errors.
+     * Selected with {@code errors=true}.
+     *
+     * @param id        the ID of the registered schema
+     * @param failFast  whether to stop at the first error
+     * @param maxErrors the maximum number of errors to return; unbounded if omitted
+     * @param json      the JSON string to validate
+     * @return the validation errors; an empty list if the JSON is valid
+     */
+    @PostMapping(value = "/validate-schema/{id}", params = {"errors=true", "stream!=true"})
+    public ResponseEntity<List<String>> getSchemaValidationErrorsById(@PathVariable String id,
+                                                                      @RequestParam(defaultValue = "false") boolean failFast,
+                                                                      @RequestParam(required = false) Integer maxErrors,
+                                                                      @RequestBody byte[] json) {
+        return ResponseEntity.ok(jsonService.getSchemaValidationErrorsById(json, id, errorBudget(failFast, maxErrors)));
+    }
+
+    /**
+     * Validates a top-level JSON array against a previously registered JSON schema one element at a time.
+     * Selected with {@code stream=true}.
+     *
+     * @param id        the ID of the registered schema
+     * @param failFast  whether to stop at the first error
+     * @param maxErrors the maximum number of errors to return; unbounded if omitted
+     * @param json      the request body stream
+     * @return validation errors prefixed with the element index; an empty list if the array is valid
+     */
+    @PostMapping(value = "/validate-schema/{id}", params = "stream=true")
+    public ResponseEntity<List<String>> validateJsonArrayWithSchemaId(@PathVariable String id,
+                                                                      @RequestParam(defaultValue = "false") boolean failFast,
+                                                                      @RequestParam(required = false) Integer maxErrors,
+                                                                      InputStream json) {
+        return ResponseEntity.ok(jsonService.validateJsonArrayWithSchemaId(json, id, errorBudget(failFast, maxErrors)));
+    }
+
+    /**
+     * Returns the metrics of the compiled JSON Schema cache.
+     *
+     * @return hit, miss and eviction counters, the number of cached schemas and their total size in bytes
+     */
+    @GetMapping("/schema-cache/stats")
+    public ResponseEntity<Map<String, Long>> getSchemaCacheStats() {
+        return ResponseEntity.ok(jsonService.getSchemaCacheStats());
+    }
+
     /**
      * Minifies the given JSON string by removing unnecessary whitespace.
      *
@@ -77,32 +312,255 @@ public class JsonController {
      * @return the minified JSON string
      */
     @PostMapping("/minify")
-    public ResponseEntity<String> minifyJson(@RequestBody String json) {
+    public ResponseEntity<String> minifyJson(@RequestBody byte[] json) {
         return ResponseEntity.ok(jsonService.minifyJson(json));
     }
 
+    /**
+     * Streams a minified version of the request body straight to the response.
+     * <p>
+     * Selected with {@code stream=true}; see {@link #prettyPrintJsonStream(InputStream)} for the
+     * trade-offs of streaming mode.
+     * </p>
+     *
+     * @param json the request body stream
+     * @return the minified JSON, written as it is produced
+     */
+    @PostMapping(value = "/minify", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> minifyJsonStream(InputStream json) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> jsonService.minifyJson(json, out));
+    }
+
     /**
      * Sorts the keys of the given JSON string alphabetically or sorts arrays by a specific field.
+     * <p>
+     * Arrays can also be sorted by several keys with {@code sortBy}: comma-separated dotted paths, each optionally
+     * prefixed with {@code -} for descending order, such as {@code address.city,-founded,name}. It takes
+     * precedence over {@code sortByField}, which is a single top-level field name taken literally.
+     * </p>
+     * <p>
+     * With {@code limit} or {@code offset}, only that slice of a sorted top-level array is returned. The array is
+     * read element by element, keeping only the elements up to the end of the slice, so taking the first few
+     * elements of a large array is much cheaper than sorting it. As without a slice, {@code sortByField} is
+     * taken literally when {@code sortBy} is omitted.
+     * </p>
      *
      * @param sortByField optional field to sort arrays by
+     * @param sortBy      optional sort specification to sort arrays by
+     * @param offset      number of sorted elements to skip
+     * @param limit       optional maximum number of sorted elements to return
      * @param json        the JSON string to sort
      * @return the sorted JSON string
      */
     @PostMapping("/sort")
-    public ResponseEntity<String> sortJson(@RequestParam(required = false) String sortByField, @RequestBody String json) {
+    public ResponseEntity<String> sortJson(@RequestParam(required = false) String sortByField,
+                                           @RequestParam(required = false) String sortBy,
+                                           @RequestParam(defaultValue = "0") int offset,
+                                           @RequestParam(required = false) Integer limit,
+                                           @RequestBody byte[] json) {
+        if (limit != null || offset != 0) {
+            int max = limit != null ? limit : Integer.MAX_VALUE;
+            return ResponseEntity.ok(sortBy != null
+                    ? jsonService.sortJsonBy(json, sortBy, offset, max)
+                    : jsonService.sortJson(json, sortByField, offset, max));
+        }
+        if (sortBy != null) {
+            return ResponseEntity.ok(jsonService.sortJsonBy(json, sortBy));
+        }
         return ResponseEntity.ok(jsonService.sortJson(json, sortByField));
     }
 
+    /**
+     * Sorts a top-level JSON array by a field, streaming the sorted array to the response.
+     * <p>
+     * Selected with {@code stream=true}. Elements are sorted in bounded runs that are spilled to temporary
+     * files and merged into the response, so arrays larger than the available memory can be sorted. Nothing
+     * is written until the whole array has been read. With {@code limit} or {@code offset}, only that slice is
+     * selected, without spilling, as described for {@link #sortJson(String, String, int, Integer, byte[])}.
+     * </p>
+     *
+     * @param sortByField field to sort the array elements by
+     * @param sortBy      sort specification to sort the array elements by; takes precedence over {@code sortByField}
+     * @param offset      number of sorted elements to skip
+     * @param limit       optional maximum number of sorted elements to return
+     * @param json        the request body stream
+     * @return the sorted JSON array, written as it is produced
+     */
+    @PostMapping(value = "/sort", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> sortJsonStream(@RequestParam(required = false) String sortByField,
+                                                                @RequestParam(required = false) String sortBy,
+                                                                @RequestParam(defaultValue = "0") int offset,
+                                                                @RequestParam(required = false) Integer limit,
+                                                                InputStream json) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> {
+                    int max = limit != null ? limit : Integer.MAX_VALUE;
+                    if (limit == null && offset == 0) {
+                        if (sortBy != null) {
+                            jsonService.sortJsonBy(json, out, sortBy);
+                        } else {
+                            jsonService.sortJson(json, out, sortByField);
+                        }
+                    } else if (sortBy != null) {
+                        jsonService.sortJsonBy(json, out, sortBy, offset, max);
+                    } else {
+                        jsonService.sortJson(json, out, sortByField, offset, max);
+                    }
+                });
+    }
+
     /**
      * Finds and returns all matching keys and values in the given JSON string based on a search term.
+     * With {@code limit} or {@code firstOnly}, parsing stops as soon as enough matches are found, and the rest of
+     * the document is not validated. With {@code json.find.pre-filter.enabled=true}, a document whose bytes
+     * cannot contain the search term is not parsed at all and yields an empty list, even if it is not valid JSON;
+     * invalid JSON is then only reported with a 400 response when it is parsed.
      *
      * @param searchTerm the search term to look for
+     * @param limit      optional maximum number of matches to return
+     * @param firstOnly  whether to return the first match only
      * @param json       the JSON string to search
      * @return a list of matching key-value pairs
      */
     @PostMapping("/find")
-    public ResponseEntity<List<String>> findInJson(@RequestParam String searchTerm, @RequestBody String json) {
-        return ResponseEntity.ok(jsonService.findInJson(json, searchTerm));
+    public ResponseEntity<List<String>> findInJson(@RequestParam String searchTerm,
+                                                   @RequestParam(required = false) Integer limit,
+                                                   @RequestParam(defaultValue = "false") boolean firstOnly,
+                                                   @RequestBody byte[] json) {
+        if (limit == null && !firstOnly) {
+            return ResponseEntity.ok(jsonService.findInJson(json, searchTerm));
+        }
+        return ResponseEntity.ok(jsonService.findInJson(json, searchTerm, searchLimit(limit, firstOnly)));
+    }
+
+    /**
+     * Streams the matching keys and values of a search straight to the response as a JSON array.
+     * <p>
+     * Selected with {@code stream=true}. Matches are written as they are found, and the request body is only
+     * read up to the last match, so a search with {@code limit} or {@code firstOnly} returns as soon as it is
+     * satisfied, without reading the rest of a large document.
+     * </p>
+     *
+     * @param searchTerm the search term to look for
+     * @param limit      optional maximum number of matches to return
+     * @param firstOnly  whether to return the first match only
+     * @param json       the request body stream
+     * @return the matching paths as a JSON array, written as they are found
+     */
+    @PostMapping(value = "/find", params = {"stream=true", "searchTerm"})
+    public ResponseEntity<StreamingResponseBody> findInJsonStream(@RequestParam String searchTerm,
+                                                                  @RequestParam(required = false) Integer limit,
+                                                                  @RequestParam(defaultValue = "false") boolean firstOnly,
+                                                                  InputStream json) {
+        int maxMatches = searchLimit(limit, firstOnly);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> jsonService.findInJson(json, out, searchTerm, maxMatches, false));
+    }
+
+    /**
+     * Streams the matching keys and values of a search straight to the response as newline-delimited JSON, one
+     * path per line. Selected with {@code stream=true} and an {@code Accept} header of {@code application/x-ndjson}.
+     *
+     * @param searchTerm the search term to look for
+     * @param limit      optional maximum number of matches to return
+     * @param firstOnly  whether to return the first match only
+     * @param json       the request body stream
+     * @return the matching paths, one JSON string per line, written as they are found
+     */
+    @PostMapping(value = "/find", params = {"stream=true", "searchTerm"}, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> findInJsonNdjson(@RequestParam String searchTerm,
+                                                                  @RequestParam(required = false) Integer limit,
+                                                                  @RequestParam(defaultValue = "false") boolean firstOnly,
+                                                                  InputStream json) {
+        int maxMatches = searchLimit(limit, firstOnly);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> jsonService.findInJson(json, out, searchTerm, maxMatches, true));
+    }
+
+    /**
+     * Searches the given JSON for several terms at once, each with a mode of {@code exact}, {@code prefix},
+     * {@code contains}, {@code case-insensitive} or {@code regex}. Selected with one or more {@code term}
+     * parameters; one {@code mode} applies to all terms, or one may be given per term.
+     *
+     * @param params the {@code term} and {@code mode} parameters, read as given so that commas in a term are kept
+     * @param json   the JSON string to search
+     * @return the matching paths of each term, keyed by term
+     */
+    @PostMapping(value = "/find", params = "term")
+    public ResponseEntity<Map<String, List<String>>> findAllInJson(@RequestParam MultiValueMap<String, String> params,
+                                                                   @RequestBody byte[] json) {
+        return ResponseEntity.ok(jsonService.findInJson(json, params.get("term"), params.get("mode")));
+    }
+
+    /**
+     * Returns the metrics of the byte-level pre-filter that skips parsing documents which cannot contain the
+     * search term.
+     *
+     * @return counters of documents scanned, short-circuited, parsed because of escape sequences and not filtered
+     */
+    @GetMapping("/find-filter/stats")
+    public ResponseEntity<Map<String, Long>> getFindFilterStats() {
+        return ResponseEntity.ok(jsonService.getFindFilterStats());
+    }
+
+    /**
+     * Runs a JSONPath (RFC 9535) query, such as {@code $.store.book[?@.price < 10].title}, and returns the values
+     * of the selected nodes. Queries are compiled once and cached by their text.
+     *
+     * @param path the JSONPath query
+     * @param json the JSON string to query
+     * @return a JSON array of the selected values
+     */
+    @PostMapping("/query")
+    public ResponseEntity<String> queryJson(@RequestParam String path, @RequestBody byte[] json) {
+        return ResponseEntity.ok(jsonService.queryJson(json, path));
+    }
+
+    /**
+     * Runs a JSONPath (RFC 9535) query and returns the normalized paths of the selected nodes.
+     * Selected with {@code paths=true}.
+     *
+     * @param path the JSONPath query
+     * @param json the JSON string to query
+     * @return the normalized paths of the selected nodes, such as {@code $['store']['book'][0]}
+     */
+    @PostMapping(value = "/query", params = {"paths=true", "stream!=true"})
+    public ResponseEntity<List<String>> queryJsonPaths(@RequestParam String path, @RequestBody byte[] json) {
+        return ResponseEntity.ok(jsonService.queryJsonPaths(json, path));
+    }
+
+    /**
+     * Runs a JSONPath (RFC 9535) query over the request stream, writing the selected values as they are found.
+     * <p>
+     * Selected with {@code stream=true}. Parts of the document the query cannot select are skipped without being
+     * read into memory, and values are written in document order. The response is committed with the first
+     * bytes, so a syntax error late in the input truncates the output instead of changing the status.
+     * </p>
+     *
+     * @param path the JSONPath query
+     * @param json the request body stream
+     * @return a JSON array of the selected values, written as they are found
+     */
+    @PostMapping(value = "/query", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> queryJsonStream(@RequestParam String path, InputStream json) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> jsonService.queryJson(json, out, path));
+    }
+
+    /**
+     * Returns the metrics of the compiled JSONPath query cache.
+     *
+     * @return hit, miss and eviction counters and the number of cached queries
+     */
+    @GetMapping("/query-cache/stats")
+    public ResponseEntity<Map<String, Long>> getJsonPathCacheStats() {
+        return ResponseEntity.ok(jsonService.getJsonPathCacheStats());
     }
 
     /**
@@ -112,7 +570,7 @@ public class JsonController {
      * @return the CSV representation of the JSON
      */
     @PostMapping("/json-to-csv")
-    public ResponseEntity<String> convertJsonToCsv(@RequestBody String json) {
+    public ResponseEntity<String> convertJsonToCsv(@RequestBody byte[] json) {
         return ResponseEntity.ok(jsonService.convertJsonToCsv(json));
     }
 
@@ -123,7 +581,7 @@ public class JsonController {
      * @return the JSON representation of the CSV
      */
     @PostMapping("/csv-to-json")
-    public ResponseEntity<String> convertCsvToJson(@RequestBody String csv) {
+    public ResponseEntity<String> convertCsvToJson(@RequestBody byte[] csv) {
         return ResponseEntity.ok(jsonService.convertCsvToJson(csv));
     }
 
@@ -134,7 +592,7 @@ public class JsonController {
      * @return the XML representation of the JSON
      */
     @PostMapping("/json-to-xml")
-    public ResponseEntity<String> convertJsonToXml(@RequestBody String json) {
+    public ResponseEntity<String> convertJsonToXml(@RequestBody byte[] json) {
         return ResponseEntity.ok(jsonService.convertJsonToXml(json));
     }
 
@@ -145,7 +603,7 @@ public class JsonController {
      * @return the JSON representation of the XML
      */
     @PostMapping("/xml-to-json")
-    public ResponseEntity<String> convertXmlToJson(@RequestBody String xml) {
+    public ResponseEntity<String> convertXmlToJson(@RequestBody byte[] xml) {
         return ResponseEntity.ok(jsonService.convertXmlToJson(xml));
     }
 
@@ -156,7 +614,7 @@ public class JsonController {
      * @return the Base64-encoded Excel file
      */
     @PostMapping("/json-to-excel")
-    public ResponseEntity<String> convertJsonToExcel(@RequestBody String json) {
+    public ResponseEntity<String> convertJsonToExcel(@RequestBody byte[] json) {
         return ResponseEntity.ok(jsonService.convertJsonToExcel(json));
     }
 
@@ -167,7 +625,7 @@ public class JsonController {
      * @return the JSON representation of the Excel data
      */
     @PostMapping("/excel-to-json")
-    public ResponseEntity<String> convertExcelToJson(@RequestBody String base64Excel) {
+    public ResponseEntity<String> convertExcelToJson(@RequestBody byte[] base64Excel) {
         return ResponseEntity.ok(jsonService.convertExcelToJson(base64Excel));
     }
 
@@ -178,7 +636,7 @@ public class JsonController {
      * @return the YAML representation of the JSON
      */
     @PostMapping("/json-to-yaml")
-    public ResponseEntity<String> convertJsonToYaml(@RequestBody String json) {
+    public ResponseEntity<String> convertJsonToYaml(@RequestBody byte[] json) {
         return ResponseEntity.ok(jsonService.convertJsonToYaml(json));
     }
 
@@ -189,7 +647,7 @@ public class JsonController {
      * @return the JSON representation of the YAML
      */
     @PostMapping("/yaml-to-json")
-    public ResponseEntity<String> convertYamlToJson(@RequestBody String yaml) {
+    public ResponseEntity<String> convertYamlToJson(@RequestBody byte[] yaml) {
         return ResponseEntity.ok(jsonService.convertYamlToJson(yaml));
     }
 
@@ -200,7 +658,33 @@ public class JsonController {
      * @return the generated type definitions
      */
     @PostMapping("/generate-type-definitions")
-    public ResponseEntity<String> generateTypeDefinitions(@RequestBody String json) {
+    public ResponseEntity<String> generateTypeDefinitions(@RequestBody byte[] json) {
         return ResponseEntity.ok(jsonService.generateTypeDefinitionsFromJson(json));
     }
+
+    /**
+     * Resolves the schema validation request options to an error budget.
+     *
+     * @param failFast  whether to stop at the first error
+     * @param maxErrors the requested maximum number of errors, or {@code null} for no limit
+     * @return the maximum number of errors to collect
+     */
+    private static int errorBudget(boolean failFast, Integer maxErrors) {
+        if (failFast) {
+            return 1;
+        }
+        return maxErrors == null ? Integer.MAX_VALUE : maxErrors;
+    }
+
+    /**
+     * Resolves the search request options to a maximum number of matches.
+     *
+     * @param limit     the requested maximum number of matches, or {@code null} for no limit
+     * @param firstOnly whether to stop at the first match
+     * @return the maximum number of matches to return
+     */
+    private static int searchLimit(Integer limit, boolean firstOnly) {
+        int maxMatches = limit == null ? Integer.MAX_VALUE : limit;
+        return firstOnly ? Math.min(maxMatches, 1) : maxMatches;
+    }
 }
@@ -1,6 +1,9 @@
 package com.vserdiuk.json.utility.service;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service interface for various JSON operations.
@@ -15,6 +18,14 @@ public interface JsonService {
      */
     boolean validateJson(String json);
 
+    /**
+     * Validates if the provided JSON string is valid.
+     *
+     * @param json JSON string to validate (UTF-8 encoded)
+     * @return {@code true} if JSON is valid, otherwise {@code false}
+     */
+    boolean validateJson(byte[] json);
+
     /**
      * Returns a pretty-printed version of the given JSON string.
      *
@@ -25,14 +36,127 @@ public interface JsonService {
     String prettyPrintJson(String json);
 
     /**
-     * Merges two JSON strings into a single JSON object.
+     * Returns a pretty-printed version of the given JSON string.
+     *
+     * @param json JSON string to pretty print (UTF-8 encoded)
+     * @return pretty-printed JSON string
+     * @throws IllegalArgumentException if the input JSON is invalid
+     */
+    String prettyPrintJson(byte[] json);
+
+    /**
+     * Streams a pretty-printed version of the given JSON to the output without building a tree.
+     * <p>
+     * Tokens are written as soon as they are parsed, so a syntax error late in the input leaves
+     * the output truncated. The output stream is flushed but not closed.
+     * </p>
+     *
+     * @param json JSON input stream to pretty print (UTF-8 encoded)
+     * @param out  stream the pretty-printed JSON is written to
+     * @throws IllegalArgumentException      if the input JSON is empty or invalid
+     * @throws java.io.UncheckedIOException if the output cannot be written
+     */
+    void prettyPrintJson(InputStream json, OutputStream out);
+
+    /**
+     * Merges JSON documents of the same structure into a single JSON array.
      *
      * @param jsons the list of JSONs to merge
      * @return merged JSON string
-     * @throws IllegalArgumentException if either input JSON is invalid
+     * @throws IllegalArgumentException if any input JSON is invalid or the structures differ
      */
     String mergeJson(List<String> jsons);
 
+    /**
+     * Folds JSON documents into a single document by applying each one, in order, to the result of the
+     * previous ones as a JSON Merge Patch (RFC 7396). Objects are merged recursively, {@code null} values
+     * remove fields, and any other value replaces the existing one.
+     *
+     * @param jsons the base document followed by the patches to apply
+     * @return the merged JSON string
+     * @throws IllegalArgumentException if any input JSON is invalid
+     */
+    String deepMergeJson(List<String> jsons);
+
+    /**
+     * Merges a stream of JSON documents of the same structure into a JSON array written to the output stream.
+     * Documents are read, checked against the structure of the first one and written one at a time, so memory use
+     * is bounded by a single document plus the first one.
+     *
+     * @param json   JSON input stream (UTF-8 encoded): newline-delimited documents if {@code ndjson} is set,
+     *               otherwise a JSON array whose elements are the documents
+     * @param out    the stream the merged array is written to; left open
+     * @param ndjson whether the input is newline-delimited JSON
+     * @throws IllegalArgumentException      if the input is invalid or the structures differ
+     * @throws java.io.UncheckedIOException if the output cannot be written
+     */
+    void mergeJson(InputStream json, OutputStream out, boolean ndjson);
+
+    /**
+     * Computes a JSON Patch (RFC 6902) that turns the source document into the target document.
+     * Identical subtrees are detected by hash and skipped, so the cost grows with the size of the change.
+     *
+     * @param source         the original JSON string
+     * @param target         the modified JSON string
+     * @param ignoreKeyOrder whether objects whose fields differ only in order are considered equal; otherwise
+     *                       the patch also reproduces the target's field order
+     * @return the JSON Patch as a JSON array of operations; empty if the documents are equal
+     * @throws IllegalArgumentException if either input JSON is invalid
+     */
+    String diffJson(String source, String target, boolean ignoreKeyOrder);
+
+    /**
+     * Applies a JSON Patch (RFC 6902) to a JSON document and returns the result in minified form.
+     * The operations are applied in order; the whole patch fails if any operation fails.
+     *
+     * @param json  the JSON document to patch
+     * @param patch the JSON Patch, an array of operations
+     * @return the patched JSON document, minified
+     * @throws IllegalArgumentException if either input JSON is invalid or an operation cannot be applied
+     */
+    String patchJson(String json, String patch);
+
+    /**
+     * Converts JSON into its canonical form as defined by the JSON Canonicalization Scheme (RFC 8785):
+     * object keys sorted, no whitespace, minimal string escaping and numbers in their shortest form.
+     * Equal JSON values always have the same canonical form, which makes it suitable for hashing and comparison.
+     *
+     * @param json JSON string to canonicalize
+     * @return the canonical JSON string
+     * @throws IllegalArgumentException if the input JSON is invalid or holds a number outside the double range
+     */
+    String canonicalizeJson(String json);
+
+    /**
+     * Converts JSON into its canonical form as defined by the JSON Canonicalization Scheme (RFC 8785).
+     *
+     * @param json JSON string to canonicalize (UTF-8 encoded)
+     * @return the canonical JSON string
+     * @throws IllegalArgumentException if the input JSON is invalid or holds a number outside the double range
+     */
+    String canonicalizeJson(byte[] json);
+
+    /**
+     * Hashes the UTF-8 encoded canonical form of JSON, as produced by {@link #canonicalizeJson(String)}.
+     * The canonical form is hashed as it is written and never held in memory as a whole.
+     *
+     * @param json      JSON string to hash
+     * @param algorithm the hash algorithm: {@code sha256}, {@code sha384} or {@code sha512}
+     * @return the digest, hex encoded
+     * @throws IllegalArgumentException if the input JSON is invalid or the algorithm is not supported
+     */
+    String hashCanonicalJson(String json, String algorithm);
+
+    /**
+     * Hashes the UTF-8 encoded canonical form of JSON, as produced by {@link #canonicalizeJson(byte[])}.
+     *
+     * @param json      JSON string to hash (UTF-8 encoded)
+     * @param algorithm the hash algorithm: {@code sha256}, {@code sha384} or {@code sha512}
+     * @return the digest, hex encoded
+     * @throws IllegalArgumentException if the input JSON is invalid or the algorithm is not supported
+     */
+    String hashCanonicalJson(byte[] json, String algorithm);
+
     /**
      * Validates a JSON string against a JSON Schema.
      *
@@ -43,6 +167,94 @@ public interface JsonService {
      */
     boolean validateJsonWithSchema(String json, String schema);
 
+    /**
+     * Validates a JSON string against a JSON Schema.
+     *
+     * @param json   the JSON string to validate (UTF-8 encoded)
+     * @param schema the JSON Schema string
+     * @return {@code true} if the JSON is valid according to the schema, otherwise {@code false}
+     * @throws IllegalArgumentException if either JSON or schema is invalid
+     */
+    boolean validateJsonWithSchema(byte[] json, String schema);
+
+    /**
+     * Returns the metrics of the compiled JSON Schema cache used by schema validation.
+     *
+     * @return hit, miss and eviction counters, the number of cached schemas and their total size in bytes
+     */
+    Map<String, Long> getSchemaCacheStats();
+
+    /**
+     * Registers a JSON Schema so that documents can later be validated against it by ID.
+     * The schema is compiled once and persisted, so it survives restarts.
+     *
+     * @param schema the JSON Schema (UTF-8 encoded)
+     * @return the ID of the registered schema; registering the same schema again returns the same ID
+     * @throws IllegalArgumentException if the schema is invalid
+     */
+    String registerSchema(byte[] schema);
+
+    /**
+     * Validates a JSON document against a previously registered JSON Schema.
+     *
+     * @param json     the JSON to validate (UTF-8 encoded)
+     * @param schemaId the ID returned when the schema was registered
+     * @return {@code true} if the JSON is valid according to the schema, otherwise {@code false}
+     * @throws IllegalArgumentException if the JSON is invalid or no schema is registered under the ID
+     */
+    boolean validateJsonWithSchemaId(byte[] json, String schemaId);
+
+    /**
+     * Validates a JSON document against a JSON Schema and returns the validation errors.
+     * Validation stops as soon as {@code maxErrors} errors have been found; with a budget of one it runs in
+     * fail-fast mode.
+     *
+     * @param json      JSON document (UTF-8 encoded)
+     * @param schema    JSON Schema string
+     * @param maxErrors the maximum number of errors to return
+     * @return at most {@code maxErrors} validation error messages; empty if the JSON is valid
+     * @throws IllegalArgumentException if the JSON or schema is invalid, or {@code maxErrors} is not positive
+     */
+    List<String> getSchemaValidationErrors(byte[] json, String schema, int maxErrors);
+
+    /**
+     * Validates a JSON document against a registered JSON Schema and returns the validation errors.
+     *
+     * @param json      JSON document (UTF-8 encoded)
+     * @param schemaId  the ID returned when the schema was registered
+     * @param maxErrors the maximum number of errors to return
+     * @return at most {@code maxErrors} validation error messages; empty if the JSON is valid
+     * @throws IllegalArgumentException if the JSON is invalid, no schema is registered under the ID,
+     *                                  or {@code maxErrors} is not positive
+     * @see #getSchemaValidationErrors(byte[], String, int)
+     */
+    List<String> getSchemaValidationErrorsById(byte[] json, String schemaId, int maxErrors);
+
+    /**
+     * Validates a top-level JSON array against a JSON Schema one element at a time.
+     * Each element is checked against the {@code items} subschema, so memory use is bounded by the largest
+     * element rather than by the whole document.
+     *
+     * @param json   JSON input stream containing an array at the root (UTF-8 encoded)
+     * @param schema    the JSON Schema string describing the array
+     * @param maxErrors the maximum number of errors to return; the rest of the stream is not read once reached
+     * @return validation errors prefixed with the index of the offending element; empty if the array is valid
+     * @throws IllegalArgumentException if the JSON is invalid, not an array, or the schema is invalid
+     */
+    List<String> validateJsonArrayWithSchema(InputStream json, String schema, int maxErrors);
+
+    /**
+     * Validates a top-level JSON array against a registered JSON Schema one element at a time.
+     *
+     * @param json      JSON input stream containing an array at the root (UTF-8 encoded)
+     * @param schemaId  the ID returned when the schema was registered
+     * @param maxErrors the maximum number of errors to return; the rest of the stream is not read once reached
+     * @return validation errors prefixed with the index of the offending element; empty if the array is valid
+     * @throws IllegalArgumentException if the JSON is invalid, not an array, or no schema is registered under the ID
+     * @see #validateJsonArrayWithSchema(InputStream, String, int)
+     */
+    List<String> validateJsonArrayWithSchemaId(InputStream json, String schemaId, int maxErrors);
+
     /**
      * Decreases the size of JSON by minifying it (removing whitespace, line breaks, etc).
      *
@@ -52,6 +264,29 @@ public interface JsonService {
      */
     String minifyJson(String json);
 
+    /**
+     * Decreases the size of JSON by minifying it (removing whitespace, line breaks, etc).
+     *
+     * @param json JSON string to minify (UTF-8 encoded)
+     * @return minified JSON string
+     * @throws IllegalArgumentException if the input JSON is invalid
+     */
+    String minifyJson(byte[] json);
+
+    /**
+     * Streams a minified version of the given JSON to the output without building a tree.
+     * <p>
+     * Tokens are written as soon as they are parsed, so a syntax error late in the input leaves
+     * the output truncated. The output stream is flushed but not closed.
+     * </p>
+     *
+     * @param json JSON input stream to minify (UTF-8 encoded)
+     * @param out  stream the minified JSON is written to
+     * @throws IllegalArgumentException      if the input JSON is empty or invalid
+     * @throws java.io.UncheckedIOException if the output cannot be written
+     */
+    void minifyJson(InputStream json, OutputStream out);
+
     /**
      * Sorts the JSON object keys alphabetically.
      * If a field name is provided, sorts arrays of objects by that field.
@@ -63,16 +298,332 @@ public interface JsonService {
      */
     String sortJson(String json, String sortByField);
 
+    /**
+     * Sorts the JSON object keys alphabetically.
+     * If a field name is provided, sorts arrays of objects by that field.
+     *
+     * @param json        JSON string to sort (UTF-8 encoded)
+     * @param sortByField field to sort array objects by (can be {@code null} for default alphabetical sort)
+     * @return sorted JSON string
+     * @throws IllegalArgumentException if the input JSON is invalid
+     */
+    String sortJson(byte[] json, String sortByField);
+
+    /**
+     * Sorts a top-level JSON array by a field and writes it to the output stream, spilling to disk so that
+     * arrays larger than the available memory can be sorted. Elements are sorted in the same order as by
+     * {@link #sortJson(String, String)}; their keys are left in their original order.
+     *
+     * @param json        JSON input stream (UTF-8 encoded) holding an array
+     * @param out         the stream the sorted array is written to; left open
+     * @param sortByField field to sort the array elements by
+     * @throws IllegalArgumentException      if the input is not a valid JSON array or no field is given
+     * @throws java.io.UncheckedIOException if temporary files or the output cannot be written
+     */
+    void sortJson(InputStream json, OutputStream out, String sortByField);
+
+    /**
+     * Sorts the JSON object keys alphabetically.
+     * If a sort specification is provided, sorts arrays of objects by its keys: comma-separated dotted paths,
+     * each optionally prefixed with {@code -} for descending order, such as {@code address.city,-founded,name}.
+     *
+     * @param json   JSON string to sort
+     * @param sortBy sort specification for array objects (can be {@code null} for default alphabetical sort)
+     * @return sorted JSON string
+     * @throws IllegalArgumentException if the input JSON or the sort specification is invalid
+     */
+    String sortJsonBy(String json, String sortBy);
+
+    /**
+     * Sorts the JSON object keys alphabetically.
+     * If a sort specification is provided, sorts arrays of objects by its keys, as described for
+     * {@link #sortJsonBy(String, String)}.
+     *
+     * @param json   JSON string to sort (UTF-8 encoded)
+     * @param sortBy sort specification for array objects (can be {@code null} for default alphabetical sort)
+     * @return sorted JSON string
+     * @throws IllegalArgumentException if the input JSON or the sort specification is invalid
+     */
+    String sortJsonBy(byte[] json, String sortBy);
+
+    /**
+     * Sorts a top-level JSON array by a sort specification and writes it to the output stream, spilling to disk
+     * as {@link #sortJson(InputStream, OutputStream, String)} does. The specification is described for
+     * {@link #sortJsonBy(String, String)}.
+     *
+     * @param json   JSON input stream (UTF-8 encoded) holding an array
+     * @param out    the stream the sorted array is written to; left open
+     * @param sortBy sort specification for the array elements
+     * @throws IllegalArgumentException      if the input is not a valid JSON array or the specification is missing or invalid
+     * @throws java.io.UncheckedIOException if temporary files or the output cannot be written
+     */
+    void sortJsonBy(InputStream json, OutputStream out, String sortBy);
+
+    /**
+     * Sorts a top-level JSON array by a sort specification and returns only a slice of the sorted order.
+     * Only the elements up to the end of the slice are kept in memory while the array is read, so selecting
+     * the first few elements of a large array costs far less than sorting it. Elements are sorted in the same
+     * order as by {@link #sortJsonBy(String, String)}; their keys are left in their original order.
+     *
+     * @param json   JSON string holding an array
+     * @param sortBy sort specification for the array elements
+     * @param offset number of sorted elements to skip
+     * @param limit  maximum number of sorted elements to return
+     * @return the selected elements as a JSON array string
+     * @throws IllegalArgumentException if the input is not a valid JSON array, the specification is missing or
+     *                                  invalid, or a bound is negative
+     */
+    String sortJsonBy(String json, String sortBy, int offset, int limit);
+
+    /**
+     * Sorts a top-level JSON array by a sort specification and returns only a slice of the sorted order, as
+     * {@link #sortJsonBy(String, String, int, int)} does.
+     *
+     * @param json   JSON holding an array (UTF-8 encoded)
+     * @param sortBy sort specification for the array elements
+     * @param offset number of sorted elements to skip
+     * @param limit  maximum number of sorted elements to return
+     * @return the selected elements as a JSON array string
+     * @throws IllegalArgumentException if the input is not a valid JSON array, the specification is missing or
+     *                                  invalid, or a bound is negative
+     */
+    String sortJsonBy(byte[] json, String sortBy, int offset, int limit);
+
+    /**
+     * Sorts a streamed top-level JSON array by a sort specification and writes only a slice of the sorted order
+     * to the output stream, as {@link #sortJsonBy(String, String, int, int)} does.
+     *
+     * @param json   JSON input stream (UTF-8 encoded) holding an array
+     * @param out    the stream the selected elements are written to, as an array; left open
+     * @param sortBy sort specification for the array elements
+     * @param offset number of sorted elements to skip
+     * @param limit  maximum number of sorted elements to return
+     * @throws IllegalArgumentException      if the input is not a valid JSON array, the specification is missing or
+     *                                       invalid, or a bound is negative
+     * @throws java.io.UncheckedIOException if the output cannot be written
+     */
+    void sortJsonBy(InputStream json, OutputStream out, String sortBy, int offset, int limit);
+
+    /**
+     * Sorts a top-level JSON array by a single field and returns only a slice of the sorted order, as
+     * {@link #sortJsonBy(String, String, int, int)} does. The field name is used as given, so it may contain
+     * dots or commas.
+     *
+     * @param json        JSON string holding an array
+     * @param sortByField field to sort the array elements by
+     * @param offset      number of sorted elements to skip
+     * @param limit       maximum number of sorted elements to return
+     * @return the selected elements as a JSON array string
+     * @throws IllegalArgumentException if the input is not a valid JSON array, no field is given, or a bound is
+     *                                  negative
+     */
+    String sortJson(String json, String sortByField, int offset, int limit);
+
+    /**
+     * Sorts a top-level JSON array by a single field and returns only a slice of the sorted order, as
+     * {@link #sortJson(String, String, int, int)} does.
+     *
+     * @param json        JSON holding an array (UTF-8 encoded)
+     * @param sortByField field to sort the array elements by
+     * @param offset      number of sorted elements to skip
+     * @param limit       maximum number of sorted elements to return
+     * @return the selected elements as a JSON array string
+     * @throws IllegalArgumentException if the input is not a valid JSON array, no field is given, or a bound is
+     *                                  negative
+     */
+    String sortJson(byte[] json, String sortByField, int offset, int limit);
+
+    /**
+     * Sorts a streamed top-level JSON array by a single field and writes only a slice of the sorted order to the
+     * output stream, as {@link #sortJson(String, String, int, int)} does.
+     *
+     * @param json        JSON input stream (UTF-8 encoded) holding an array
+     * @param out         the stream the selected elements are written to, as an array; left open
+     * @param sortByField field to sort the array elements by
+     * @param offset      number of sorted elements to skip
+     * @param limit       maximum number of sorted elements to return
+     * @throws IllegalArgumentException      if the input is not a valid JSON array, no field is given, or a bound
+     *                                       is negative
+     * @throws java.io.UncheckedIOException if the output cannot be written
+     */
+    void sortJson(InputStream json, OutputStream out, String sortByField, int offset, int limit);
+
     /**
      * Searches for a term in the JSON (keys or values) and returns matching JSON paths.
      *
      * @param json       the JSON to search
      * @param searchTerm the term to search for
      * @return list of JSON paths where the term is found
-     * @throws IllegalArgumentException if the input JSON is invalid
+     * @throws IllegalArgumentException if the input JSON is empty, or is invalid and has to be parsed: with the
+     *                                  pre-filter enabled, an invalid document whose bytes cannot hold the term
+     *                                  yields an empty list instead
+     * @see #findInJson(byte[], String)
      */
     List<String> findInJson(String json, String searchTerm);
 
+    /**
+     * Searches for a term in the JSON (keys or values) and returns matching JSON paths.
+     * The document is searched as it is parsed, without building a tree, and paths are only rendered for matches.
+     * When the pre-filter is enabled with {@code json.find.pre-filter.enabled=true}, a document whose bytes
+     * cannot hold the term is neither parsed nor validated: the search returns an empty list for it even if it
+     * is not valid JSON. See {@link #getFindFilterStats()}.
+     *
+     * @param json       the JSON to search (UTF-8 encoded)
+     * @param searchTerm the term to search for
+     * @return list of JSON paths where the term is found
+     * @throws IllegalArgumentException if the input JSON is empty, or is invalid and has to be parsed: with the
+     *                                  pre-filter enabled, an invalid document whose bytes cannot hold the term
+     *                                  yields an empty list instead
+     */
+    List<String> findInJson(byte[] json, String searchTerm);
+
+    /**
+     * Searches for a term in the JSON (keys or values) and returns at most {@code limit} matching JSON paths.
+     *
+     * @param json       the JSON to search
+     * @param searchTerm the term to search for
+     * @param limit      the maximum number of paths to return
+     * @return list of the first JSON paths where the term is found, in document order
+     * @throws IllegalArgumentException if the limit is negative, or the input JSON is empty or invalid within
+     *                                  the part that is parsed; see {@link #findInJson(byte[], String, int)}
+     * @see #findInJson(byte[], String, int)
+     */
+    List<String> findInJson(String json, String searchTerm, int limit);
+
+    /**
+     * Searches for a term in the JSON (keys or values) and returns at most {@code limit} matching JSON paths.
+     * Parsing stops as soon as the limit is reached, so the rest of the document is neither read nor checked
+     * for errors; a limit of one is an existence check that returns as soon as the first match is found.
+     * When the pre-filter is enabled with {@code json.find.pre-filter.enabled=true}, a document whose bytes
+     * cannot hold the term is not parsed at all, and yields an empty list even if it is not valid JSON; see
+     * {@link #getFindFilterStats()}.
+     *
+     * @param json       the JSON to search (UTF-8 encoded)
+     * @param searchTerm the term to search for
+     * @param limit      the maximum number of paths to return
+     * @return list of the first JSON paths where the term is found, in document order
+     * @throws IllegalArgumentException if the limit is negative, or the input JSON is empty or invalid within
+     *                                  the part that is parsed: not after the limit is reached, and not at all
+     *                                  for a document the pre-filter rules out
+     */
+    List<String> findInJson(byte[] json, String searchTerm, int limit);
+
+    /**
+     * Searches a JSON stream for a term (keys or values), writing the matching JSON paths as they are found
+     * instead of collecting them. The input is only read up to the last match reported, so a search that stops
+     * at its limit near the start of a large document returns without reading the rest of it.
+     *
+     * @param json       JSON input stream (UTF-8 encoded)
+     * @param out        the stream the paths are written to, as a JSON array or one JSON string per line; left open
+     * @param searchTerm the term to search for
+     * @param limit      the maximum number of paths to write
+     * @param ndjson     whether to write newline-delimited JSON rather than an array
+     * @throws IllegalArgumentException      if the input JSON is invalid or the limit is negative
+     * @throws java.io.UncheckedIOException if the output cannot be written
+     */
+    void findInJson(InputStream json, OutputStream out, String searchTerm, int limit, boolean ndjson);
+
+    /**
+     * Returns metrics of the byte-level pre-filter that lets searches skip parsing documents which cannot
+     * contain the search term: the number of documents scanned, short-circuited without parsing, parsed because
+     * they hold escape sequences, and not filtered at all.
+     *
+     * @return the pre-filter metrics by name
+     */
+    Map<String, Long> getFindFilterStats();
+
+    /**
+     * Searches the JSON (keys or values) for several terms in a single pass and returns the matching JSON paths
+     * of each term. Modes are {@code exact} (the default), {@code prefix}, {@code contains},
+     * {@code case-insensitive} (exact, ignoring case) and {@code regex} (matching anywhere in the text); literal
+     * terms are matched together by one Aho-Corasick automaton.
+     *
+     * @param json  the JSON to search
+     * @param terms the distinct terms to search for
+     * @param modes one mode for all terms, one mode per term, or none for exact matching
+     * @return the JSON paths where each term is found, keyed by term in the order given
+     * @throws IllegalArgumentException if the input JSON, a term or a mode is invalid
+     */
+    Map<String, List<String>> findInJson(String json, List<String> terms, List<String> modes);
+
+    /**
+     * Searches the JSON (keys or values) for several terms in a single pass and returns the matching JSON paths
+     * of each term.
+     *
+     * @param json  the JSON to search (UTF-8 encoded)
+     * @param terms the distinct terms to search for
+     * @param modes one mode for all terms, one mode per term, or none for exact matching
+     * @return the JSON paths where each term is found, keyed by term in the order given
+     * @throws IllegalArgumentException if the input JSON, a term or a mode is invalid
+     * @see #findInJson(String, List, List)
+     */
+    Map<String, List<String>> findInJson(byte[] json, List<String> terms, List<String> modes);
+
+    /**
+     * Runs a JSONPath (RFC 9535) query and returns the values of the selected nodes.
+     * Compiled queries are cached by their text.
+     *
+     * @param json the JSON to query
+     * @param path the JSONPath query, such as {@code $.store.book[?@.price < 10].title}
+     * @return a pretty-printed JSON array of the selected values, in nodelist order
+     * @throws IllegalArgumentException if the input JSON or the query is invalid
+     */
+    String queryJson(String json, String path);
+
+    /**
+     * Runs a JSONPath (RFC 9535) query and returns the values of the selected nodes.
+     * Compiled queries are cached by their text.
+     *
+     * @param json the JSON to query (UTF-8 encoded)
+     * @param path the JSONPath query, such as {@code $.store.book[?@.price < 10].title}
+     * @return a pretty-printed JSON array of the selected values, in nodelist order
+     * @throws IllegalArgumentException if the input JSON or the query is invalid
+     */
+    String queryJson(byte[] json, String path);
+
+    /**
+     * Runs a JSONPath (RFC 9535) query and returns the locations of the selected nodes.
+     *
+     * @param json the JSON to query
+     * @param path the JSONPath query
+     * @return the normalized paths of the selected nodes, such as {@code $['store']['book'][0]}, in nodelist order
+     * @throws IllegalArgumentException if the input JSON or the query is invalid
+     */
+    List<String> queryJsonPaths(String json, String path);
+
+    /**
+     * Runs a JSONPath (RFC 9535) query and returns the locations of the selected nodes.
+     *
+     * @param json the JSON to query (UTF-8 encoded)
+     * @param path the JSONPath query
+     * @return the normalized paths of the selected nodes, such as {@code $['store']['book'][0]}, in nodelist order
+     * @throws IllegalArgumentException if the input JSON or the query is invalid
+     */
+    List<String> queryJsonPaths(byte[] json, String path);
+
+    /**
+     * Runs a JSONPath (RFC 9535) query over a token stream, writing the selected values as they are found.
+     * <p>
+     * Only the selected values, and the elements a filter has to look at, are read into trees; everything else
+     * is skipped as it is parsed. Values are written in document order. Queries whose filters refer to the
+     * root with {@code $} need the whole document, which is then read first.
+     * </p>
+     *
+     * @param json JSON input stream (UTF-8 encoded)
+     * @param out  the stream the selected values are written to, as an array; left open
+     * @param path the JSONPath query
+     * @throws IllegalArgumentException      if the input JSON or the query is invalid
+     * @throws java.io.UncheckedIOException if the output cannot be written
+     */
+    void queryJson(InputStream json, OutputStream out, String path);
+
+    /**
+     * Returns the metrics of the compiled JSONPath query cache.
+     *
+     * @return hit, miss and eviction counters and the number of cached queries
+     */
+    Map<String, Long> getJsonPathCacheStats();
+
     /**
      * Converts a JSON array of objects to CSV format.
      *
@@ -82,6 +633,15 @@ public interface JsonService {
      */
     String convertJsonToCsv(String json);
 
+    /**
+     * Converts a JSON array of objects to CSV format.
+     *
+     * @param json JSON array string (UTF-8 encoded)
+     * @return CSV string
+     * @throws IllegalArgumentException if the input JSON is invalid or not an array
+     */
+    String convertJsonToCsv(byte[] json);
+
     /**
      * Converts a CSV string to a JSON array of objects.
      *
@@ -91,6 +651,15 @@ public interface JsonService {
      */
     String convertCsvToJson(String csv);
 
+    /**
+     * Converts a CSV string to a JSON array of objects.
+     *
+     * @param csv the CSV string (UTF-8 encoded)
+     * @return JSON array string
+     * @throws IllegalArgumentException if the CSV is invalid
+     */
+    String convertCsvToJson(byte[] csv);
+
     /**
      * Converts JSON to XML format.
      *
@@ -100,6 +669,15 @@ public interface JsonService {
      */
     String convertJsonToXml(String json);
 
+    /**
+     * Converts JSON to XML format.
+     *
+     * @param json the JSON string (UTF-8 encoded)
+     * @return XML string
+     * @throws IllegalArgumentException if the input JSON is invalid
+     */
+    String convertJsonToXml(byte[] json);
+
     /**
      * Converts XML to JSON format.
      *
@@ -109,6 +687,15 @@ public interface JsonService {
      */
     String convertXmlToJson(String xml);
 
+    /**
+     * Converts XML to JSON format.
+     *
+     * @param xml the XML string (UTF-8 encoded)
+     * @return JSON string
+     * @throws IllegalArgumentException if the input XML is invalid
+     */
+    String convertXmlToJson(byte[] xml);
+
     /**
      * Converts a JSON array of objects to an Excel file (as a Base64-encoded string).
      *
@@ -118,6 +705,15 @@ public interface JsonService {
      */
     String convertJsonToExcel(String json);
 
+    /**
+     * Converts a JSON array of objects to an Excel file (as a Base64-encoded string).
+     *
+     * @param json the JSON array string (UTF-8 encoded)
+     * @return Base64-encoded Excel file (XLSX)
+     * @throws IllegalArgumentException if the input JSON is invalid or not an array
+     */
+    String convertJsonToExcel(byte[] json);
+
     /**
      * Converts a Base64-encoded Excel file to a JSON array of objects.
      *
@@ -127,6 +723,15 @@ public interface JsonService {
      */
     String convertExcelToJson(String base64Excel);
 
+    /**
+     * Converts a Base64-encoded Excel file to a JSON array of objects.
+     *
+     * @param base64Excel Base64-encoded Excel file (.xlsx) (UTF-8 encoded)
+     * @return JSON array string
+     * @throws IllegalArgumentException if the input is invalid
+     */
+    String convertExcelToJson(byte[] base64Excel);
+
     /**
      * Converts JSON to YAML format.
      *
@@ -136,6 +741,15 @@ public interface JsonService {
      */
     String convertJsonToYaml(String json);
 
+    /**
+     * Converts JSON to YAML format.
+     *
+     * @param json the JSON string (UTF-8 encoded)
+     * @return YAML string
+     * @throws IllegalArgumentException if the input JSON is invalid
+     */
+    String convertJsonToYaml(byte[] json);
+
     /**
      * Converts YAML to JSON format.
      *
@@ -145,6 +759,15 @@ public interface JsonService {
      */
     String convertYamlToJson(String yaml);
 
+    /**
+     * Converts YAML to JSON format.
+     *
+     * @param yaml the YAML string (UTF-8 encoded)
+     * @return JSON string
+     * @throws IllegalArgumentException if the input YAML is invalid
+     */
+    String convertYamlToJson(byte[] yaml);
+
     /**
      * Generates TypeScript type definitions and documentation from JSON.
      *
@@ -153,4 +776,13 @@ public interface JsonService {
      * @throws IllegalArgumentException if the input JSON is invalid
      */
     String generateTypeDefinitionsFromJson(String json);
+
+    /**
+     * Generates TypeScript type definitions and documentation from JSON.
+     *
+     * @param json the JSON string (UTF-8 encoded)
+     * @return generated TypeScript type definitions
+     * @throws IllegalArgumentException if the input JSON is invalid
+     */
+    String generateTypeDefinitionsFromJson(byte[] json);
 }
@@ -0,0 +1,350 @@
+package com.vserdiuk.json.utility.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sorts the elements of a JSON array by the values of one or more keys of a {@link JsonSortSpec}.
+ * <p>
+ * The sort keys of every element are extracted once, before sorting, into typed arrays: numbers are compared
+ * numerically, strings lexicographically and booleans with {@code false} first. Keys of different types are
+ * ordered numbers, strings, booleans, then objects and arrays; descending keys reverse this order. Elements
+ * without the key, or with a {@code null} value, go last in either direction. Each key is then reduced to a dense
+ * integer rank per element, and the ranks of several keys are folded into one composite rank, so the elements
+ * themselves are ordered by sorting primitive {@code long}s that pack the rank with the element's index: no
+ * boxing, comparator or path lookup is involved per comparison. The index breaks ties, which keeps the sort
+ * stable. Large arrays are sorted in parallel.
+ * </p>
+ */
+final class JsonArraySorter {
+
+    /**
+     * Arrays at least this large are sorted with {@link Arrays#parallelSort}; below it the fork-join overhead
+     * outweighs the gain. Matches the granularity under which {@code parallelSort} itself sorts sequentially.
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    private static final byte NUMBER = 0;
+    private static final byte STRING = 1;
+    private static final byte BOOLEAN = 2;
+    private static final byte CONTAINER = 3;
+    private static final byte MISSING = 4;
+
+    /**
+     * Integers beyond this magnitude cannot all be represented exactly as a {@code double}.
+     */
+    private static final long MAX_EXACT_LONG = 1L << 53;
+
+    private JsonArraySorter() {
+    }
+
+    /**
+     * Sorts the elements of an array in place by the keys of a sort specification.
+     *
+     * @param array the array to sort
+     * @param spec  the sort specification
+     */
+    static void sort(ArrayNode array, JsonSortSpec spec) {
+        int size = array.size();
+        int[] ranks = keyRanks(array, spec, 0);
+        for (int k = 1; k < spec.size(); k++) {
+            int[] next = keyRanks(array, spec, k);
+            long[] pairs = new long[size];
+            for (int i = 0; i < size; i++) {
+                pairs[i] = (long) ranks[i] << 32 | next[i];
+            }
+            ranks = denseRanks(pairs);
+        }
+
+        long[] order = new long[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = (long) ranks[i] << 32 | i;
+        }
+        sortLongs(order);
+
+        JsonNode[] elements = new JsonNode[size];
+        for (int i = 0; i < size; i++) {
+            elements[i] = array.get(i);
+        }
+        for (int i = 0; i < size; i++) {
+            array.set(i, elements[(int) order[i]]);
+        }
+    }
+
+    /**
+     * Compares the key values of two elements, as resolved by {@link JsonSortSpec#resolveAll(JsonNode)}, in the
+     * order used by {@link #sort(ArrayNode, JsonSortSpec)}. Meant for comparing elements one pair at a time, such
+     * as when merging runs that were sorted separately.
+     *
+     * @param spec the sort specification
+     * @param a    the key values of the first element
+     * @param b    the key values of the second element
+     * @return a negative number, zero or a positive number as the first element sorts before, with or after the second
+     */
+    static int compareKeys(JsonSortSpec spec, JsonNode[] a, JsonNode[] b) {
+        for (int k = 0; k < a.length; k++) {
+            byte kindA = kind(a[k]);
+            byte kindB = kind(b[k]);
+            int result = Byte.compare(kindA, kindB);
+            if (result == 0) {
+                switch (kindA) {
+                    case NUMBER:
+                        result = Double.compare(a[k].doubleValue(), b[k].doubleValue());
+                        if (result == 0 && !(isExactDouble(a[k]) && isExactDouble(b[k]))) {
+                            result = a[k].decimalValue().compareTo(b[k].decimalValue());
+                        }
+                        break;
+                    case STRING:
+                        result = a[k].textValue().compareTo(b[k].textValue());
+                        break;
+                    case BOOLEAN:
+                        result = Boolean.compare(a[k].booleanValue(), b[k].booleanValue());
+                        break;
+                    default:
+                        break;
+                }
+            }
+            if (result != 0) {
+                return direct(result, spec.isDescending(k), kindA, kindB);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Applies the direction of a key to an ascending comparison, keeping missing values last.
+     */
+    private static int direct(int result, boolean descending, byte kindA, byte kindB) {
+        return descending && kindA != MISSING && kindB != MISSING ? -result : result;
+    }
+
+    private static byte kind(JsonNode key) {
+        if (key == null || key.isNull() || key.isMissingNode()) {
+            return MISSING;
+        }
+        if (key.isNumber()) {
+            return NUMBER;
+        }
+        if (key.isTextual()) {
+            return STRING;
+        }
+        return key.isBoolean() ? BOOLEAN : CONTAINER;
+    }
+
+    /**
+     * Checks whether a numeric node's value survives conversion to {@code double} unchanged.
+     */
+    private static boolean isExactDouble(JsonNode number) {
+        if (number.isDouble() || number.isFloat() || number.isInt() || number.isShort()) {
+            return true;
+        }
+        if (number.isLong()) {
+            long value = number.longValue();
+            return value >= -MAX_EXACT_LONG && value <= MAX_EXACT_LONG;
+        }
+        return false;
+    }
+
+    /**
+     * Ranks the elements of an array by the value of one sort key: elements with equal values get the same rank
+     * and ranks follow the sort order, missing values last, with no gaps between them.
+     */
+    private static int[] keyRanks(ArrayNode array, JsonSortSpec spec, int key) {
+        int size = array.size();
+        byte[] kinds = new byte[size];
+        JsonNode[] values = new JsonNode[size];
+        int numberCount = 0;
+        int stringCount = 0;
+        boolean inexact = false;
+        boolean[] booleans = new boolean[2];
+        boolean containers = false;
+        for (int i = 0; i < size; i++) {
+            values[i] = spec.resolve(key, array.get(i));
+            kinds[i] = kind(values[i]);
+            switch (kinds[i]) {
+                case NUMBER:
+                    numberCount++;
+                    inexact |= !isExactDouble(values[i]);
+                    break;
+                case STRING:
+                    stringCount++;
+                    break;
+                case BOOLEAN:
+                    booleans[values[i].booleanValue() ? 1 : 0] = true;
+                    break;
+                case CONTAINER:
+                    containers = true;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        // Numbers: by double value, ties between values a double cannot tell apart broken by their exact value
+        int[] numberRanks = new int[0];
+        long[] numberKeys = new long[numberCount];
+        for (int i = 0, n = 0; i < size; i++) {
+            if (kinds[i] == NUMBER) {
+                numberKeys[n++] = sortableBits(values[i].doubleValue());
+            }
+        }
+        int distinctNumbers = 0;
+        if (numberCount > 0) {
+            numberRanks = denseRanks(numberKeys);
+            if (inexact) {
+                BigDecimal[] decimals = new BigDecimal[numberCount];
+                for (int i = 0, n = 0; i < size; i++) {
+                    if (kinds[i] == NUMBER) {
+                        decimals[n++] = values[i].decimalValue();
+                    }
+                }
+                int[] decimalRanks = denseRanks(decimals);
+                for (int n = 0; n < numberCount; n++) {
+                    numberKeys[n] = (long) numberRanks[n] << 32 | decimalRanks[n];
+                }
+                numberRanks = denseRanks(numberKeys);
+            }
+            distinctNumbers = max(numberRanks) + 1;
+        }
+
+        String[] strings = new String[stringCount];
+        for (int i = 0, n = 0; i < size; i++) {
+            if (kinds[i] == STRING) {
+                strings[n++] = values[i].textValue();
+            }
+        }
+        int[] stringRanks = stringCount > 0 ? denseRanks(strings) : new int[0];
+        int distinctStrings = stringCount > 0 ? max(stringRanks) + 1 : 0;
+
+        // Ascending ranks among present values: numbers, strings, booleans, then objects and arrays
+        int booleanBase = distinctNumbers + distinctStrings;
+        int falseRank = booleanBase;
+        int trueRank = booleanBase + (booleans[0] ? 1 : 0);
+        int containerRank = trueRank + (booleans[1] ? 1 : 0);
+        int present = containerRank + (containers ? 1 : 0);
+        boolean descending = spec.isDescending(key);
+
+        int[] ranks = new int[size];
+        for (int i = 0, n = 0, t = 0; i < size; i++) {
+            int rank;
+            switch (kinds[i]) {
+                case NUMBER:
+                    rank = numberRanks[n++];
+                    break;
+                case STRING:
+                    rank = distinctNumbers + stringRanks[t++];
+                    break;
+                case BOOLEAN:
+                    rank = values[i].booleanValue() ? trueRank : falseRank;
+                    break;
+                case CONTAINER:
+                    rank = containerRank;
+                    break;
+                default:
+                    ranks[i] = present;
+                    continue;
+            }
+            ranks[i] = descending ? present - 1 - rank : rank;
+        }
+        return ranks;
+    }
+
+    /**
+     * Maps a double to a long whose signed order is that of {@link Double#compare(double, double)}.
+     */
+    private static long sortableBits(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ (bits >> 63 & Long.MAX_VALUE);
+    }
+
+    /**
+     * Ranks keys densely: equal keys get the same rank, and ranks follow the order of the keys without gaps.
+     */
+    private static int[] denseRanks(long[] keys) {
+        long[] distinct = keys.clone();
+        sortLongs(distinct);
+        int count = 0;
+        for (int i = 0; i < distinct.length; i++) {
+            if (i == 0 || distinct[i] != distinct[count - 1]) {
+                distinct[count++] = distinct[i];
+            }
+        }
+        int[] ranks = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            ranks[i] = Arrays.binarySearch(distinct, 0, count, keys[i]);
+        }
+        return ranks;
+    }
+
+    /**
+     * Ranks strings densely. Strings are deduplicated first, so only the distinct values are sorted.
+     */
+    private static int[] denseRanks(String[] keys) {
+        Map<String, Integer> ids = new HashMap<>();
+        int[] keyIds = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            Integer id = ids.putIfAbsent(keys[i], ids.size());
+            keyIds[i] = id != null ? id : ids.size() - 1;
+        }
+        String[] distinct = ids.keySet().toArray(new String[0]);
+        if (distinct.length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSort(distinct);
+        } else {
+            Arrays.sort(distinct);
+        }
+        int[] rankOfId = new int[distinct.length];
+        for (int rank = 0; rank < distinct.length; rank++) {
+            rankOfId[ids.get(distinct[rank])] = rank;
+        }
+        int[] ranks = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            ranks[i] = rankOfId[keyIds[i]];
+        }
+        return ranks;
+    }
+
+    /**
+     * Ranks numbers by their exact value, treating values that compare as equal, such as {@code 1.0} and
+     * {@code 1.00}, as equal.
+     */
+    private static int[] denseRanks(BigDecimal[] keys) {
+        BigDecimal[] distinct = keys.clone();
+        if (distinct.length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSort(distinct);
+        } else {
+            Arrays.sort(distinct);
+        }
+        int count = 0;
+        for (int i = 0; i < distinct.length; i++) {
+            if (i == 0 || distinct[i].compareTo(distinct[count - 1]) != 0) {
+                distinct[count++] = distinct[i];
+            }
+        }
+        int[] ranks = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            ranks[i] = Arrays.binarySearch(distinct, 0, count, keys[i]);
+        }
+        return ranks;
+    }
+
+    private static void sortLongs(long[] values) {
+        if (values.length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSort(values);
+        } else {
+            Arrays.sort(values);
+        }
+    }
+
+    private static int max(int[] values) {
+        int max = -1;
+        for (int value : values) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+}
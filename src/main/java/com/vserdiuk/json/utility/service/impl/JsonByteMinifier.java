@@ -0,0 +1,351 @@
+package com.vserdiuk.json.utility.service.impl;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minifies JSON by scanning its raw UTF-8 bytes in a single pass.
+ * <p>
+ * Whitespace outside of string literals is dropped while the document structure is checked with a small
+ * state machine. Strings, numbers and literals are validated but never decoded: they are copied to the output
+ * verbatim, so no number or string objects are created along the way.
+ * </p>
+ * <p>
+ * The scanner is deliberately strict. Anything outside plain RFC 8259 JSON with an object or array at the root
+ * (comments, a byte order mark, root-level scalars, trailing content, excessive nesting, malformed input)
+ * makes it give up and return {@code null}, so the caller can fall back to Jackson, which either handles the
+ * input according to the mapper configuration or reports a precise error.
+ * </p>
+ */
+final class JsonByteMinifier {
+
+    /**
+     * Matches the default maximum nesting depth of Jackson's {@code StreamReadConstraints}.
+     */
+    private static final int MAX_DEPTH = 1000;
+
+    private static final int EXPECT_ROOT = 0;
+    private static final int EXPECT_VALUE = 1;
+    private static final int EXPECT_VALUE_OR_END = 2;
+    private static final int EXPECT_KEY = 3;
+    private static final int EXPECT_KEY_OR_END = 4;
+    private static final int EXPECT_COLON = 5;
+    private static final int EXPECT_COMMA_OR_END = 6;
+    private static final int AFTER_ROOT = 7;
+
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+
+    private JsonByteMinifier() {
+    }
+
+    /**
+     * Minifies the given UTF-8 encoded JSON document.
+     *
+     * @param json the UTF-8 encoded JSON to minify
+     * @return the minified JSON, or {@code null} if the input is not handled by the fast path
+     */
+    static String minify(byte[] json) {
+        byte[] minified = new byte[json.length];
+        int length = minifyInto(json, minified);
+        return length < 0 ? null : new String(minified, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Copies the document without insignificant whitespace. Minified output never grows, so a buffer of
+     * the input size is always large enough.
+     *
+     * @param json     the UTF-8 encoded JSON to minify
+     * @param minified the buffer the minified document is written to
+     * @return the length of the minified document, or {@code -1} if the input is not handled by the fast path
+     */
+    private static int minifyInto(byte[] json, byte[] minified) {
+        byte[] containers = new byte[16];
+        int depth = 0;
+        int state = EXPECT_ROOT;
+        int out = 0;
+        int i = 0;
+        int n = json.length;
+        while (i < n) {
+            byte b = json[i];
+            if (b == ' ' || b == '\n' || b == '\r' || b == '\t') {
+                i++;
+                continue;
+            }
+            switch (state) {
+                case AFTER_ROOT:
+                    return -1;
+                case EXPECT_COLON:
+                    if (b != ':') {
+                        return -1;
+                    }
+                    minified[out++] = b;
+                    i++;
+                    state = EXPECT_VALUE;
+                    continue;
+                case EXPECT_COMMA_OR_END: {
+                    byte container = containers[depth - 1];
+                    if (b == ',') {
+                        minified[out++] = b;
+                        i++;
+                        state = container == '{' ? EXPECT_KEY : EXPECT_VALUE;
+                        continue;
+                    }
+                    if (b != (container == '{' ? '}' : ']')) {
+                        return -1;
+                    }
+                    depth--;
+                    minified[out++] = b;
+                    i++;
+                    state = depth == 0 ? AFTER_ROOT : EXPECT_COMMA_OR_END;
+                    continue;
+                }
+                case EXPECT_KEY:
+                case EXPECT_KEY_OR_END: {
+                    if (b == '}' && state == EXPECT_KEY_OR_END) {
+                        depth--;
+                        minified[out++] = b;
+                        i++;
+                        state = depth == 0 ? AFTER_ROOT : EXPECT_COMMA_OR_END;
+                        continue;
+                    }
+                    if (b != '"') {
+                        return -1;
+                    }
+                    int end = scanString(json, i);
+                    if (end < 0) {
+                        return -1;
+                    }
+                    System.arraycopy(json, i, minified, out, end - i);
+                    out += end - i;
+                    i = end;
+                    state = EXPECT_COLON;
+                    continue;
+                }
+                default:
+                    break;
+            }
+
+            // EXPECT_ROOT, EXPECT_VALUE or EXPECT_VALUE_OR_END
+            if (b == ']' && state == EXPECT_VALUE_OR_END) {
+                depth--;
+                minified[out++] = b;
+                i++;
+                state = depth == 0 ? AFTER_ROOT : EXPECT_COMMA_OR_END;
+                continue;
+            }
+            if (b == '{' || b == '[') {
+                if (depth == MAX_DEPTH) {
+                    return -1;
+                }
+                if (depth == containers.length) {
+                    byte[] grown = new byte[containers.length * 2];
+                    System.arraycopy(containers, 0, grown, 0, depth);
+                    containers = grown;
+                }
+                containers[depth++] = b;
+                minified[out++] = b;
+                i++;
+                state = b == '{' ? EXPECT_KEY_OR_END : EXPECT_VALUE_OR_END;
+                continue;
+            }
+            if (state == EXPECT_ROOT) {
+                return -1;
+            }
+            int end;
+            if (b == '"') {
+                end = scanString(json, i);
+            } else if (b == '-' || (b >= '0' && b <= '9')) {
+                end = scanNumber(json, i);
+            } else if (b == 't') {
+                end = scanLiteral(json, i, TRUE);
+            } else if (b == 'f') {
+                end = scanLiteral(json, i, FALSE);
+            } else if (b == 'n') {
+                end = scanLiteral(json, i, NULL);
+            } else {
+                end = -1;
+            }
+            if (end < 0) {
+                return -1;
+            }
+            System.arraycopy(json, i, minified, out, end - i);
+            out += end - i;
+            i = end;
+            state = EXPECT_COMMA_OR_END;
+        }
+        return state == AFTER_ROOT ? out : -1;
+    }
+
+    /**
+     * Scans a string literal, checking escape sequences, control characters and UTF-8 sequences.
+     *
+     * @param json  the input bytes
+     * @param start the index of the opening quote
+     * @return the index just past the closing quote, or {@code -1} if the literal is malformed
+     */
+    private static int scanString(byte[] json, int start) {
+        int n = json.length;
+        int i = start + 1;
+        while (i < n) {
+            byte b = json[i];
+            if (b == '"') {
+                return i + 1;
+            }
+            if (b == '\\') {
+                if (i + 1 >= n) {
+                    return -1;
+                }
+                switch (json[i + 1]) {
+                    case '"', '\\', '/', 'b', 'f', 'n', 'r', 't' -> i += 2;
+                    case 'u' -> {
+                        if (i + 5 >= n || !isHex(json[i + 2]) || !isHex(json[i + 3])
+                                || !isHex(json[i + 4]) || !isHex(json[i + 5])) {
+                            return -1;
+                        }
+                        i += 6;
+                    }
+                    default -> {
+                        return -1;
+                    }
+                }
+            } else if (b >= 0) {
+                if (b < 0x20) {
+                    return -1;
+                }
+                i++;
+            } else {
+                int sequenceLength = utf8SequenceLength(json, i);
+                if (sequenceLength < 0) {
+                    return -1;
+                }
+                i += sequenceLength;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Validates a multi-byte UTF-8 sequence, rejecting overlong forms, surrogates and code points above U+10FFFF.
+     *
+     * @param json  the input bytes
+     * @param start the index of the lead byte
+     * @return the length of the sequence, or {@code -1} if it is malformed
+     */
+    private static int utf8SequenceLength(byte[] json, int start) {
+        int lead = json[start] & 0xFF;
+        int length;
+        int min = 0x80;
+        int max = 0xBF;
+        if (lead >= 0xC2 && lead <= 0xDF) {
+            length = 2;
+        } else if (lead >= 0xE0 && lead <= 0xEF) {
+            length = 3;
+            if (lead == 0xE0) {
+                min = 0xA0;
+            } else if (lead == 0xED) {
+                max = 0x9F;
+            }
+        } else if (lead >= 0xF0 && lead <= 0xF4) {
+            length = 4;
+            if (lead == 0xF0) {
+                min = 0x90;
+            } else if (lead == 0xF4) {
+                max = 0x8F;
+            }
+        } else {
+            return -1;
+        }
+        if (start + length > json.length) {
+            return -1;
+        }
+        int second = json[start + 1] & 0xFF;
+        if (second < min || second > max) {
+            return -1;
+        }
+        for (int i = start + 2; i < start + length; i++) {
+            if ((json[i] & 0xC0) != 0x80) {
+                return -1;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Scans a number following the RFC 8259 grammar: {@code -?(0|[1-9][0-9]*)(\.[0-9]+)?([eE][+-]?[0-9]+)?}.
+     *
+     * @param json  the input bytes
+     * @param start the index of the first character of the number
+     * @return the index just past the number, or {@code -1} if it is malformed
+     */
+    private static int scanNumber(byte[] json, int start) {
+        int n = json.length;
+        int i = start;
+        if (json[i] == '-') {
+            i++;
+        }
+        if (i >= n || !isDigit(json[i])) {
+            return -1;
+        }
+        if (json[i] == '0') {
+            i++;
+        } else {
+            i = skipDigits(json, i);
+        }
+        if (i < n && json[i] == '.') {
+            int fractionStart = i + 1;
+            i = skipDigits(json, fractionStart);
+            if (i == fractionStart) {
+                return -1;
+            }
+        }
+        if (i < n && (json[i] == 'e' || json[i] == 'E')) {
+            i++;
+            if (i < n && (json[i] == '+' || json[i] == '-')) {
+                i++;
+            }
+            int exponentStart = i;
+            i = skipDigits(json, exponentStart);
+            if (i == exponentStart) {
+                return -1;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * Scans one of the literals {@code true}, {@code false} or {@code null}.
+     *
+     * @param json    the input bytes
+     * @param start   the index of the first character of the literal
+     * @param literal the expected literal
+     * @return the index just past the literal, or {@code -1} if it does not match
+     */
+    private static int scanLiteral(byte[] json, int start, byte[] literal) {
+        if (start + literal.length > json.length) {
+            return -1;
+        }
+        for (int i = 0; i < literal.length; i++) {
+            if (json[start + i] != literal[i]) {
+                return -1;
+            }
+        }
+        return start + literal.length;
+    }
+
+    private static int skipDigits(byte[] json, int start) {
+        int i = start;
+        while (i < json.length && isDigit(json[i])) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static boolean isHex(byte b) {
+        return (b >= '0' && b <= '9') || (b >= 'a' && b <= 'f') || (b >= 'A' && b <= 'F');
+    }
+}
@@ -0,0 +1,210 @@
+package com.vserdiuk.json.utility.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Writes JSON trees in the JSON Canonicalization Scheme (RFC 8785).
+ * <p>
+ * Object members are ordered by the UTF-16 code units of their names, no whitespace is emitted, strings escape
+ * only what JSON requires, and numbers are written as IEEE 754 doubles in the shortest form that reads back to
+ * the same value, formatted as ECMAScript's {@code Number.prototype.toString} does. The output is written
+ * directly to a {@link Writer}, so it can be hashed or sent without being held as a string.
+ * </p>
+ */
+final class JsonCanonicalizer {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * Integers up to this magnitude are exact doubles and are written as plain integers.
+     */
+    private static final double MAX_SAFE_INTEGER = 9007199254740991d;
+
+    private JsonCanonicalizer() {
+    }
+
+    /**
+     * Writes a tree in canonical form.
+     *
+     * @param node   the tree to write
+     * @param writer the writer to write to; not flushed
+     * @throws IOException              if the writer fails
+     * @throws IllegalArgumentException if the tree holds a number that is not a finite double
+     */
+    static void write(JsonNode node, Writer writer) throws IOException {
+        if (node.isObject()) {
+            String[] names = new String[node.size()];
+            Iterator<String> iterator = node.fieldNames();
+            for (int i = 0; iterator.hasNext(); i++) {
+                names[i] = iterator.next();
+            }
+            // String order is the order of UTF-16 code units, as the scheme requires
+            Arrays.sort(names);
+            writer.write('{');
+            for (int i = 0; i < names.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeString(names[i], writer);
+                writer.write(':');
+                write(node.get(names[i]), writer);
+            }
+            writer.write('}');
+        } else if (node.isArray()) {
+            writer.write('[');
+            for (int i = 0; i < node.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                write(node.get(i), writer);
+            }
+            writer.write(']');
+        } else if (node.isTextual()) {
+            writeString(node.textValue(), writer);
+        } else if (node.isNumber()) {
+            writer.write(formatNumber(node.doubleValue()));
+        } else if (node.isBoolean()) {
+            writer.write(node.booleanValue() ? "true" : "false");
+        } else if (node.isNull()) {
+            writer.write("null");
+        } else {
+            throw new IllegalArgumentException("Cannot canonicalize a node of type " + node.getNodeType());
+        }
+    }
+
+    /**
+     * Formats a number as ECMAScript does: the shortest decimal that reads back to the same double, in plain
+     * notation between 1e-7 and 1e21 and in exponential notation otherwise.
+     *
+     * @param value the number
+     * @return the canonical representation
+     * @throws IllegalArgumentException if the number is not finite
+     */
+    static String formatNumber(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("Cannot canonicalize the number " + value + ": it is not a finite double");
+        }
+        if (value == 0) {
+            return "0";
+        }
+        if (value == Math.rint(value) && Math.abs(value) <= MAX_SAFE_INTEGER) {
+            return Long.toString((long) value);
+        }
+
+        BigDecimal shortest = shortestDecimal(value).stripTrailingZeros();
+        String digits = shortest.unscaledValue().toString();
+        int k = digits.length();
+        // The value is 0.digits * 10^n
+        int n = k - shortest.scale();
+        StringBuilder result = new StringBuilder(k + 8);
+        if (value < 0) {
+            result.append('-');
+        }
+        if (k <= n && n <= 21) {
+            result.append(digits);
+            for (int i = k; i < n; i++) {
+                result.append('0');
+            }
+        } else if (0 < n && n <= 21) {
+            result.append(digits, 0, n).append('.').append(digits, n, k);
+        } else if (-6 < n && n <= 0) {
+            result.append("0.");
+            for (int i = n; i < 0; i++) {
+                result.append('0');
+            }
+            result.append(digits);
+        } else {
+            result.append(digits.charAt(0));
+            if (k > 1) {
+                result.append('.').append(digits, 1, k);
+            }
+            result.append('e').append(n - 1 > 0 ? "+" : "-").append(Math.abs(n - 1));
+        }
+        return result.toString();
+    }
+
+    /**
+     * Finds the decimal with the fewest significant digits that reads back to the given double, choosing the
+     * one closest to the double's exact value when several qualify.
+     * <p>
+     * {@link Double#toString(double)} always reads back to the same double, but before Java 19 it sometimes
+     * prints a digit more than needed. Its output is taken as is when no decimal with a digit fewer reads back to
+     * the double and no other decimal with as many digits does either; only otherwise are the candidates
+     * searched from the exact binary value.
+     * </p>
+     */
+    private static BigDecimal shortestDecimal(double value) {
+        double magnitude = Math.abs(value);
+        BigDecimal candidate = new BigDecimal(Double.toString(magnitude)).stripTrailingZeros();
+        int digits = candidate.precision();
+        if (digits > 1) {
+            // If any decimal with a digit fewer reads back, so does one of these two
+            if (candidate.round(new MathContext(digits - 1, RoundingMode.DOWN)).doubleValue() == magnitude
+                    || candidate.round(new MathContext(digits - 1, RoundingMode.UP)).doubleValue() == magnitude) {
+                return searchShortest(magnitude);
+            }
+        }
+        // Decimals of 15 digits or fewer are too far apart for two of them to read back to the same normal double
+        if (digits > 15 || magnitude < Double.MIN_NORMAL) {
+            BigDecimal ulp = candidate.ulp();
+            if (candidate.subtract(ulp).doubleValue() == magnitude || candidate.add(ulp).doubleValue() == magnitude) {
+                return searchShortest(magnitude);
+            }
+        }
+        return candidate;
+    }
+
+    private static BigDecimal searchShortest(double magnitude) {
+        BigDecimal exact = new BigDecimal(magnitude);
+        for (int precision = 1; precision < 17; precision++) {
+            BigDecimal nearest = exact.round(new MathContext(precision, RoundingMode.HALF_EVEN));
+            if (nearest.doubleValue() == magnitude) {
+                return nearest;
+            }
+            // The round-trip interval of a power of two is narrower below it, so also try the other neighbour
+            RoundingMode other = nearest.compareTo(exact) < 0 ? RoundingMode.CEILING : RoundingMode.FLOOR;
+            BigDecimal neighbour = exact.round(new MathContext(precision, other));
+            if (neighbour.doubleValue() == magnitude) {
+                return neighbour;
+            }
+        }
+        return exact.round(new MathContext(17, RoundingMode.HALF_EVEN));
+    }
+
+    private static void writeString(String value, Writer writer) throws IOException {
+        writer.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                continue;
+            }
+            writer.write(value, start, i - start);
+            start = i + 1;
+            switch (c) {
+                case '"' -> writer.write("\\\"");
+                case '\\' -> writer.write("\\\\");
+                case '\b' -> writer.write("\\b");
+                case '\f' -> writer.write("\\f");
+                case '\n' -> writer.write("\\n");
+                case '\r' -> writer.write("\\r");
+                case '\t' -> writer.write("\\t");
+                default -> {
+                    writer.write("\\u00");
+                    writer.write(HEX[c >> 4]);
+                    writer.write(HEX[c & 0xF]);
+                }
+            }
+        }
+        writer.write(value, start, value.length() - start);
+        writer.write('"');
+    }
+}
@@ -0,0 +1,200 @@
+package com.vserdiuk.json.utility.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Computes a JSON Patch (RFC 6902) that turns one JSON tree into another.
+ * <p>
+ * Every subtree of both trees is hashed once, Merkle style, before the trees are compared. Subtrees with equal
+ * hashes are treated as equal without being visited, so the cost of a diff is proportional to the size of the
+ * change rather than the size of the documents. Hashes are 64 bits wide; a collision between two different
+ * subtrees would hide their difference, which is negligibly unlikely in practice.
+ * </p>
+ * <p>
+ * Objects are compared field by field. Applying the patch reproduces the target's field order as well: when the
+ * target's fields are not in the order in which field-level operations would leave them, the object is replaced
+ * as a whole, unless key order is ignored. Arrays are compared by skipping the common prefix and suffix, pairing
+ * up the remaining elements and adding or removing the surplus, so a single insertion or deletion produces a
+ * single operation. The {@code move} and {@code copy} operations are never emitted.
+ * </p>
+ */
+final class JsonDiff {
+
+    private static final long OBJECT_SEED = 0x510e527fade682d1L;
+    private static final long ARRAY_SEED = 0x9b05688c2b3e6c1fL;
+    private static final long VALUE_SEED = 0x1f83d9abfb41bd6bL;
+
+    private final Map<JsonNode, Long> hashes = new IdentityHashMap<>();
+    private final ArrayNode patch = JsonNodeFactory.instance.arrayNode();
+    private final boolean ignoreKeyOrder;
+
+    private JsonDiff(boolean ignoreKeyOrder) {
+        this.ignoreKeyOrder = ignoreKeyOrder;
+    }
+
+    /**
+     * Computes the patch that turns {@code source} into {@code target}.
+     *
+     * @param source         the original tree
+     * @param target         the modified tree
+     * @param ignoreKeyOrder whether the patch may leave fields in a different order than the target's, in which
+     *                       case objects are always compared field by field
+     * @return the JSON Patch operations; empty if the trees are equal
+     */
+    static ArrayNode diff(JsonNode source, JsonNode target, boolean ignoreKeyOrder) {
+        JsonDiff diff = new JsonDiff(ignoreKeyOrder);
+        diff.diff(source, target, "");
+        return diff.patch;
+    }
+
+    private void diff(JsonNode source, JsonNode target, String path) {
+        if (hash(source) == hash(target)) {
+            return;
+        }
+        if (source.isObject() && target.isObject()) {
+            if (ignoreKeyOrder || preservesFieldOrder(source, target)) {
+                diffObjects(source, target, path);
+            } else {
+                replace(path, target);
+            }
+        } else if (source.isArray() && target.isArray()) {
+            diffArrays(source, target, path);
+        } else {
+            replace(path, target);
+        }
+    }
+
+    private void diffObjects(JsonNode source, JsonNode target, String path) {
+        Iterator<Map.Entry<String, JsonNode>> sourceFields = source.fields();
+        while (sourceFields.hasNext()) {
+            Map.Entry<String, JsonNode> field = sourceFields.next();
+            JsonNode targetValue = target.get(field.getKey());
+            String fieldPath = path + '/' + escape(field.getKey());
+            if (targetValue == null) {
+                patch.addObject().put("op", "remove").put("path", fieldPath);
+            } else {
+                diff(field.getValue(), targetValue, fieldPath);
+            }
+        }
+        Iterator<Map.Entry<String, JsonNode>> targetFields = target.fields();
+        while (targetFields.hasNext()) {
+            Map.Entry<String, JsonNode> field = targetFields.next();
+            if (!source.has(field.getKey())) {
+                add(path + '/' + escape(field.getKey()), field.getValue());
+            }
+        }
+    }
+
+    private void diffArrays(JsonNode source, JsonNode target, String path) {
+        int sourceEnd = source.size();
+        int targetEnd = target.size();
+        int start = 0;
+        while (start < sourceEnd && start < targetEnd && hash(source.get(start)) == hash(target.get(start))) {
+            start++;
+        }
+        while (sourceEnd > start && targetEnd > start && hash(source.get(sourceEnd - 1)) == hash(target.get(targetEnd - 1))) {
+            sourceEnd--;
+            targetEnd--;
+        }
+        int paired = Math.min(sourceEnd, targetEnd) - start;
+        for (int i = start; i < start + paired; i++) {
+            diff(source.get(i), target.get(i), path + '/' + i);
+        }
+        // Removing at the same index repeatedly shifts the following elements into place
+        for (int i = start + paired; i < sourceEnd; i++) {
+            patch.addObject().put("op", "remove").put("path", path + '/' + (start + paired));
+        }
+        for (int i = start + paired; i < targetEnd; i++) {
+            add(path + '/' + i, target.get(i));
+        }
+    }
+
+    /**
+     * Checks whether field-level operations would leave the fields of {@code source} in the order of
+     * {@code target}: surviving fields keep their position and added fields are appended, so the target must
+     * list the common fields in the source's order, followed by the new fields.
+     */
+    private static boolean preservesFieldOrder(JsonNode source, JsonNode target) {
+        Iterator<String> sourceNames = source.fieldNames();
+        Iterator<String> targetNames = target.fieldNames();
+        boolean appending = false;
+        while (targetNames.hasNext()) {
+            String name = targetNames.next();
+            if (!source.has(name)) {
+                appending = true;
+                continue;
+            }
+            if (appending) {
+                return false;
+            }
+            String sourceName = null;
+            while (sourceNames.hasNext()) {
+                sourceName = sourceNames.next();
+                if (target.has(sourceName)) {
+                    break;
+                }
+            }
+            if (!name.equals(sourceName)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void add(String path, JsonNode value) {
+        ObjectNode operation = patch.addObject().put("op", "add").put("path", path);
+        operation.set("value", value);
+    }
+
+    private void replace(String path, JsonNode value) {
+        ObjectNode operation = patch.addObject().put("op", "replace").put("path", path);
+        operation.set("value", value);
+    }
+
+    /**
+     * Returns the hash of a subtree, computing and remembering the hashes of all its descendants on first use.
+     */
+    private long hash(JsonNode node) {
+        Long cached = hashes.get(node);
+        if (cached != null) {
+            return cached;
+        }
+        long hash;
+        if (node.isObject()) {
+            hash = OBJECT_SEED;
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                hash = JsonShape.mix(hash + JsonShape.hashName(field.getKey()));
+                hash = JsonShape.mix(hash + hash(field.getValue()));
+            }
+        } else if (node.isArray()) {
+            hash = ARRAY_SEED + node.size();
+            for (JsonNode element : node) {
+                hash = JsonShape.mix(hash + hash(element));
+            }
+        } else {
+            hash = JsonShape.mix(VALUE_SEED + node.getNodeType().ordinal()) + JsonShape.hashName(node.asText());
+        }
+        hash = JsonShape.mix(hash);
+        hashes.put(node, hash);
+        return hash;
+    }
+
+    /**
+     * Escapes a field name for use as a JSON Pointer (RFC 6901) reference token.
+     */
+    static String escape(String name) {
+        if (name.indexOf('~') < 0 && name.indexOf('/') < 0) {
+            return name;
+        }
+        return name.replace("~", "~0").replace("/", "~1");
+    }
+}
@@ -0,0 +1,251 @@
+package com.vserdiuk.json.utility.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Sorts JSON arrays too large to be held in memory, spilling to disk.
+ * <p>
+ * Elements are read one at a time from a streaming parser and collected into runs. Once the elements of a run
+ * take up the memory budget, the run is sorted with {@link JsonArraySorter} and written to a temporary file in
+ * Smile, a compact binary encoding of JSON. The sorted runs are then merged, always taking the smallest head
+ * element, straight to the output. Arrays that fit within the budget are sorted in memory without touching the
+ * disk. Elements with equal keys keep their input order, as with {@link JsonArraySorter}.
+ * </p>
+ * <p>
+ * The memory budget is measured in bytes of input: the trees built from the elements of a run take a few times
+ * as much heap. At most {@link #MAX_MERGE_WIDTH} runs are merged at once, so that the number of open files stays
+ * bounded; when there are more, consecutive runs are first merged into longer runs.
+ * </p>
+ */
+@Component
+@Slf4j
+public class JsonExternalSorter {
+
+    /**
+     * The maximum number of runs merged at the same time.
+     */
+    static final int MAX_MERGE_WIDTH = 64;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper runMapper = new ObjectMapper(new SmileFactory());
+    private final long memoryBudget;
+    private final Path tempDirectory;
+
+    /**
+     * Creates a sorter with the given limits.
+     *
+     * @param objectMapper  the mapper used to read input elements and write output elements
+     * @param memoryBudget  the input size, in bytes, of the elements held in memory at the same time
+     * @param tempDirectory the directory run files are written to; the system temporary directory if blank
+     */
+    public JsonExternalSorter(ObjectMapper objectMapper,
+                              @Value("${json.external-sort.memory-budget:67108864}") long memoryBudget,
+                              @Value("${json.external-sort.temp-directory:}") String tempDirectory) {
+        if (memoryBudget < 1) {
+            throw new IllegalArgumentException("Invalid external sort memory budget");
+        }
+        this.objectMapper = objectMapper;
+        this.memoryBudget = memoryBudget;
+        this.tempDirectory = Path.of(tempDirectory.isBlank() ? System.getProperty("java.io.tmpdir") : tempDirectory);
+    }
+
+    /**
+     * Sorts the elements of an array by the keys of a sort specification.
+     *
+     * @param parser    the parser, positioned at the start of the array; left after its end
+     * @param generator the generator the sorted array is written to
+     * @param spec      the sort specification
+     * @throws IOException if the input cannot be parsed, or run files or the output cannot be written
+     */
+    void sort(JsonParser parser, JsonGenerator generator, JsonSortSpec spec) throws IOException {
+        List<Path> runFiles = new ArrayList<>();
+        try {
+            ArrayNode run = objectMapper.createArrayNode();
+            long runSize = 0;
+            long count = 0;
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                if (token == null) {
+                    throw new JsonParseException(parser, "Unexpected end of input: the array is not closed");
+                }
+                long start = offset(parser.currentTokenLocation());
+                JsonNode element = objectMapper.readTree(parser);
+                run.add(element);
+                runSize += offset(parser.currentLocation()) - start;
+                count++;
+                if (runSize >= memoryBudget) {
+                    runFiles.add(writeRun(run, spec));
+                    run = objectMapper.createArrayNode();
+                    runSize = 0;
+                }
+            }
+            JsonArraySorter.sort(run, spec);
+            if (runFiles.isEmpty()) {
+                objectMapper.writeTree(generator, run);
+                log.debug("Sorted {} elements in memory.", count);
+                return;
+            }
+            int spilled = runFiles.size();
+            while (runFiles.size() > MAX_MERGE_WIDTH) {
+                runFiles = mergeRuns(runFiles, spec);
+            }
+            generator.writeStartArray();
+            merge(runFiles, run, spec, generator);
+            generator.writeEndArray();
+            log.debug("Sorted {} elements through {} run files.", count, spilled);
+        } finally {
+            for (Path runFile : runFiles) {
+                Files.deleteIfExists(runFile);
+            }
+        }
+    }
+
+    /**
+     * Sorts a run and writes it to a new run file.
+     */
+    private Path writeRun(ArrayNode run, JsonSortSpec spec) throws IOException {
+        JsonArraySorter.sort(run, spec);
+        Path runFile = Files.createTempFile(tempDirectory, "json-sort-", ".run");
+        try (JsonGenerator runGenerator = runMapper.createGenerator(Files.newOutputStream(runFile))) {
+            for (JsonNode element : run) {
+                runMapper.writeTree(runGenerator, element);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(runFile);
+            throw e;
+        }
+        return runFile;
+    }
+
+    /**
+     * Merges groups of consecutive run files into longer run files, deleting the merged ones.
+     */
+    private List<Path> mergeRuns(List<Path> runFiles, JsonSortSpec spec) throws IOException {
+        List<Path> merged = new ArrayList<>();
+        try {
+            for (int from = 0; from < runFiles.size(); from += MAX_MERGE_WIDTH) {
+                List<Path> group = runFiles.subList(from, Math.min(from + MAX_MERGE_WIDTH, runFiles.size()));
+                Path runFile = Files.createTempFile(tempDirectory, "json-sort-", ".run");
+                merged.add(runFile);
+                try (JsonGenerator runGenerator = runMapper.createGenerator(Files.newOutputStream(runFile))) {
+                    merge(group, null, spec, runGenerator);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            for (Path runFile : merged) {
+                Files.deleteIfExists(runFile);
+            }
+            throw e;
+        }
+        for (Path runFile : runFiles) {
+            Files.deleteIfExists(runFile);
+        }
+        return merged;
+    }
+
+    /**
+     * Merges sorted run files, followed by an optional sorted run still in memory, writing each element to the
+     * generator in order with the generator's own mapper.
+     */
+    private void merge(List<Path> runFiles, ArrayNode lastRun, JsonSortSpec spec, JsonGenerator generator) throws IOException {
+        PriorityQueue<RunReader> heads = new PriorityQueue<>((a, b) -> {
+            int result = JsonArraySorter.compareKeys(spec, a.keys, b.keys);
+            // Earlier runs hold earlier input, so this keeps elements with equal keys in input order
+            return result != 0 ? result : Integer.compare(a.index, b.index);
+        });
+        List<JsonParser> parsers = new ArrayList<>(runFiles.size());
+        try {
+            for (Path runFile : runFiles) {
+                JsonParser runParser = runMapper.createParser(Files.newInputStream(runFile));
+                parsers.add(runParser);
+                RunReader reader = new RunReader(parsers.size(), spec, () ->
+                        runParser.nextToken() == null ? null : runParser.readValueAsTree());
+                if (reader.advance()) {
+                    heads.add(reader);
+                }
+            }
+            if (lastRun != null) {
+                int[] position = {0};
+                RunReader reader = new RunReader(runFiles.size() + 1, spec, () ->
+                        position[0] < lastRun.size() ? lastRun.get(position[0]++) : null);
+                if (reader.advance()) {
+                    heads.add(reader);
+                }
+            }
+            while (!heads.isEmpty()) {
+                RunReader reader = heads.poll();
+                generator.writeTree(reader.head);
+                if (reader.advance()) {
+                    heads.add(reader);
+                }
+            }
+        } finally {
+            for (JsonParser runParser : parsers) {
+                runParser.close();
+            }
+        }
+    }
+
+    private static long offset(JsonLocation location) {
+        // Byte offsets are known for byte input and character offsets for character input
+        return location.getByteOffset() >= 0 ? location.getByteOffset() : location.getCharOffset();
+    }
+
+    /**
+     * Supplies the elements of a sorted run one at a time.
+     */
+    @FunctionalInterface
+    private interface ElementSource {
+
+        /**
+         * Returns the next element, or {@code null} at the end of the run.
+         */
+        JsonNode next() throws IOException;
+    }
+
+    /**
+     * The current element of a run being merged, with its sort key values.
+     */
+    private static final class RunReader {
+
+        private final int index;
+        private final JsonSortSpec spec;
+        private final ElementSource source;
+        private JsonNode head;
+        private JsonNode[] keys;
+
+        private RunReader(int index, JsonSortSpec spec, ElementSource source) {
+            this.index = index;
+            this.spec = spec;
+            this.source = source;
+        }
+
+        /**
+         * Moves to the next element of the run.
+         *
+         * @return {@code false} if the run is exhausted
+         */
+        private boolean advance() throws IOException {
+            head = source.next();
+            keys = head == null ? null : spec.resolveAll(head);
+            return head != null;
+        }
+    }
+}
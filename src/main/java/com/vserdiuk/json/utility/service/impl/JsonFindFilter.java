@@ -0,0 +1,150 @@
+package com.vserdiuk.json.utility.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pre-filter that rejects documents which cannot contain a search term before they are parsed.
+ * <p>
+ * A key or string value equal to the term holds the UTF-8 bytes of the term verbatim, unless some of its
+ * characters are written as escape sequences, such as {@code \/} for {@code /}. A document that contains
+ * neither the bytes of the term nor any backslash therefore cannot match, and is rejected without parsing. The
+ * raw bytes are scanned eight at a time, with the bytes of a {@code long} compared at once using bitwise
+ * arithmetic. Terms that could match a number are not filtered, because a number matches by its canonical text
+ * ({@code 100.0} for {@code 1e2}) rather than by the way it is written. Neither are documents in UTF-16 or
+ * UTF-32, which Jackson detects from their first bytes. A rejected document is not validated, so invalid JSON
+ * yields no matches rather than an error; the filter is therefore off unless enabled with
+ * {@code json.find.pre-filter.enabled=true}.
+ * </p>
+ */
+@Component
+@Slf4j
+public class JsonFindFilter {
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGHS = 0x8080808080808080L;
+
+    private final boolean enabled;
+    private final LongAdder scans = new LongAdder();
+    private final LongAdder shortCircuits = new LongAdder();
+    private final LongAdder escapeFallbacks = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+
+    /**
+     * Creates a pre-filter.
+     *
+     * @param enabled whether documents are filtered; when disabled, every document is parsed
+     */
+    public JsonFindFilter(@Value("${json.find.pre-filter.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Checks whether a document may contain a key or value equal to a term, and so has to be parsed.
+     *
+     * @param json the document, not empty
+     * @param term the search term
+     * @return {@code false} if the document cannot match the term
+     */
+    boolean mayContain(byte[] json, String term) {
+        if (!enabled || term == null || term.isEmpty() || isNumberStart(term.charAt(0)) || !isUtf8(json)) {
+            bypassed.increment();
+            return true;
+        }
+        scans.increment();
+        if (indexOf(json, term.getBytes(StandardCharsets.UTF_8)) >= 0) {
+            return true;
+        }
+        if (indexOf(json, (byte) '\\', 0) >= 0) {
+            // The term may be written with escape sequences, which only a parse can tell
+            escapeFallbacks.increment();
+            return true;
+        }
+        shortCircuits.increment();
+        log.debug("Skipped parsing a document of {} bytes that cannot contain the search term", json.length);
+        return false;
+    }
+
+    /**
+     * Returns a snapshot of the filter metrics: documents scanned, rejected without parsing, parsed because they
+     * hold escape sequences, and not filtered at all.
+     *
+     * @return the filter metrics by name
+     */
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("scans", scans.sum());
+        stats.put("shortCircuits", shortCircuits.sum());
+        stats.put("escapeFallbacks", escapeFallbacks.sum());
+        stats.put("bypassed", bypassed.sum());
+        return stats;
+    }
+
+    /**
+     * Finds the first occurrence of a byte sequence, checking the candidates found for its first byte.
+     */
+    static int indexOf(byte[] data, byte[] pattern) {
+        int last = data.length - pattern.length;
+        for (int i = indexOf(data, pattern[0], 0); i >= 0 && i <= last; i = indexOf(data, pattern[0], i + 1)) {
+            int j = 1;
+            while (j < pattern.length && data[i + j] == pattern[j]) {
+                j++;
+            }
+            if (j == pattern.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the first occurrence of a byte, eight bytes at a time: XOR-ing a word with the byte repeated in every
+     * lane turns matching bytes into zero bytes, and {@code (x - 0x01..01) & ~x & 0x80..80} sets the high bit of
+     * the lowest zero byte of {@code x} (and possibly of higher ones, which are not looked at).
+     */
+    static int indexOf(byte[] data, byte value, int from) {
+        long pattern = ONES * (value & 0xFF);
+        int i = from;
+        for (; i <= data.length - Long.BYTES; i += Long.BYTES) {
+            long word = (long) LONGS.get(data, i) ^ pattern;
+            long zeros = (word - ONES) & ~word & HIGHS;
+            if (zeros != 0) {
+                return i + (Long.numberOfTrailingZeros(zeros) >>> 3);
+            }
+        }
+        for (; i < data.length; i++) {
+            if (data[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isNumberStart(char c) {
+        // Numbers render as digits, a minus sign or, once out of the range of a double, "Infinity"
+        return c >= '0' && c <= '9' || c == '-' || c == 'I';
+    }
+
+    /**
+     * Checks that a document is not in one of the UTF-16 or UTF-32 encodings Jackson detects: with a byte order
+     * mark, or with a zero byte among the first two, which UTF-8 JSON never has.
+     */
+    private static boolean isUtf8(byte[] json) {
+        if (json.length < 2) {
+            return true;
+        }
+        int first = json[0] & 0xFF;
+        int second = json[1] & 0xFF;
+        return first != 0 && second != 0 && !(first == 0xFE && second == 0xFF) && !(first == 0xFF && second == 0xFE);
+    }
+}
@@ -0,0 +1,288 @@
+package com.vserdiuk.json.utility.service.impl;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Searches JSON for terms in keys and values, straight from a token stream.
+ * <p>
+ * The document is read token by token without building a tree. The path of the current token is kept in a
+ * stack of segments that is updated in place as the parser enters and leaves objects and arrays, and is only
+ * rendered to a string, such as {@code $.user.tags[0]}, when a match is reported. Keys and string values are
+ * matched in the parser's own character buffer, against all terms in a single {@link JsonTermMatcher} pass, so
+ * tokens that do not match allocate nothing, and memory use is bounded by the nesting depth of the document.
+ * Matches are reported in document order, a key before its value.
+ * </p>
+ * <p>
+ * A value is matched by its text as {@link com.fasterxml.jackson.databind.JsonNode#asText()} would render it:
+ * numbers in their canonical form, such as {@code 100.0} for {@code 1e2}, and {@code true}, {@code false} and
+ * {@code null} for the literals. A value at the root has no path and is never reported.
+ * </p>
+ */
+final class JsonFinder {
+
+    private static final char[] TRUE = "true".toCharArray();
+    private static final char[] FALSE = "false".toCharArray();
+    private static final char[] NULL = "null".toCharArray();
+
+    private final JsonTermMatcher matcher;
+    private final boolean decimalFloats;
+
+    /**
+     * Creates a finder for a single term.
+     *
+     * @param term          the term keys and values must equal; {@code null} matches nothing
+     * @param decimalFloats whether floating-point numbers are read as {@link java.math.BigDecimal}, which changes
+     *                      their text
+     */
+    JsonFinder(String term, boolean decimalFloats) {
+        this(JsonTermMatcher.exact(term), decimalFloats);
+    }
+
+    /**
+     * Creates a finder for the terms of a matcher.
+     *
+     * @param matcher       the compiled terms
+     * @param decimalFloats whether floating-point numbers are read as {@link java.math.BigDecimal}, which changes
+     *                      their text
+     */
+    JsonFinder(JsonTermMatcher matcher, boolean decimalFloats) {
+        this.matcher = matcher;
+        this.decimalFloats = decimalFloats;
+    }
+
+    /**
+     * Reads the root-level value of a parser and reports every key and scalar value that matches a term.
+     *
+     * @param parser   the parser, positioned before the root-level value; left on its last token
+     * @param consumer receives the path of every match, suffixed with {@code (key)} or {@code (value)}
+     * @throws IOException if the input cannot be parsed or the consumer fails
+     */
+    void find(JsonParser parser, MatchConsumer consumer) throws IOException {
+        findAll(parser, Integer.MAX_VALUE, (term, match) -> consumer.accept(match));
+    }
+
+    /**
+     * Reads the root-level value of a parser and reports the keys and scalar values that match a term, stopping as
+     * soon as {@code limit} matches are reported. The rest of the document is then left unread, so it is neither
+     * parsed nor checked for errors.
+     *
+     * @param parser   the parser, positioned before the root-level value; left on its last token
+     * @param limit    the maximum number of matches to report
+     * @param consumer receives the path of every match, suffixed with {@code (key)} or {@code (value)}
+     * @return {@code true} if the whole value was read, {@code false} if the search stopped at the limit
+     * @throws IOException if the input cannot be parsed or the consumer fails
+     */
+    boolean find(JsonParser parser, int limit, MatchConsumer consumer) throws IOException {
+        return findAll(parser, limit, (term, match) -> consumer.accept(match));
+    }
+
+    /**
+     * Reads the root-level value of a parser and reports, for each term, every key and scalar value it matches.
+     * A key or value matched by several terms is reported once for each of them.
+     *
+     * @param parser   the parser, positioned before the root-level value; left on its last token
+     * @param consumer receives the index of the term and the path of every match, suffixed with {@code (key)} or
+     *                 {@code (value)}
+     * @throws IOException if the input cannot be parsed or the consumer fails
+     */
+    void findAll(JsonParser parser, TermMatchConsumer consumer) throws IOException {
+        findAll(parser, Integer.MAX_VALUE, consumer);
+    }
+
+    /**
+     * Reads the root-level value of a parser and reports, for each term, the keys and scalar values it matches,
+     * stopping as soon as {@code limit} matches are reported in all.
+     *
+     * @param parser   the parser, positioned before the root-level value; left on its last token
+     * @param limit    the maximum number of matches to report
+     * @param consumer receives the index of the term and the path of every match, suffixed with {@code (key)} or
+     *                 {@code (value)}
+     * @return {@code true} if the whole value was read, {@code false} if the search stopped at the limit
+     * @throws IOException if the input cannot be parsed or the consumer fails
+     */
+    boolean findAll(JsonParser parser, int limit, TermMatchConsumer consumer) throws IOException {
+        if (limit <= 0) {
+            return false;
+        }
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+            throw new JsonParseException(parser, "No content to map due to end-of-input");
+        }
+        if (!token.isStructStart()) {
+            // A root-level scalar is never read otherwise, so make sure its text is fully checked
+            parser.finishToken();
+            return true;
+        }
+        boolean numbers = matcher.mayMatchNumbers();
+        PathStack path = new PathStack();
+        path.push(token == JsonToken.START_ARRAY);
+        int remaining = limit;
+        while (!path.isEmpty()) {
+            token = parser.nextToken();
+            if (token == null) {
+                throw new JsonParseException(parser, "Unexpected end of input: the document is not closed");
+            }
+            switch (token) {
+                case FIELD_NAME -> {
+                    path.name(parser.currentName());
+                    remaining = report(matcher.match(parser.getTextCharacters(), parser.getTextOffset(),
+                            parser.getTextLength()), path, " (key)", consumer, remaining);
+                }
+                case END_OBJECT, END_ARRAY -> path.pop();
+                case START_OBJECT, START_ARRAY -> {
+                    path.nextElement();
+                    path.push(token == JsonToken.START_ARRAY);
+                }
+                case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> {
+                    path.nextElement();
+                    if (numbers) {
+                        char[] text = numberText(parser, token).toCharArray();
+                        remaining = report(matcher.match(text, 0, text.length), path, " (value)", consumer, remaining);
+                    }
+                }
+                default -> {
+                    path.nextElement();
+                    remaining = report(matchValue(parser, token), path, " (value)", consumer, remaining);
+                }
+            }
+            if (remaining == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int matchValue(JsonParser parser, JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_TRUE -> matcher.match(TRUE, 0, TRUE.length);
+            case VALUE_FALSE -> matcher.match(FALSE, 0, FALSE.length);
+            case VALUE_NULL -> matcher.match(NULL, 0, NULL.length);
+            default -> matcher.match(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        };
+    }
+
+    /**
+     * Reports the terms matched by the current token, up to the number of matches remaining.
+     *
+     * @return the number of matches remaining after these
+     */
+    private int report(int count, PathStack path, String kind, TermMatchConsumer consumer, int remaining)
+            throws IOException {
+        if (count == 0) {
+            return remaining;
+        }
+        String match = path + kind;
+        for (int i = 0; i < count && remaining > 0; i++, remaining--) {
+            consumer.accept(matcher.matchedTerm(i), match);
+        }
+        return remaining;
+    }
+
+    /**
+     * Renders a number the way the tree node it would be read into renders it.
+     */
+    private String numberText(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return decimalFloats ? parser.getDecimalValue().toString() : Double.toString(parser.getDoubleValue());
+        }
+        return switch (parser.getNumberType()) {
+            case INT -> Integer.toString(parser.getIntValue());
+            case LONG -> Long.toString(parser.getLongValue());
+            default -> parser.getBigIntegerValue().toString();
+        };
+    }
+
+    /**
+     * Receives the matches of a search.
+     */
+    @FunctionalInterface
+    interface MatchConsumer {
+
+        /**
+         * Receives a match.
+         *
+         * @param match the path of the match, with its kind
+         * @throws IOException if the match cannot be written
+         */
+        void accept(String match) throws IOException;
+    }
+
+    /**
+     * Receives the matches of a search for several terms.
+     */
+    @FunctionalInterface
+    interface TermMatchConsumer {
+
+        /**
+         * Receives a match.
+         *
+         * @param term  the index of the matched term
+         * @param match the path of the match, with its kind
+         * @throws IOException if the match cannot be written
+         */
+        void accept(int term, String match) throws IOException;
+    }
+
+    /**
+     * The path to the current token: one frame per enclosing object or array, holding the name of the current
+     * member or the index of the current element. Frames are reused as the parser moves through the document.
+     */
+    private static final class PathStack {
+
+        private boolean[] arrays = new boolean[16];
+        private String[] names = new String[16];
+        private int[] indexes = new int[16];
+        private int depth;
+
+        private void push(boolean array) {
+            if (depth == arrays.length) {
+                arrays = Arrays.copyOf(arrays, depth * 2);
+                names = Arrays.copyOf(names, depth * 2);
+                indexes = Arrays.copyOf(indexes, depth * 2);
+            }
+            arrays[depth] = array;
+            names[depth] = null;
+            indexes[depth] = -1;
+            depth++;
+        }
+
+        private void pop() {
+            names[--depth] = null;
+        }
+
+        private boolean isEmpty() {
+            return depth == 0;
+        }
+
+        private void name(String name) {
+            names[depth - 1] = name;
+        }
+
+        /**
+         * Moves to the next element if the current container is an array.
+         */
+        private void nextElement() {
+            if (arrays[depth - 1]) {
+                indexes[depth - 1]++;
+            }
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder path = new StringBuilder("$");
+            for (int i = 0; i < depth; i++) {
+                if (arrays[i]) {
+                    path.append('[').append(indexes[i]).append(']');
+                } else {
+                    path.append('.').append(names[i]);
+                }
+            }
+            return path.toString();
+        }
+    }
+}
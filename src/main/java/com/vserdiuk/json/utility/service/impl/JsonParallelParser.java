@@ -0,0 +1,166 @@
+package com.vserdiuk.json.utility.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Parses the inputs of multi-document operations concurrently on a bounded pool.
+ * <p>
+ * Documents are submitted in input order and their trees are handed to the caller in the same order, one at a
+ * time as each is parsed, so results are deterministic regardless of which document finishes first. The total
+ * length of the documents submitted but not yet consumed is capped: a document's share of the cap is only
+ * returned once the caller has consumed its tree, so parsed trees waiting for their turn count against it too.
+ * Once the cap is reached, submission waits for the next tree in order to be consumed. A single document larger
+ * than the cap is parsed on its own. If a document fails to parse or the caller rejects a tree, the documents
+ * after it are cancelled, and those not yet started are never parsed. Small batches are parsed on the calling
+ * thread, where handing work to the pool would cost more than it saves.
+ * </p>
+ */
+@Component
+@Slf4j
+public class JsonParallelParser {
+
+    private final ObjectMapper objectMapper;
+    private final ForkJoinPool pool;
+    private final int maxInFlightChars;
+    private final int minDocuments;
+    private final Semaphore inFlight;
+
+    /**
+     * Creates a parser with the given limits.
+     *
+     * @param objectMapper     the mapper used to parse documents
+     * @param parallelism      the number of worker threads; {@code 0} uses one per available processor
+     * @param maxInFlightChars the maximum total length, in characters, of the documents parsed at the same time
+     * @param minDocuments     the smallest number of documents that is parsed concurrently
+     */
+    public JsonParallelParser(ObjectMapper objectMapper,
+                              @Value("${json.parallel-parse.parallelism:0}") int parallelism,
+                              @Value("${json.parallel-parse.max-in-flight-chars:67108864}") int maxInFlightChars,
+                              @Value("${json.parallel-parse.min-documents:4}") int minDocuments) {
+        if (parallelism < 0 || maxInFlightChars < 1) {
+            throw new IllegalArgumentException("Invalid parallel parse limits");
+        }
+        this.objectMapper = objectMapper;
+        this.pool = new ForkJoinPool(parallelism == 0 ? Runtime.getRuntime().availableProcessors() : parallelism);
+        this.maxInFlightChars = maxInFlightChars;
+        this.minDocuments = minDocuments;
+        this.inFlight = new Semaphore(maxInFlightChars, true);
+    }
+
+    /**
+     * Parses the given documents, handing each tree to the consumer in input order as soon as it and the trees
+     * before it are parsed. Trees are not kept once consumed.
+     *
+     * @param jsons    the documents to parse
+     * @param consumer receives the parsed trees, in input order; an exception it throws stops the parse
+     * @throws IOException if a document is not valid JSON; the error of the first such document is reported
+     */
+    public void parseEach(List<String> jsons, TreeConsumer consumer) throws IOException {
+        if (jsons.size() < minDocuments || pool.getParallelism() == 1) {
+            for (String json : jsons) {
+                consumer.accept(objectMapper.readTree(json));
+            }
+            return;
+        }
+        int count = jsons.size();
+        List<Future<JsonNode>> futures = new ArrayList<>(count);
+        int[] permits = new int[count];
+        AtomicBoolean abandoned = new AtomicBoolean();
+        int next = 0;
+        try {
+            for (int i = 0; i < count; i++) {
+                String json = jsons.get(i);
+                permits[i] = Math.min(json.length(), maxInFlightChars);
+                // Consume earlier trees to make room; only wait for other requests when holding nothing
+                while (!inFlight.tryAcquire(permits[i])) {
+                    if (next < i) {
+                        consume(futures, permits, next++, consumer);
+                    } else {
+                        inFlight.acquire(permits[i]);
+                        break;
+                    }
+                }
+                try {
+                    futures.add(pool.submit(() -> abandoned.get() ? null : objectMapper.readTree(json)));
+                } catch (RuntimeException e) {
+                    inFlight.release(permits[i]);
+                    throw e;
+                }
+            }
+            while (next < count) {
+                consume(futures, permits, next++, consumer);
+            }
+            log.debug("Parsed {} documents on {} threads.", count, pool.getParallelism());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while parsing documents");
+        } catch (ExecutionException e) {
+            // The pool wraps checked exceptions thrown by tasks, so look for the parse error down the chain
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof IOException ioException) {
+                    throw ioException;
+                }
+            }
+            throw new IllegalStateException("Failed to parse documents", e.getCause());
+        } finally {
+            // After a failure, documents not yet consumed are skipped if not started, and release their share
+            abandoned.set(true);
+            for (int i = next; i < futures.size(); i++) {
+                futures.get(i).cancel(false);
+                inFlight.release(permits[i]);
+            }
+        }
+    }
+
+    /**
+     * Waits for the tree of a document, hands it to the consumer and returns the document's share of the cap.
+     */
+    private void consume(List<Future<JsonNode>> futures, int[] permits, int index, TreeConsumer consumer)
+            throws IOException, InterruptedException, ExecutionException {
+        try {
+            JsonNode tree = futures.get(index).get();
+            futures.set(index, null);
+            consumer.accept(tree);
+        } finally {
+            inFlight.release(permits[index]);
+        }
+    }
+
+    /**
+     * Receives the trees of a parse.
+     */
+    @FunctionalInterface
+    public interface TreeConsumer {
+
+        /**
+         * Receives a parsed tree.
+         *
+         * @param tree the tree
+         * @throws IOException if the tree cannot be written
+         */
+        void accept(JsonNode tree) throws IOException;
+    }
+
+    /**
+     * Shuts down the worker threads.
+     */
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
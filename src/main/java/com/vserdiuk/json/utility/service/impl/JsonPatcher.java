@@ -0,0 +1,263 @@
+package com.vserdiuk.json.utility.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Applies JSON Patch (RFC 6902) operations to a JSON tree in place.
+ * <p>
+ * JSON Pointers are resolved through a lazily built index from pointer to container node. Each container
+ * reached while resolving a pointer is remembered, so operations on nearby paths start from the deepest known
+ * ancestor instead of walking from the root again. An operation that modifies a container drops the entries
+ * below it, since array insertions and removals shift the indexes that later pointers refer to.
+ * </p>
+ */
+final class JsonPatcher {
+
+    /**
+     * Compares numbers by value, as required by the {@code test} operation, and everything else by equality.
+     */
+    private static final Comparator<JsonNode> VALUE_COMPARATOR = (a, b) -> {
+        if (a.isNumber() && b.isNumber()) {
+            return a.decimalValue().compareTo(b.decimalValue());
+        }
+        return a.equals(b) ? 0 : 1;
+    };
+
+    private final TreeMap<String, JsonNode> containers = new TreeMap<>();
+    private JsonNode root;
+
+    private JsonPatcher(JsonNode root) {
+        this.root = root;
+    }
+
+    /**
+     * Applies the operations of a JSON Patch in order. The document is modified in place.
+     *
+     * @param document the document to patch
+     * @param patch    the JSON Patch, an array of operation objects
+     * @return the patched document, which is a new node only if the root itself was replaced
+     * @throws IllegalArgumentException if the patch is malformed or an operation cannot be applied
+     */
+    static JsonNode apply(JsonNode document, JsonNode patch) {
+        if (!patch.isArray()) {
+            throw new IllegalArgumentException("Invalid patch: expected an array of operations");
+        }
+        JsonPatcher patcher = new JsonPatcher(document);
+        for (int i = 0; i < patch.size(); i++) {
+            try {
+                patcher.applyOperation(patch.get(i));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid patch: operation " + i + ": " + e.getMessage(), e);
+            }
+        }
+        return patcher.root;
+    }
+
+    private void applyOperation(JsonNode operation) {
+        String op = requiredText(operation, "op");
+        String path = requiredPointer(operation, "path");
+        switch (op) {
+            case "add" -> add(path, requiredValue(operation).deepCopy());
+            case "remove" -> remove(path);
+            case "replace" -> replace(path, requiredValue(operation).deepCopy());
+            case "move" -> {
+                String from = requiredPointer(operation, "from");
+                if (path.startsWith(from + "/")) {
+                    throw new IllegalArgumentException("cannot move " + from + " into its own child " + path);
+                }
+                if (!from.equals(path)) {
+                    add(path, remove(from));
+                }
+            }
+            case "copy" -> add(path, get(requiredPointer(operation, "from")).deepCopy());
+            case "test" -> {
+                if (!get(path).equals(VALUE_COMPARATOR, requiredValue(operation))) {
+                    throw new IllegalArgumentException("test failed at " + path);
+                }
+            }
+            default -> throw new IllegalArgumentException("unknown op '" + op + "'");
+        }
+    }
+
+    private void add(String path, JsonNode value) {
+        if (path.isEmpty()) {
+            root = value;
+            containers.clear();
+            return;
+        }
+        int separator = path.lastIndexOf('/');
+        String parentPath = path.substring(0, separator);
+        String token = unescape(path.substring(separator + 1));
+        JsonNode parent = container(parentPath);
+        if (parent.isObject()) {
+            ((ObjectNode) parent).set(token, value);
+        } else {
+            ArrayNode array = (ArrayNode) parent;
+            if (token.equals("-")) {
+                array.add(value);
+            } else {
+                array.insert(arrayIndex(token, array.size() + 1, path), value);
+            }
+        }
+        invalidate(parentPath);
+    }
+
+    private void replace(String path, JsonNode value) {
+        if (path.isEmpty()) {
+            add(path, value);
+            return;
+        }
+        int separator = path.lastIndexOf('/');
+        String parentPath = path.substring(0, separator);
+        String token = unescape(path.substring(separator + 1));
+        JsonNode parent = container(parentPath);
+        // Replacing in place keeps the position of an object field, unlike a remove followed by an add
+        if (parent.isObject()) {
+            if (!parent.has(token)) {
+                throw new IllegalArgumentException("no value at " + path);
+            }
+            ((ObjectNode) parent).set(token, value);
+        } else {
+            ((ArrayNode) parent).set(arrayIndex(token, parent.size(), path), value);
+        }
+        invalidate(parentPath);
+    }
+
+    private JsonNode remove(String path) {
+        if (path.isEmpty()) {
+            throw new IllegalArgumentException("cannot remove the root");
+        }
+        int separator = path.lastIndexOf('/');
+        String parentPath = path.substring(0, separator);
+        String token = unescape(path.substring(separator + 1));
+        JsonNode parent = container(parentPath);
+        JsonNode removed;
+        if (parent.isObject()) {
+            removed = ((ObjectNode) parent).remove(token);
+            if (removed == null) {
+                throw new IllegalArgumentException("no value at " + path);
+            }
+        } else {
+            removed = ((ArrayNode) parent).remove(arrayIndex(token, parent.size(), path));
+        }
+        invalidate(parentPath);
+        return removed;
+    }
+
+    private JsonNode get(String path) {
+        if (path.isEmpty()) {
+            return root;
+        }
+        int separator = path.lastIndexOf('/');
+        JsonNode parent = container(path.substring(0, separator));
+        String token = unescape(path.substring(separator + 1));
+        JsonNode value = parent.isObject() ? parent.get(token) : parent.get(arrayIndex(token, parent.size(), path));
+        if (value == null) {
+            throw new IllegalArgumentException("no value at " + path);
+        }
+        return value;
+    }
+
+    /**
+     * Resolves a pointer to an object or array, starting from the deepest ancestor already in the index and
+     * indexing every container passed on the way down.
+     */
+    private JsonNode container(String pointer) {
+        JsonNode node = root;
+        int resolved = 0;
+        for (int end = pointer.length(); end > 0; end = pointer.lastIndexOf('/', end - 1)) {
+            JsonNode cached = containers.get(pointer.substring(0, end));
+            if (cached != null) {
+                node = cached;
+                resolved = end;
+                break;
+            }
+        }
+        while (resolved < pointer.length()) {
+            int next = pointer.indexOf('/', resolved + 1);
+            int end = next < 0 ? pointer.length() : next;
+            String token = unescape(pointer.substring(resolved + 1, end));
+            JsonNode child = null;
+            if (node.isObject()) {
+                child = node.get(token);
+            } else if (node.isArray()) {
+                child = node.get(arrayIndex(token, node.size(), pointer));
+            }
+            if (child == null) {
+                throw new IllegalArgumentException("no value at " + pointer.substring(0, end));
+            }
+            node = child;
+            resolved = end;
+            if (node.isContainerNode()) {
+                containers.put(pointer.substring(0, end), node);
+            }
+        }
+        if (!node.isContainerNode()) {
+            throw new IllegalArgumentException("no object or array at " + (pointer.isEmpty() ? "the root" : pointer));
+        }
+        return node;
+    }
+
+    /**
+     * Drops the index entries below a modified container; entries for the container itself and its ancestors
+     * still refer to the same nodes.
+     */
+    private void invalidate(String pointer) {
+        // '0' is the character after '/', so this range holds exactly the pointers that start with pointer + "/"
+        Map<String, JsonNode> descendants = containers.subMap(pointer + "/", pointer + "0");
+        descendants.clear();
+    }
+
+    private static int arrayIndex(String token, int limit, String path) {
+        if (token.isEmpty() || token.length() > 10 || (token.length() > 1 && token.charAt(0) == '0')) {
+            throw new IllegalArgumentException("invalid array index in " + path);
+        }
+        for (int i = 0; i < token.length(); i++) {
+            if (token.charAt(i) < '0' || token.charAt(i) > '9') {
+                throw new IllegalArgumentException("invalid array index in " + path);
+            }
+        }
+        long index = Long.parseLong(token);
+        if (index >= limit) {
+            throw new IllegalArgumentException("array index out of bounds in " + path);
+        }
+        return (int) index;
+    }
+
+    private static String requiredText(JsonNode operation, String field) {
+        JsonNode value = operation.get(field);
+        if (value == null || !value.isTextual()) {
+            throw new IllegalArgumentException("missing '" + field + "'");
+        }
+        return value.asText();
+    }
+
+    private static String requiredPointer(JsonNode operation, String field) {
+        String pointer = requiredText(operation, field);
+        if (!pointer.isEmpty() && pointer.charAt(0) != '/') {
+            throw new IllegalArgumentException("invalid JSON Pointer '" + pointer + "'");
+        }
+        return pointer;
+    }
+
+    private static JsonNode requiredValue(JsonNode operation) {
+        JsonNode value = operation.get("value");
+        if (value == null) {
+            throw new IllegalArgumentException("missing 'value'");
+        }
+        return value;
+    }
+
+    private static String unescape(String token) {
+        if (token.indexOf('~') < 0) {
+            return token;
+        }
+        return token.replace("~1", "/").replace("~0", "~");
+    }
+}
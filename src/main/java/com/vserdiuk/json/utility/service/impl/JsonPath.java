@@ -0,0 +1,626 @@
+package com.vserdiuk.json.utility.service.impl;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compiled JSONPath query (RFC 9535).
+ * <p>
+ * A query is compiled once, by {@link #compile(String)}, into a plan of segments, each holding the selectors it
+ * applies: names, wildcards, indexes, slices and filters, with filter expressions compiled down to
+ * {@link JsonPathFilter} predicates. The plan holds no state of its own, so it can be cached and run concurrently.
+ * </p>
+ * <p>
+ * A plan runs either against a tree, producing the nodelist defined by the specification, or against a token
+ * stream. Over a stream, each value is visited with the set of segments still to be applied to it, and values no
+ * segment can select are skipped without being read into a tree. Only the values selected, the elements that a
+ * filter has to look at and the arrays indexed from their end are read as trees. Matches are then reported in
+ * document order, which only differs from the nodelist order where a bracket lists several selectors or a
+ * descendant segment selects nodes at different depths. Queries whose filters refer to the root with {@code $}
+ * need the whole document and cannot run over a stream.
+ * </p>
+ */
+final class JsonPath {
+
+    private final String expression;
+    private final Segment[] segments;
+    private final boolean singular;
+    private final boolean streamable;
+
+    JsonPath(String expression, Segment[] segments, boolean streamable) {
+        this.expression = expression;
+        this.segments = segments;
+        this.streamable = streamable;
+        boolean singular = true;
+        for (Segment segment : segments) {
+            singular &= !segment.descendant() && segment.selectors().length == 1
+                    && (segment.selectors()[0] instanceof NameSelector || segment.selectors()[0] instanceof IndexSelector);
+        }
+        this.singular = singular;
+    }
+
+    /**
+     * Compiles a JSONPath query.
+     *
+     * @param expression the query, starting with {@code $}
+     * @return the compiled query
+     * @throws IllegalArgumentException if the query is not valid
+     */
+    static JsonPath compile(String expression) {
+        return new JsonPathParser(expression).parse();
+    }
+
+    /**
+     * Returns the query this plan was compiled from.
+     *
+     * @return the query text
+     */
+    String expression() {
+        return expression;
+    }
+
+    /**
+     * Checks whether the query selects at most one node, using only child segments with a single name or index.
+     *
+     * @return {@code true} for a singular query
+     */
+    boolean isSingular() {
+        return singular;
+    }
+
+    /**
+     * Checks whether the query can run over a token stream, which it can unless a filter refers to the root.
+     *
+     * @return {@code true} if {@link #select(JsonParser, boolean, MatchConsumer)} can be used
+     */
+    boolean isStreamable() {
+        return streamable;
+    }
+
+    /**
+     * Selects the nodes of a document.
+     *
+     * @param root      the document
+     * @param withPaths whether to record the location of every selected node
+     * @return the selected nodes, in nodelist order; their locations are {@code null} unless requested
+     */
+    List<Match> select(JsonNode root, boolean withPaths) {
+        List<Match> nodes = new ArrayList<>(1);
+        nodes.add(new Match(withPaths ? Location.ROOT : null, root));
+        return apply(0, nodes, root);
+    }
+
+    /**
+     * Selects nodes starting from a given node, as done for the queries inside filters: from the current node for
+     * a relative query and from the root for an absolute one.
+     *
+     * @param start the node the query starts from
+     * @param root  the document
+     * @return the selected nodes, in nodelist order, without locations
+     */
+    List<Match> select(JsonNode start, JsonNode root) {
+        List<Match> nodes = new ArrayList<>(1);
+        nodes.add(new Match(null, start));
+        return apply(0, nodes, root);
+    }
+
+    /**
+     * Resolves a singular query from a given node without building a nodelist.
+     *
+     * @param start the node the query starts from
+     * @return the selected node, or {@code null} if there is none
+     */
+    JsonNode resolve(JsonNode start) {
+        JsonNode node = start;
+        for (int s = 0; s < segments.length && node != null; s++) {
+            Selector selector = segments[s].selectors()[0];
+            if (selector instanceof NameSelector name) {
+                node = node.isObject() ? node.get(name.name()) : null;
+            } else if (node.isArray()) {
+                long index = ((IndexSelector) selector).index();
+                index = index < 0 ? node.size() + index : index;
+                node = index >= 0 && index < node.size() ? node.get((int) index) : null;
+            } else {
+                node = null;
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Selects the nodes of a document read from a token stream, reading as little of it into trees as possible.
+     *
+     * @param parser    the parser, positioned at the first token of the document
+     * @param withPaths whether to report the location of every selected node
+     * @param consumer  receives the selected nodes, in document order
+     * @throws IOException           if the input cannot be parsed or the consumer fails
+     * @throws IllegalStateException if the query is not streamable
+     */
+    void select(JsonParser parser, boolean withPaths, MatchConsumer consumer) throws IOException {
+        if (!streamable) {
+            throw new IllegalStateException("The JSONPath query " + expression + " refers to the root and cannot be streamed");
+        }
+        stream(parser, new int[]{0}, withPaths ? Location.ROOT : null, consumer);
+    }
+
+    /**
+     * Applies the segments from the given one onwards to a nodelist.
+     */
+    private List<Match> apply(int from, List<Match> nodes, JsonNode root) {
+        for (int s = from; s < segments.length && !nodes.isEmpty(); s++) {
+            List<Match> selected = new ArrayList<>();
+            for (Match node : nodes) {
+                segments[s].apply(node.value(), node.location(), root, selected);
+            }
+            nodes = selected;
+        }
+        return nodes;
+    }
+
+    /**
+     * Visits a value of the stream with the segments still to be applied to it. A state {@code s} means that
+     * segment {@code s} is applied next; a state equal to the number of segments means the value is selected.
+     * States may repeat, as the same node may be selected more than once.
+     */
+    private void stream(JsonParser parser, int[] states, Location location, MatchConsumer consumer) throws IOException {
+        JsonToken token = parser.currentToken();
+        boolean selected = false;
+        for (int state : states) {
+            selected |= state == segments.length;
+        }
+        if (!token.isStructStart()) {
+            // Selectors only apply to the members and elements of containers
+            if (selected) {
+                finish(parser.readValueAsTree(), states, location, consumer);
+            }
+            return;
+        }
+        if (selected || token == JsonToken.START_ARRAY && needsLength(states)) {
+            finish(parser.readValueAsTree(), states, location, consumer);
+            return;
+        }
+
+        boolean object = token == JsonToken.START_OBJECT;
+        boolean needsValue = needsValue(states);
+        int index = 0;
+        for (JsonToken next = parser.nextToken(); next != JsonToken.END_OBJECT && next != JsonToken.END_ARRAY;
+             next = parser.nextToken(), index++) {
+            if (next == null) {
+                throw new JsonParseException(parser, "Unexpected end of input: the " + (object ? "object" : "array") + " is not closed");
+            }
+            String name = null;
+            if (object) {
+                name = parser.currentName();
+                parser.nextToken();
+            }
+            JsonNode value = needsValue ? parser.readValueAsTree() : null;
+            int[] childStates = childStates(states, name, index, value);
+            Location childLocation = location == null ? null : object ? location.child(name) : location.child(index);
+            if (value != null) {
+                finish(value, childStates, childLocation, consumer);
+            } else if (childStates.length == 0) {
+                parser.skipChildren();
+            } else {
+                stream(parser, childStates, childLocation, consumer);
+            }
+        }
+    }
+
+    /**
+     * Applies the remaining segments of every state to a value that has been read into a tree.
+     */
+    private void finish(JsonNode value, int[] states, Location location, MatchConsumer consumer) throws IOException {
+        for (int state : states) {
+            if (state == segments.length) {
+                consumer.accept(location, value);
+                continue;
+            }
+            List<Match> nodes = new ArrayList<>(1);
+            nodes.add(new Match(location, value));
+            for (Match match : apply(state, nodes, null)) {
+                consumer.accept(match.location(), match.value());
+            }
+        }
+    }
+
+    /**
+     * Computes the states of a member or element from those of its container.
+     *
+     * @param states the states of the container
+     * @param name   the member name, or {@code null} for an array element
+     * @param index  the position of the member or element
+     * @param value  the member or element, if it has been read into a tree for a filter
+     */
+    private int[] childStates(int[] states, String name, int index, JsonNode value) {
+        int[] childStates = new int[0];
+        int count = 0;
+        for (int state : states) {
+            if (state == segments.length) {
+                continue;
+            }
+            Segment segment = segments[state];
+            if (segment.descendant()) {
+                childStates = add(childStates, count++, state);
+            }
+            for (Selector selector : segment.selectors()) {
+                boolean selects = selector instanceof FilterSelector filter
+                        ? filter.filter().test(value, null)
+                        : name != null ? selector.selectsMember(name) : selector.selectsElement(index);
+                if (selects) {
+                    childStates = add(childStates, count++, state + 1);
+                }
+            }
+        }
+        return count == childStates.length ? childStates : Arrays.copyOf(childStates, count);
+    }
+
+    private static int[] add(int[] states, int count, int state) {
+        if (count == states.length) {
+            states = Arrays.copyOf(states, Math.max(4, count * 2));
+        }
+        states[count] = state;
+        return states;
+    }
+
+    /**
+     * Checks whether one of the next segments has a selector that needs the length of an array.
+     */
+    private boolean needsLength(int[] states) {
+        for (int state : states) {
+            if (state < segments.length) {
+                for (Selector selector : segments[state].selectors()) {
+                    if (selector.needsLength()) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether one of the next segments has a filter, which needs the values of members and elements.
+     */
+    private boolean needsValue(int[] states) {
+        for (int state : states) {
+            if (state < segments.length) {
+                for (Selector selector : segments[state].selectors()) {
+                    if (selector instanceof FilterSelector) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    /**
+     * Receives the nodes selected from a token stream.
+     */
+    @FunctionalInterface
+    interface MatchConsumer {
+
+        /**
+         * Receives a selected node.
+         *
+         * @param location the location of the node, or {@code null} if locations are not tracked
+         * @param value    the node
+         * @throws IOException if the node cannot be written
+         */
+        void accept(Location location, JsonNode value) throws IOException;
+    }
+
+    /**
+     * A selected node with its location.
+     *
+     * @param location the location of the node, or {@code null} if locations are not tracked
+     * @param value    the node
+     */
+    record Match(Location location, JsonNode value) {
+    }
+
+    /**
+     * The location of a node, as a chain of member names and element indexes from the root. Rendered as a
+     * normalized path, such as {@code $['store']['book'][0]}, only when asked for.
+     */
+    static final class Location {
+
+        static final Location ROOT = new Location(null, null, -1);
+
+        private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+        private final Location parent;
+        private final String name;
+        private final int index;
+
+        private Location(Location parent, String name, int index) {
+            this.parent = parent;
+            this.name = name;
+            this.index = index;
+        }
+
+        Location child(String name) {
+            return new Location(this, name, -1);
+        }
+
+        Location child(int index) {
+            return new Location(this, null, index);
+        }
+
+        /**
+         * Renders the location as a normalized path.
+         *
+         * @return the normalized path
+         */
+        @Override
+        public String toString() {
+            int depth = 0;
+            for (Location location = this; location.parent != null; location = location.parent) {
+                depth++;
+            }
+            Location[] chain = new Location[depth];
+            for (Location location = this; location.parent != null; location = location.parent) {
+                chain[--depth] = location;
+            }
+            StringBuilder path = new StringBuilder("$");
+            for (Location location : chain) {
+                if (location.name == null) {
+                    path.append('[').append(location.index).append(']');
+                } else {
+                    path.append("['");
+                    appendEscaped(path, location.name);
+                    path.append("']");
+                }
+            }
+            return path.toString();
+        }
+
+        private static void appendEscaped(StringBuilder path, String name) {
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                switch (c) {
+                    case '\'' -> path.append("\\'");
+                    case '\\' -> path.append("\\\\");
+                    case '\b' -> path.append("\\b");
+                    case '\f' -> path.append("\\f");
+                    case '\n' -> path.append("\\n");
+                    case '\r' -> path.append("\\r");
+                    case '\t' -> path.append("\\t");
+                    default -> {
+                        if (c < 0x20) {
+                            path.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                        } else {
+                            path.append(c);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A segment of a query: the selectors applied to each input node, or with {@code descendant} set, to each
+     * input node and all of its descendants.
+     *
+     * @param selectors  the selectors, in the order their results are listed
+     * @param descendant whether this is a descendant segment ({@code ..})
+     */
+    record Segment(Selector[] selectors, boolean descendant) {
+
+        void apply(JsonNode node, Location location, JsonNode root, List<Match> selected) {
+            for (Selector selector : selectors) {
+                selector.select(node, location, root, selected);
+            }
+            if (descendant) {
+                // Descendants are visited in document order, each before its own descendants
+                if (node.isObject()) {
+                    for (Iterator<Map.Entry<String, JsonNode>> members = node.fields(); members.hasNext(); ) {
+                        Map.Entry<String, JsonNode> member = members.next();
+                        apply(member.getValue(), location == null ? null : location.child(member.getKey()), root, selected);
+                    }
+                } else if (node.isArray()) {
+                    for (int i = 0; i < node.size(); i++) {
+                        apply(node.get(i), location == null ? null : location.child(i), root, selected);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Selects members or elements of a node.
+     */
+    interface Selector {
+
+        /**
+         * Adds the members or elements of a node that this selector selects.
+         *
+         * @param node     the node to select from
+         * @param location the location of the node, or {@code null} if locations are not tracked
+         * @param root     the document, for filters that refer to it
+         * @param selected the list the selected nodes are added to
+         */
+        void select(JsonNode node, Location location, JsonNode root, List<Match> selected);
+
+        /**
+         * Checks whether this selector selects an object member by its name alone.
+         */
+        default boolean selectsMember(String name) {
+            return false;
+        }
+
+        /**
+         * Checks whether this selector selects an array element by its index alone, not knowing the array length.
+         */
+        default boolean selectsElement(int index) {
+            return false;
+        }
+
+        /**
+         * Checks whether this selector needs the length of an array to select its elements.
+         */
+        default boolean needsLength() {
+            return false;
+        }
+    }
+
+    record NameSelector(String name) implements Selector {
+
+        @Override
+        public void select(JsonNode node, Location location, JsonNode root, List<Match> selected) {
+            JsonNode member = node.isObject() ? node.get(name) : null;
+            if (member != null) {
+                selected.add(new Match(location == null ? null : location.child(name), member));
+            }
+        }
+
+        @Override
+        public boolean selectsMember(String member) {
+            return name.equals(member);
+        }
+    }
+
+    record WildcardSelector() implements Selector {
+
+        @Override
+        public void select(JsonNode node, Location location, JsonNode root, List<Match> selected) {
+            if (node.isObject()) {
+                for (Iterator<Map.Entry<String, JsonNode>> members = node.fields(); members.hasNext(); ) {
+                    Map.Entry<String, JsonNode> member = members.next();
+                    selected.add(new Match(location == null ? null : location.child(member.getKey()), member.getValue()));
+                }
+            } else if (node.isArray()) {
+                for (int i = 0; i < node.size(); i++) {
+                    selected.add(new Match(location == null ? null : location.child(i), node.get(i)));
+                }
+            }
+        }
+
+        @Override
+        public boolean selectsMember(String name) {
+            return true;
+        }
+
+        @Override
+        public boolean selectsElement(int index) {
+            return true;
+        }
+    }
+
+    /**
+     * Selects an array element by index, counted from the end when negative.
+     */
+    record IndexSelector(long index) implements Selector {
+
+        @Override
+        public void select(JsonNode node, Location location, JsonNode root, List<Match> selected) {
+            if (node.isArray()) {
+                long normalized = index < 0 ? node.size() + index : index;
+                if (normalized >= 0 && normalized < node.size()) {
+                    int i = (int) normalized;
+                    selected.add(new Match(location == null ? null : location.child(i), node.get(i)));
+                }
+            }
+        }
+
+        @Override
+        public boolean selectsElement(int i) {
+            return i == index;
+        }
+
+        @Override
+        public boolean needsLength() {
+            return index < 0;
+        }
+    }
+
+    /**
+     * Selects array elements from {@code start} up to but excluding {@code end}, every {@code step} elements.
+     *
+     * @param start the first index, or {@code null} for the default of the direction
+     * @param end   the index to stop at, or {@code null} for the default of the direction
+     * @param step  the step; negative to select in reverse and zero to select nothing
+     */
+    record SliceSelector(Long start, Long end, long step) implements Selector {
+
+        @Override
+        public void select(JsonNode node, Location location, JsonNode root, List<Match> selected) {
+            if (!node.isArray() || step == 0) {
+                return;
+            }
+            long length = node.size();
+            if (step > 0) {
+                long lower = Math.min(Math.max(normalize(start, 0, length), 0), length);
+                long upper = Math.min(Math.max(normalize(end, length, length), 0), length);
+                for (long i = lower; i < upper; i += step) {
+                    selected.add(new Match(location == null ? null : location.child((int) i), node.get((int) i)));
+                }
+            } else {
+                long upper = Math.min(Math.max(normalize(start, length - 1, length), -1), length - 1);
+                long lower = Math.min(Math.max(normalize(end, -length - 1, length), -1), length - 1);
+                for (long i = upper; lower < i; i += step) {
+                    selected.add(new Match(location == null ? null : location.child((int) i), node.get((int) i)));
+                }
+            }
+        }
+
+        private static long normalize(Long bound, long defaultBound, long length) {
+            if (bound == null) {
+                return defaultBound;
+            }
+            return bound >= 0 ? bound : length + bound;
+        }
+
+        @Override
+        public boolean selectsElement(int index) {
+            if (step <= 0) {
+                return false;
+            }
+            long lower = start == null ? 0 : start;
+            return index >= lower && (end == null || index < end) && (index - lower) % step == 0;
+        }
+
+        @Override
+        public boolean needsLength() {
+            return step < 0 || start != null && start < 0 || end != null && end < 0;
+        }
+    }
+
+    /**
+     * Selects the members and elements for which a filter expression holds.
+     */
+    record FilterSelector(JsonPathFilter.Expression filter) implements Selector {
+
+        @Override
+        public void select(JsonNode node, Location location, JsonNode root, List<Match> selected) {
+            if (node.isObject()) {
+                for (Iterator<Map.Entry<String, JsonNode>> members = node.fields(); members.hasNext(); ) {
+                    Map.Entry<String, JsonNode> member = members.next();
+                    if (filter.test(member.getValue(), root)) {
+                        selected.add(new Match(location == null ? null : location.child(member.getKey()), member.getValue()));
+                    }
+                }
+            } else if (node.isArray()) {
+                for (int i = 0; i < node.size(); i++) {
+                    if (filter.test(node.get(i), root)) {
+                        selected.add(new Match(location == null ? null : location.child(i), node.get(i)));
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.vserdiuk.json.utility.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of compiled {@link JsonPath} queries, keyed by the query text.
+ * <p>
+ * Entries are evicted in least-recently-used order once the number of cached queries exceeds the configured
+ * limit. Queries are compiled outside the lock; if two threads miss on the same query at the same time both
+ * compile it and the last one to finish is kept. Invalid queries are not cached. Compiled queries are immutable
+ * and can be shared between request threads.
+ * </p>
+ */
+@Component
+@Slf4j
+public class JsonPathCache {
+
+    private final int maxEntries;
+    private final LinkedHashMap<String, JsonPath> queries = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache with the given limit.
+     *
+     * @param maxEntries the maximum number of compiled queries to keep
+     */
+    public JsonPathCache(@Value("${json.path-cache.max-entries:1024}") int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("JSONPath cache limit must be positive");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Returns the compiled query for the given query text, compiling and caching it on a miss.
+     *
+     * @param expression the JSONPath query
+     * @return the compiled query
+     * @throws IllegalArgumentException if the query is not valid
+     */
+    JsonPath getQuery(String expression) {
+        synchronized (queries) {
+            JsonPath cached = queries.get(expression);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+        JsonPath compiled = JsonPath.compile(expression);
+        synchronized (queries) {
+            queries.put(expression, compiled);
+            if (queries.size() > maxEntries) {
+                queries.remove(queries.keySet().iterator().next());
+                evictions.increment();
+            }
+        }
+        log.debug("Compiled and cached JSONPath query {}", expression);
+        return compiled;
+    }
+
+    /**
+     * Returns a snapshot of the cache metrics: hit, miss and eviction counters and the number of cached queries.
+     *
+     * @return the cache metrics by name
+     */
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("evictions", evictions.sum());
+        synchronized (queries) {
+            stats.put("size", (long) queries.size());
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,337 @@
+package com.vserdiuk.json.utility.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * The building blocks of compiled JSONPath filter expressions (RFC 9535): logical operators, comparisons,
+ * existence tests and the standard function extensions {@code length}, {@code count}, {@code match},
+ * {@code search} and {@code value}.
+ * <p>
+ * Expressions are composed once, when a query is compiled, into nested predicates that are evaluated against the
+ * current node and the root of the document. The absence of a value, which the specification calls
+ * <i>Nothing</i>, is represented by {@code null}, as distinct from a JSON {@code null}.
+ * </p>
+ */
+final class JsonPathFilter {
+
+    private JsonPathFilter() {
+    }
+
+    /**
+     * A logical expression, evaluated to {@code true} or {@code false} for the current node.
+     */
+    @FunctionalInterface
+    interface Expression {
+
+        /**
+         * Evaluates the expression.
+         *
+         * @param current the node the filter is applied to
+         * @param root    the document, or {@code null} if the query does not refer to it
+         * @return the result of the expression
+         */
+        boolean test(JsonNode current, JsonNode root);
+    }
+
+    /**
+     * A value expression: a literal, a singular query or a function returning a value.
+     */
+    @FunctionalInterface
+    interface Operand {
+
+        /**
+         * Evaluates the operand.
+         *
+         * @param current the node the filter is applied to
+         * @param root    the document, or {@code null} if the query does not refer to it
+         * @return the value, or {@code null} for Nothing
+         */
+        JsonNode evaluate(JsonNode current, JsonNode root);
+    }
+
+    /**
+     * Creates the conjunction of two expressions, evaluating the right one only if the left one holds.
+     */
+    static Expression and(Expression left, Expression right) {
+        return (current, root) -> left.test(current, root) && right.test(current, root);
+    }
+
+    /**
+     * Creates the disjunction of two expressions, evaluating the right one only if the left one does not hold.
+     */
+    static Expression or(Expression left, Expression right) {
+        return (current, root) -> left.test(current, root) || right.test(current, root);
+    }
+
+    /**
+     * Creates the negation of an expression.
+     */
+    static Expression not(Expression expression) {
+        return (current, root) -> !expression.test(current, root);
+    }
+
+    /**
+     * Creates a test that holds when a query selects at least one node.
+     *
+     * @param query    the query
+     * @param absolute whether the query starts from the root rather than the current node
+     * @return the test
+     */
+    static Expression exists(JsonPath query, boolean absolute) {
+        if (query.isSingular()) {
+            return (current, root) -> query.resolve(absolute ? root : current) != null;
+        }
+        return (current, root) -> !query.select(absolute ? root : current, root).isEmpty();
+    }
+
+    /**
+     * Creates an operand holding a literal value.
+     */
+    static Operand literal(JsonNode value) {
+        return (current, root) -> value;
+    }
+
+    /**
+     * Creates an operand holding the node selected by a singular query.
+     *
+     * @param query    the singular query
+     * @param absolute whether the query starts from the root rather than the current node
+     * @return the operand
+     */
+    static Operand singular(JsonPath query, boolean absolute) {
+        return (current, root) -> query.resolve(absolute ? root : current);
+    }
+
+    /**
+     * Creates a comparison of two operands.
+     *
+     * @param left     the left operand
+     * @param operator one of {@code ==}, {@code !=}, {@code <}, {@code <=}, {@code >} and {@code >=}
+     * @param right    the right operand
+     * @return the comparison
+     */
+    static Expression comparison(Operand left, String operator, Operand right) {
+        return switch (operator) {
+            case "==" -> (current, root) -> equal(left.evaluate(current, root), right.evaluate(current, root));
+            case "!=" -> (current, root) -> !equal(left.evaluate(current, root), right.evaluate(current, root));
+            case "<" -> (current, root) -> less(left.evaluate(current, root), right.evaluate(current, root));
+            case ">" -> (current, root) -> less(right.evaluate(current, root), left.evaluate(current, root));
+            case "<=" -> (current, root) -> {
+                JsonNode a = left.evaluate(current, root);
+                JsonNode b = right.evaluate(current, root);
+                return less(a, b) || equal(a, b);
+            };
+            case ">=" -> (current, root) -> {
+                JsonNode a = left.evaluate(current, root);
+                JsonNode b = right.evaluate(current, root);
+                return less(b, a) || equal(a, b);
+            };
+            default -> throw new IllegalArgumentException("Unknown comparison operator " + operator);
+        };
+    }
+
+    /**
+     * The {@code length} function: the number of characters of a string, or of elements or members of an array
+     * or object; Nothing for any other value.
+     */
+    static Operand length(Operand argument) {
+        return (current, root) -> {
+            JsonNode value = argument.evaluate(current, root);
+            if (value == null) {
+                return null;
+            }
+            if (value.isTextual()) {
+                String text = value.textValue();
+                return IntNode.valueOf(text.codePointCount(0, text.length()));
+            }
+            return value.isContainerNode() ? IntNode.valueOf(value.size()) : null;
+        };
+    }
+
+    /**
+     * The {@code count} function: the number of nodes a query selects.
+     */
+    static Operand count(JsonPath query, boolean absolute) {
+        return (current, root) -> IntNode.valueOf(query.select(absolute ? root : current, root).size());
+    }
+
+    /**
+     * The {@code value} function: the node a query selects if it selects exactly one; Nothing otherwise.
+     */
+    static Operand value(JsonPath query, boolean absolute) {
+        if (query.isSingular()) {
+            return singular(query, absolute);
+        }
+        return (current, root) -> {
+            List<JsonPath.Match> nodes = query.select(absolute ? root : current, root);
+            return nodes.size() == 1 ? nodes.get(0).value() : null;
+        };
+    }
+
+    /**
+     * The {@code match} and {@code search} functions: whether a string matches a regular expression, entirely or
+     * anywhere within it. A pattern given as a literal is compiled once, with the expression.
+     *
+     * @param value          the string to test
+     * @param pattern        the I-Regexp (RFC 9485) pattern
+     * @param literalPattern the pattern if it is given as a literal, or {@code null}
+     * @param entire         {@code true} for {@code match}, {@code false} for {@code search}
+     * @return the test; false when either argument is not a string or the pattern is not valid
+     */
+    static Expression match(Operand value, Operand pattern, JsonNode literalPattern, boolean entire) {
+        if (literalPattern != null) {
+            Pattern compiled = literalPattern.isTextual() ? compileRegex(literalPattern.textValue()) : null;
+            return (current, root) -> compiled != null && matches(compiled, value.evaluate(current, root), entire);
+        }
+        return (current, root) -> {
+            JsonNode patternValue = pattern.evaluate(current, root);
+            Pattern compiled = patternValue != null && patternValue.isTextual() ? compileRegex(patternValue.textValue()) : null;
+            return compiled != null && matches(compiled, value.evaluate(current, root), entire);
+        };
+    }
+
+    private static boolean matches(Pattern pattern, JsonNode value, boolean entire) {
+        if (value == null || !value.isTextual()) {
+            return false;
+        }
+        Matcher matcher = pattern.matcher(value.textValue());
+        return entire ? matcher.matches() : matcher.find();
+    }
+
+    /**
+     * Compiles an I-Regexp pattern. Its {@code .} matches any character but line feed and carriage return, where
+     * Java's also excludes other line terminators, so it is rewritten outside character classes.
+     *
+     * @param regex the pattern
+     * @return the compiled pattern, or {@code null} if it is not valid
+     */
+    static Pattern compileRegex(String regex) {
+        StringBuilder translated = new StringBuilder(regex.length() + 8);
+        boolean inClass = false;
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\' && i + 1 < regex.length()) {
+                translated.append(c).append(regex.charAt(++i));
+            } else if (c == '.' && !inClass) {
+                translated.append("[^\\n\\r]");
+            } else {
+                inClass = c == '[' || c != ']' && inClass;
+                translated.append(c);
+            }
+        }
+        try {
+            return Pattern.compile(translated.toString());
+        } catch (PatternSyntaxException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether two values are equal: numbers by value, strings by content, arrays element by element and
+     * objects member by member, in any order. Nothing only equals Nothing.
+     */
+    static boolean equal(JsonNode a, JsonNode b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        if (a.isNumber() && b.isNumber()) {
+            return compareNumbers(a, b) == 0;
+        }
+        if (a.getNodeType() != b.getNodeType()) {
+            return false;
+        }
+        switch (a.getNodeType()) {
+            case STRING:
+                return a.textValue().equals(b.textValue());
+            case BOOLEAN:
+                return a.booleanValue() == b.booleanValue();
+            case NULL:
+                return true;
+            case ARRAY:
+                if (a.size() != b.size()) {
+                    return false;
+                }
+                for (int i = 0; i < a.size(); i++) {
+                    if (!equal(a.get(i), b.get(i))) {
+                        return false;
+                    }
+                }
+                return true;
+            case OBJECT:
+                if (a.size() != b.size()) {
+                    return false;
+                }
+                for (Iterator<Map.Entry<String, JsonNode>> members = a.fields(); members.hasNext(); ) {
+                    Map.Entry<String, JsonNode> member = members.next();
+                    JsonNode other = b.get(member.getKey());
+                    if (other == null || !equal(member.getValue(), other)) {
+                        return false;
+                    }
+                }
+                return true;
+            default:
+                return a.equals(b);
+        }
+    }
+
+    /**
+     * Checks whether a value is less than another: numbers by value and strings by code point; false for any other
+     * pair of values.
+     */
+    static boolean less(JsonNode a, JsonNode b) {
+        if (a == null || b == null) {
+            return false;
+        }
+        if (a.isNumber() && b.isNumber()) {
+            return compareNumbers(a, b) < 0;
+        }
+        if (a.isTextual() && b.isTextual()) {
+            return compareCodePoints(a.textValue(), b.textValue()) < 0;
+        }
+        return false;
+    }
+
+    private static int compareNumbers(JsonNode a, JsonNode b) {
+        if (a.isIntegralNumber() && b.isIntegralNumber() && a.canConvertToLong() && b.canConvertToLong()) {
+            return Long.compare(a.longValue(), b.longValue());
+        }
+        if (a.isBigDecimal() || a.isBigInteger() || b.isBigDecimal() || b.isBigInteger()) {
+            return a.decimalValue().compareTo(b.decimalValue());
+        }
+        double x = a.doubleValue();
+        double y = b.doubleValue();
+        // Not Double.compare, which orders -0 before 0
+        return x < y ? -1 : x > y ? 1 : 0;
+    }
+
+    /**
+     * Compares strings by Unicode code point. UTF-16 order only differs from it where a surrogate is compared
+     * with a character at or above U+E000, so such characters are remapped rather than decoded.
+     */
+    private static int compareCodePoints(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        for (int i = 0; i < length; i++) {
+            char x = a.charAt(i);
+            char y = b.charAt(i);
+            if (x != y) {
+                return Integer.compare(codePointOrder(x), codePointOrder(y));
+            }
+        }
+        return Integer.compare(a.length(), b.length());
+    }
+
+    private static int codePointOrder(char c) {
+        if (c < 0xD800) {
+            return c;
+        }
+        return c >= 0xE000 ? c - 0x800 : c + 0x2000;
+    }
+}
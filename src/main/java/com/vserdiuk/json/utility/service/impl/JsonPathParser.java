@@ -0,0 +1,583 @@
+package com.vserdiuk.json.utility.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.BooleanNode;
+import com.fasterxml.jackson.databind.node.DecimalNode;
+import com.fasterxml.jackson.databind.node.DoubleNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.vserdiuk.json.utility.service.impl.JsonPath.FilterSelector;
+import com.vserdiuk.json.utility.service.impl.JsonPath.IndexSelector;
+import com.vserdiuk.json.utility.service.impl.JsonPath.NameSelector;
+import com.vserdiuk.json.utility.service.impl.JsonPath.Segment;
+import com.vserdiuk.json.utility.service.impl.JsonPath.Selector;
+import com.vserdiuk.json.utility.service.impl.JsonPath.SliceSelector;
+import com.vserdiuk.json.utility.service.impl.JsonPath.WildcardSelector;
+import com.vserdiuk.json.utility.service.impl.JsonPathFilter.Expression;
+import com.vserdiuk.json.utility.service.impl.JsonPathFilter.Operand;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiles JSONPath queries (RFC 9535) into {@link JsonPath} plans.
+ * <p>
+ * A recursive descent parser following the grammar of the specification, including its well-typedness rules
+ * for function extensions: comparisons only take literals, singular queries and functions returning a value,
+ * and a function's arguments must match its parameter types. Any violation is reported as an
+ * {@link IllegalArgumentException} naming the position in the query. A parser instance compiles one query.
+ * </p>
+ */
+final class JsonPathParser {
+
+    /**
+     * The largest magnitude of an index or slice bound, the largest integer exactly representable in I-JSON.
+     */
+    private static final long MAX_INDEX = (1L << 53) - 1;
+
+    private final String query;
+    private int position;
+    private boolean usesRoot;
+
+    JsonPathParser(String query) {
+        this.query = query;
+    }
+
+    /**
+     * Compiles the query.
+     *
+     * @return the compiled query
+     * @throws IllegalArgumentException if the query is not valid
+     */
+    JsonPath parse() {
+        if (query == null || query.isEmpty()) {
+            throw new IllegalArgumentException("Invalid JSONPath: the query is empty");
+        }
+        if (peek() != '$') {
+            throw error("expected '$'");
+        }
+        position++;
+        Segment[] segments = segments();
+        if (position < query.length()) {
+            throw error("unexpected '" + query.charAt(position) + "'");
+        }
+        return new JsonPath(query, segments, !usesRoot);
+    }
+
+    private Segment[] segments() {
+        List<Segment> segments = new ArrayList<>();
+        while (true) {
+            int start = position;
+            skipWhitespace();
+            if (startsWith("..")) {
+                position += 2;
+                segments.add(new Segment(peek() == '[' ? bracketedSelection() : new Selector[]{dotSelector()}, true));
+            } else if (peek() == '.') {
+                position++;
+                segments.add(new Segment(new Selector[]{dotSelector()}, false));
+            } else if (peek() == '[') {
+                segments.add(new Segment(bracketedSelection(), false));
+            } else {
+                position = start;
+                return segments.toArray(new Segment[0]);
+            }
+        }
+    }
+
+    /**
+     * Parses the wildcard or member name that follows a dot.
+     */
+    private Selector dotSelector() {
+        if (peek() == '*') {
+            position++;
+            return new WildcardSelector();
+        }
+        int start = position;
+        if (!isNameFirst(peek())) {
+            throw error("expected a member name or '*'");
+        }
+        while (isNameFirst(peek()) || isDigit(peek())) {
+            position++;
+        }
+        return new NameSelector(query.substring(start, position));
+    }
+
+    private Selector[] bracketedSelection() {
+        expect('[');
+        List<Selector> selectors = new ArrayList<>();
+        do {
+            skipWhitespace();
+            selectors.add(selector());
+            skipWhitespace();
+        } while (consume(','));
+        expect(']');
+        return selectors.toArray(new Selector[0]);
+    }
+
+    private Selector selector() {
+        char c = peek();
+        if (c == '\'' || c == '"') {
+            return new NameSelector(stringLiteral());
+        }
+        if (c == '*') {
+            position++;
+            return new WildcardSelector();
+        }
+        if (c == '?') {
+            position++;
+            skipWhitespace();
+            return new FilterSelector(logicalOr());
+        }
+        Long start = peek() == '-' || isDigit(peek()) ? index() : null;
+        skipWhitespace();
+        if (!consume(':')) {
+            if (start == null) {
+                throw error("expected a selector");
+            }
+            return new IndexSelector(start);
+        }
+        skipWhitespace();
+        Long end = peek() == '-' || isDigit(peek()) ? index() : null;
+        skipWhitespace();
+        long step = 1;
+        if (consume(':')) {
+            skipWhitespace();
+            if (peek() == '-' || isDigit(peek())) {
+                step = index();
+            }
+        }
+        return new SliceSelector(start, end, step);
+    }
+
+    /**
+     * Parses an integer as used by index and slice selectors: no leading zeros, no {@code -0}, and within the
+     * range of integers exactly representable in I-JSON.
+     */
+    private long index() {
+        int start = position;
+        consume('-');
+        if (!isDigit(peek()) || peek() == '0' && (position > start || isDigit(peek(1)))) {
+            position = start;
+            throw error("invalid integer");
+        }
+        while (isDigit(peek())) {
+            position++;
+        }
+        String digits = query.substring(start, position);
+        if (digits.length() > 17 || Math.abs(Long.parseLong(digits)) > MAX_INDEX) {
+            position = start;
+            throw error("integer out of range");
+        }
+        return Long.parseLong(digits);
+    }
+
+    private Expression logicalOr() {
+        Expression expression = logicalAnd();
+        while (true) {
+            int start = position;
+            skipWhitespace();
+            if (!startsWith("||")) {
+                position = start;
+                return expression;
+            }
+            position += 2;
+            skipWhitespace();
+            expression = JsonPathFilter.or(expression, logicalAnd());
+        }
+    }
+
+    private Expression logicalAnd() {
+        Expression expression = basicExpression();
+        while (true) {
+            int start = position;
+            skipWhitespace();
+            if (!startsWith("&&")) {
+                position = start;
+                return expression;
+            }
+            position += 2;
+            skipWhitespace();
+            expression = JsonPathFilter.and(expression, basicExpression());
+        }
+    }
+
+    /**
+     * Parses a comparison, or a parenthesized expression or a test, either of which may be negated.
+     */
+    private Expression basicExpression() {
+        if (consume('!')) {
+            skipWhitespace();
+            if (peek() == '(') {
+                return JsonPathFilter.not(parenthesized());
+            }
+            int start = position;
+            Object operand = operand();
+            return JsonPathFilter.not(test(operand, start));
+        }
+        if (peek() == '(') {
+            return parenthesized();
+        }
+        int start = position;
+        Object left = operand();
+        int afterLeft = position;
+        skipWhitespace();
+        String operator = comparisonOperator();
+        if (operator == null) {
+            position = afterLeft;
+            return test(left, start);
+        }
+        Operand leftOperand = comparable(left, start);
+        skipWhitespace();
+        int rightStart = position;
+        Operand rightOperand = comparable(operand(), rightStart);
+        return JsonPathFilter.comparison(leftOperand, operator, rightOperand);
+    }
+
+    private Expression parenthesized() {
+        expect('(');
+        skipWhitespace();
+        Expression expression = logicalOr();
+        skipWhitespace();
+        expect(')');
+        return expression;
+    }
+
+    /**
+     * Parses a literal, a query or a function call, returned as a {@link JsonNode}, a {@link Query} or a
+     * {@link Call}, to be checked against the context it is used in.
+     */
+    private Object operand() {
+        char c = peek();
+        if (c == '@' || c == '$') {
+            return filterQuery();
+        }
+        if (c == '\'' || c == '"') {
+            return TextNode.valueOf(stringLiteral());
+        }
+        if (c == '-' || isDigit(c)) {
+            return numberLiteral();
+        }
+        for (String keyword : new String[]{"true", "false", "null"}) {
+            if (startsWith(keyword) && !isFunctionNameChar(peek(keyword.length()))) {
+                position += keyword.length();
+                return keyword.equals("null") ? NullNode.getInstance() : BooleanNode.valueOf(keyword.equals("true"));
+            }
+        }
+        if (c >= 'a' && c <= 'z') {
+            return functionCall();
+        }
+        throw error("expected a literal, a query or a function");
+    }
+
+    /**
+     * Checks an operand used on its own as a test: an existence test for a query, or a function returning a
+     * logical value.
+     */
+    private Expression test(Object operand, int start) {
+        if (operand instanceof Query filterQuery) {
+            return JsonPathFilter.exists(filterQuery.path(), filterQuery.absolute());
+        }
+        if (operand instanceof Call call && call.logical() != null) {
+            return call.logical();
+        }
+        position = start;
+        throw error(operand instanceof Call ? "the result of this function must be compared" : "a literal must be compared");
+    }
+
+    /**
+     * Checks an operand used in a comparison: a literal, a singular query, or a function returning a value.
+     */
+    private Operand comparable(Object operand, int start) {
+        if (operand instanceof JsonNode literal) {
+            return JsonPathFilter.literal(literal);
+        }
+        if (operand instanceof Query filterQuery) {
+            if (!filterQuery.path().isSingular()) {
+                position = start;
+                throw error("a query that can select several nodes cannot be used as a value");
+            }
+            return JsonPathFilter.singular(filterQuery.path(), filterQuery.absolute());
+        }
+        Call call = (Call) operand;
+        if (call.value() == null) {
+            position = start;
+            throw error("the result of this function cannot be compared");
+        }
+        return call.value();
+    }
+
+    private Query filterQuery() {
+        int start = position;
+        boolean absolute = query.charAt(position++) == '$';
+        usesRoot |= absolute;
+        Segment[] segments = segments();
+        return new Query(new JsonPath(query.substring(start, position), segments, true), absolute);
+    }
+
+    /**
+     * Parses a function call, checking its arguments against the signature of the function.
+     */
+    private Call functionCall() {
+        int start = position;
+        while (isFunctionNameChar(peek())) {
+            position++;
+        }
+        String name = query.substring(start, position);
+        if (!consume('(')) {
+            position = start;
+            throw error("expected a literal, a query or a function");
+        }
+        List<Object> arguments = new ArrayList<>();
+        List<Integer> starts = new ArrayList<>();
+        skipWhitespace();
+        if (peek() != ')') {
+            do {
+                skipWhitespace();
+                starts.add(position);
+                arguments.add(operand());
+                skipWhitespace();
+            } while (consume(','));
+        }
+        expect(')');
+
+        int arity = name.equals("match") || name.equals("search") ? 2 : 1;
+        if (!List.of("length", "count", "match", "search", "value").contains(name)) {
+            position = start;
+            throw error("unknown function " + name + "()");
+        }
+        if (arguments.size() != arity) {
+            position = start;
+            throw error(name + "() takes " + arity + (arity == 1 ? " argument" : " arguments"));
+        }
+        return switch (name) {
+            case "length" -> new Call(JsonPathFilter.length(comparable(arguments.get(0), starts.get(0))), null);
+            case "count" -> new Call(JsonPathFilter.count(nodes(arguments.get(0), starts.get(0)), isAbsolute(arguments.get(0))), null);
+            case "value" -> new Call(JsonPathFilter.value(nodes(arguments.get(0), starts.get(0)), isAbsolute(arguments.get(0))), null);
+            default -> new Call(null, JsonPathFilter.match(
+                    comparable(arguments.get(0), starts.get(0)),
+                    comparable(arguments.get(1), starts.get(1)),
+                    arguments.get(1) instanceof JsonNode literal ? literal : null,
+                    name.equals("match")));
+        };
+    }
+
+    /**
+     * Checks an argument passed where a nodelist is expected, which must be a query.
+     */
+    private JsonPath nodes(Object argument, int start) {
+        if (!(argument instanceof Query filterQuery)) {
+            position = start;
+            throw error("expected a query");
+        }
+        return filterQuery.path();
+    }
+
+    private static boolean isAbsolute(Object argument) {
+        return ((Query) argument).absolute();
+    }
+
+    private String comparisonOperator() {
+        for (String operator : new String[]{"==", "!=", "<=", ">=", "<", ">"}) {
+            if (startsWith(operator)) {
+                position += operator.length();
+                return operator;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses a string literal in single or double quotes, with the escapes of JSON strings plus an escaped single
+     * quote inside single quotes.
+     */
+    private String stringLiteral() {
+        char quote = query.charAt(position++);
+        StringBuilder value = new StringBuilder();
+        while (true) {
+            if (position >= query.length()) {
+                throw error("unterminated string");
+            }
+            char c = query.charAt(position++);
+            if (c == quote) {
+                return value.toString();
+            }
+            if (c < 0x20) {
+                position--;
+                throw error("control character in string");
+            }
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+            char escaped = position < query.length() ? query.charAt(position++) : 0;
+            switch (escaped) {
+                case 'b' -> value.append('\b');
+                case 'f' -> value.append('\f');
+                case 'n' -> value.append('\n');
+                case 'r' -> value.append('\r');
+                case 't' -> value.append('\t');
+                case '/' -> value.append('/');
+                case '\\' -> value.append('\\');
+                case 'u' -> value.append(unicodeEscape());
+                default -> {
+                    if (escaped != quote) {
+                        position--;
+                        throw error("invalid escape in string");
+                    }
+                    value.append(quote);
+                }
+            }
+        }
+    }
+
+    /**
+     * Parses the hex digits of a {@code \}{@code u} escape, together with the low surrogate that must follow a high one.
+     */
+    private String unicodeEscape() {
+        char c = hexChar();
+        if (Character.isLowSurrogate(c)) {
+            throw error("unpaired surrogate in string");
+        }
+        if (!Character.isHighSurrogate(c)) {
+            return String.valueOf(c);
+        }
+        if (!startsWith("\\u")) {
+            throw error("unpaired surrogate in string");
+        }
+        position += 2;
+        char low = hexChar();
+        if (!Character.isLowSurrogate(low)) {
+            throw error("unpaired surrogate in string");
+        }
+        return new String(new char[]{c, low});
+    }
+
+    private char hexChar() {
+        if (position + 4 > query.length()) {
+            throw error("invalid unicode escape");
+        }
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            int digit = Character.digit(query.charAt(position++), 16);
+            if (digit < 0) {
+                throw error("invalid unicode escape");
+            }
+            value = value << 4 | digit;
+        }
+        return (char) value;
+    }
+
+    /**
+     * Parses a number literal: an integer, or {@code -0}, with an optional fraction and exponent.
+     */
+    private JsonNode numberLiteral() {
+        int start = position;
+        consume('-');
+        if (peek() == '0') {
+            position++;
+        } else if (isDigit(peek())) {
+            while (isDigit(peek())) {
+                position++;
+            }
+        } else {
+            throw error("invalid number");
+        }
+        boolean integer = true;
+        if (peek() == '.') {
+            position++;
+            integer = false;
+            digits();
+        }
+        if (peek() == 'e' || peek() == 'E') {
+            position++;
+            integer = false;
+            if (peek() == '-' || peek() == '+') {
+                position++;
+            }
+            digits();
+        }
+        if (isDigit(peek())) {
+            throw error("invalid number");
+        }
+        String text = query.substring(start, position);
+        if (integer) {
+            BigInteger value = new BigInteger(text);
+            return value.bitLength() < 64 ? JsonNodeFactory.instance.numberNode(value.longValue())
+                    : JsonNodeFactory.instance.numberNode(value);
+        }
+        double value = Double.parseDouble(text);
+        return Double.isInfinite(value) ? DecimalNode.valueOf(new BigDecimal(text)) : DoubleNode.valueOf(value);
+    }
+
+    private void digits() {
+        if (!isDigit(peek())) {
+            throw error("invalid number");
+        }
+        while (isDigit(peek())) {
+            position++;
+        }
+    }
+
+    private void skipWhitespace() {
+        while (peek() == ' ' || peek() == '\t' || peek() == '\n' || peek() == '\r') {
+            position++;
+        }
+    }
+
+    private char peek() {
+        return peek(0);
+    }
+
+    private char peek(int offset) {
+        return position + offset < query.length() ? query.charAt(position + offset) : 0;
+    }
+
+    private boolean startsWith(String prefix) {
+        return query.startsWith(prefix, position);
+    }
+
+    private boolean consume(char c) {
+        if (peek() == c) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c) {
+        if (!consume(c)) {
+            throw error("expected '" + c + "'");
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isNameFirst(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c == '_' || c >= 0x80;
+    }
+
+    private static boolean isFunctionNameChar(char c) {
+        return c >= 'a' && c <= 'z' || c == '_' || isDigit(c);
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Invalid JSONPath: " + message + " at position " + position + " of '" + query + "'");
+    }
+
+    /**
+     * A query inside a filter, relative to the current node or, if absolute, to the root.
+     */
+    private record Query(JsonPath path, boolean absolute) {
+    }
+
+    /**
+     * A parsed function call: exactly one of its results is set, depending on the function's result type.
+     */
+    private record Call(Operand value, Expression logical) {
+    }
+}
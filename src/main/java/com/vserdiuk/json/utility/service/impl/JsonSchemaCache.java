@@ -0,0 +1,154 @@
+package com.vserdiuk.json.utility.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.SpecVersion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of compiled {@link JsonSchema} instances, keyed by a SHA-256 hash of the schema text
+ * together with the specification version.
+ * <p>
+ * Entries are evicted in least-recently-used order once either the number of cached schemas or the total
+ * size of their source text exceeds the configured limit. Schemas are parsed and compiled outside the lock,
+ * so a slow compilation never blocks lookups of other schemas; if two threads miss on the same schema at
+ * the same time both compile it and the last one to finish is kept. Compiled schemas are fully initialised
+ * before they are published and can be shared between request threads.
+ * </p>
+ */
+@Component
+@Slf4j
+public class JsonSchemaCache {
+
+    private final ObjectMapper objectMapper;
+    private final int maxEntries;
+    private final long maxWeight;
+    private final LinkedHashMap<String, CachedSchema> schemas = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private long weight;
+
+    /**
+     * Creates a cache with the given limits.
+     *
+     * @param objectMapper the mapper used to parse schema text
+     * @param maxEntries   the maximum number of compiled schemas to keep
+     * @param maxWeight    the maximum total size, in UTF-8 bytes, of the source text of the cached schemas
+     */
+    public JsonSchemaCache(ObjectMapper objectMapper,
+                           @Value("${json.schema-cache.max-entries:256}") int maxEntries,
+                           @Value("${json.schema-cache.max-weight:16777216}") long maxWeight) {
+        if (maxEntries < 1 || maxWeight < 1) {
+            throw new IllegalArgumentException("Schema cache limits must be positive");
+        }
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Returns the compiled schema for the given schema text, compiling and caching it on a miss.
+     *
+     * @param schema  the JSON Schema text
+     * @param version the specification version to compile the schema with
+     * @return the compiled schema
+     * @throws IOException if the schema text is not valid JSON
+     */
+    public JsonSchema getSchema(String schema, SpecVersion.VersionFlag version) throws IOException {
+        byte[] schemaBytes = schema.getBytes(StandardCharsets.UTF_8);
+        String key = version.name() + ':' + sha256(schemaBytes);
+        synchronized (schemas) {
+            CachedSchema cached = schemas.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached.schema();
+            }
+        }
+        misses.increment();
+        JsonSchema compiled = compile(objectMapper.readTree(schemaBytes), version);
+        put(key, new CachedSchema(compiled, schemaBytes.length));
+        log.debug("Compiled and cached JSON schema {}", key);
+        return compiled;
+    }
+
+    /**
+     * Compiles a parsed schema and eagerly initialises its validators, so that the instance is complete
+     * before it is shared with other threads.
+     *
+     * @param schemaNode the parsed schema
+     * @param version    the specification version to compile the schema with
+     * @return the compiled schema
+     */
+    static JsonSchema compile(JsonNode schemaNode, SpecVersion.VersionFlag version) {
+        JsonSchema jsonSchema = JsonSchemaFactory.getInstance(version).getSchema(schemaNode);
+        jsonSchema.initializeValidators();
+        return jsonSchema;
+    }
+
+    /**
+     * Returns a snapshot of the cache metrics: hit, miss and eviction counters, the number of cached
+     * schemas and their total weight in bytes.
+     *
+     * @return the cache metrics by name
+     */
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("evictions", evictions.sum());
+        synchronized (schemas) {
+            stats.put("size", (long) schemas.size());
+            stats.put("weight", weight);
+        }
+        return stats;
+    }
+
+    private void put(String key, CachedSchema cachedSchema) {
+        synchronized (schemas) {
+            CachedSchema previous = schemas.put(key, cachedSchema);
+            if (previous != null) {
+                weight -= previous.weight();
+            }
+            weight += cachedSchema.weight();
+            Iterator<CachedSchema> eldest = schemas.values().iterator();
+            // Always keep the schema just added, even if it alone exceeds the weight limit
+            while (schemas.size() > 1 && (schemas.size() > maxEntries || weight > maxWeight)) {
+                weight -= eldest.next().weight();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Computes the hex-encoded SHA-256 hash used to identify schema text.
+     *
+     * @param bytes the bytes to hash
+     * @return the lower-case hex digest
+     */
+    static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    private record CachedSchema(JsonSchema schema, long weight) {
+    }
+}
@@ -0,0 +1,118 @@
+package com.vserdiuk.json.utility.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.SpecVersion;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of named, precompiled JSON schemas.
+ * <p>
+ * A registered schema is identified by the SHA-256 hash of its text, so registering the same schema twice
+ * returns the same ID. Schemas are persisted as {@code <id>.json} files in the configured directory and are
+ * loaded and compiled when the application starts, so the first validation against a registered schema does
+ * not pay the compilation cost.
+ * </p>
+ */
+@Component
+@Slf4j
+public class JsonSchemaRegistry {
+
+    private static final String SCHEMA_FILE_SUFFIX = ".json";
+    private static final SpecVersion.VersionFlag SPEC_VERSION = SpecVersion.VersionFlag.V4;
+
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final Map<String, JsonSchema> schemas = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a registry that persists schemas in the given directory.
+     *
+     * @param objectMapper the mapper used to parse schema text
+     * @param directory    the directory registered schemas are stored in; created on first registration
+     */
+    public JsonSchemaRegistry(ObjectMapper objectMapper,
+                              @Value("${json.schema-registry.directory:schemas}") String directory) {
+        this.objectMapper = objectMapper;
+        this.directory = Path.of(directory);
+    }
+
+    /**
+     * Loads and compiles every schema stored in the registry directory. Files that cannot be read or
+     * compiled are logged and skipped.
+     *
+     * @throws IOException if the directory cannot be listed
+     */
+    @PostConstruct
+    public void loadSchemas() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            log.debug("Schema registry directory {} does not exist yet.", directory);
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SCHEMA_FILE_SUFFIX)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                String id = fileName.substring(0, fileName.length() - SCHEMA_FILE_SUFFIX.length());
+                try {
+                    schemas.put(id, JsonSchemaCache.compile(objectMapper.readTree(Files.readAllBytes(file)), SPEC_VERSION));
+                } catch (Exception e) {
+                    log.warn("Failed to load registered schema {}: {}", file, e.getMessage());
+                }
+            }
+        }
+        log.info("Loaded {} registered JSON schemas from {}.", schemas.size(), directory);
+    }
+
+    /**
+     * Compiles, persists and registers the given schema.
+     *
+     * @param schema the UTF-8 encoded schema text
+     * @return the ID of the registered schema
+     * @throws IOException if the schema is not valid JSON or cannot be persisted
+     */
+    public String register(byte[] schema) throws IOException {
+        String id = JsonSchemaCache.sha256(schema);
+        if (schemas.containsKey(id)) {
+            return id;
+        }
+        JsonSchema jsonSchema = JsonSchemaCache.compile(objectMapper.readTree(schema), SPEC_VERSION);
+        Files.createDirectories(directory);
+        Path tempFile = Files.createTempFile(directory, id, ".tmp");
+        try {
+            Files.write(tempFile, schema);
+            Files.move(tempFile, directory.resolve(id + SCHEMA_FILE_SUFFIX),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        schemas.put(id, jsonSchema);
+        log.debug("Registered JSON schema {}.", id);
+        return id;
+    }
+
+    /**
+     * Returns the compiled schema registered under the given ID.
+     *
+     * @param id the schema ID
+     * @return the compiled schema
+     * @throws IllegalArgumentException if no schema is registered under the ID
+     */
+    public JsonSchema getSchema(String id) {
+        JsonSchema jsonSchema = schemas.get(id);
+        if (jsonSchema == null) {
+            throw new IllegalArgumentException("Unknown schema ID: " + id);
+        }
+        return jsonSchema;
+    }
+}
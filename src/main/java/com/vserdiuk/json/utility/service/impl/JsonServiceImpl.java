@@ -1,14 +1,23 @@
 package com.vserdiuk.json.utility.service.impl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
 import com.networknt.schema.JsonSchema;
-import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.OutputFormat;
 import com.networknt.schema.SpecVersion;
 import com.networknt.schema.ValidationMessage;
 import com.vserdiuk.json.utility.service.JsonService;
@@ -23,6 +32,10 @@ import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.stereotype.Service;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 
 /**
@@ -34,16 +47,27 @@ import java.util.*;
 public class JsonServiceImpl implements JsonService {
 
     private final ObjectMapper objectMapper;
+    private final JsonSchemaCache schemaCache;
+    private final JsonSchemaRegistry schemaRegistry;
+    private final JsonParallelParser parallelParser;
+    private final JsonExternalSorter externalSorter;
+    private final JsonPathCache pathCache;
+    private final JsonFindFilter findFilter;
     private final ObjectWriter prettyPrinter = new ObjectMapper().writerWithDefaultPrettyPrinter();
 
     @Override
     public boolean validateJson(String json) {
-        if (json == null || json.trim().isEmpty()) {
+        return validateJson(toUtf8Bytes(json));
+    }
+
+    @Override
+    public boolean validateJson(byte[] json) {
+        if (isBlank(json)) {
             log.warn("Empty or null JSON provided.");
             return false;
         }
-        try {
-            objectMapper.readTree(json);
+        try (JsonParser parser = objectMapper.createParser(json)) {
+            skipRootValue(parser);
             log.debug("Valid JSON provided.");
             return true;
         } catch (Exception e) {
@@ -54,7 +78,12 @@ public class JsonServiceImpl implements JsonService {
 
     @Override
     public String prettyPrintJson(String json) {
-        if (json == null || json.trim().isEmpty()) {
+        return prettyPrintJson(toUtf8Bytes(json));
+    }
+
+    @Override
+    public String prettyPrintJson(byte[] json) {
+        if (isBlank(json)) {
             log.warn("Empty or null JSON provided for pretty print.");
             throw new IllegalArgumentException("Invalid JSON: input is empty or null");
         }
@@ -69,6 +98,12 @@ public class JsonServiceImpl implements JsonService {
         }
     }
 
+    @Override
+    public void prettyPrintJson(InputStream json, OutputStream out) {
+        copyJsonStream(json, out, true);
+        log.debug("Pretty-printed JSON stream successfully.");
+    }
+
     @Override
 //    public String mergeJson(String json1, String json2) {
 //        try {
@@ -86,114 +121,283 @@ public class JsonServiceImpl implements JsonService {
 
     public String mergeJson(List<String> jsons) {
         try {
-            ArrayNode arrayNode = objectMapper.createArrayNode();
-            JsonNode firstTree = null;
-            for (String json : jsons) {
-                JsonNode tree = objectMapper.readTree(json);
-                if (firstTree == null) {
-                    firstTree = tree;
-                } else if (!haveSameStructure(firstTree, tree)) {
-                    throw new IllegalArgumentException("JSONs have different structures.");
-                }
-                arrayNode.add(tree);
+            StringWriter mergedJson = new StringWriter();
+            JsonShape shape = new JsonShape();
+            try (JsonGenerator generator = objectMapper.createGenerator(mergedJson)) {
+                generator.writeStartArray();
+                parallelParser.parseEach(jsons, tree -> {
+                    shape.check(tree);
+                    objectMapper.writeTree(generator, tree);
+                });
+                generator.writeEndArray();
             }
-            String mergedJson = objectMapper.writeValueAsString(arrayNode);
             log.debug("Merged JSONs successfully into an array.");
-            return mergedJson;
+            return mergedJson.toString();
         } catch (Exception e) {
             log.warn("Failed to merge JSONs: {}", e.getMessage());
             throw new IllegalArgumentException("Invalid JSON or merge error: " + e.getMessage(), e);
         }
     }
 
-    private boolean haveSameStructure(JsonNode node1, JsonNode node2) {
-        // Handle null or missing nodes
-        if (node1 == null || node2 == null) {
-            return node1 == node2;
+    @Override
+    public String deepMergeJson(List<String> jsons) {
+        try {
+            JsonNode[] merged = {null};
+            parallelParser.parseEach(jsons,
+                    patch -> merged[0] = merged[0] == null ? patch : mergeJsonNodes(merged[0], patch));
+            String mergedJson = objectMapper.writeValueAsString(merged[0]);
+            log.debug("Deep-merged {} JSONs successfully.", jsons.size());
+            return mergedJson;
+        } catch (Exception e) {
+            log.warn("Failed to deep-merge JSONs: {}", e.getMessage());
+            throw new IllegalArgumentException("Invalid JSON or merge error: " + e.getMessage(), e);
         }
+    }
 
-        // Check if both nodes are of the same type
-        if (node1.getNodeType() != node2.getNodeType()) {
-            return false;
+    @Override
+    public void mergeJson(InputStream json, OutputStream out, boolean ndjson) {
+        if (json == null) {
+            log.warn("Null JSON stream provided for merge.");
+            throw new IllegalArgumentException("Invalid JSON: input is empty or null");
         }
-
-        // Handle objects
-        if (node1.isObject() && node2.isObject()) {
-            ObjectNode obj1 = (ObjectNode) node1;
-            ObjectNode obj2 = (ObjectNode) node2;
-
-            // Check if they have the same field names
-            Set<String> fields1 = new HashSet<>();
-            Set<String> fields2 = new HashSet<>();
-            obj1.fieldNames().forEachRemaining(fields1::add);
-            obj2.fieldNames().forEachRemaining(fields2::add);
-
-            if (!fields1.equals(fields2)) {
-                return false;
+        try (JsonParser parser = objectMapper.createParser(json);
+             JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            // NDJSON is a sequence of root-level values; otherwise the documents are the elements of a root array
+            JsonToken end = null;
+            if (!ndjson) {
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    throw new IllegalArgumentException("Invalid JSON: expected an array of documents to merge");
+                }
+                end = JsonToken.END_ARRAY;
             }
+            JsonShape shape = new JsonShape();
+            generator.writeStartArray();
+            while (parser.nextToken() != end) {
+                JsonNode tree = objectMapper.readTree(parser);
+                shape.check(tree);
+                objectMapper.writeTree(generator, tree);
+            }
+            generator.writeEndArray();
+            if (!ndjson) {
+                verifyNoTrailingTokens(parser);
+            }
+            log.debug("Merged {} streamed JSON documents into an array.", shape.count());
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to merge JSON stream: {}", e.getMessage());
+            throw new IllegalArgumentException("Invalid JSON: " + e.getMessage(), e);
+        } catch (IOException e) {
+            log.warn("Failed to write merged JSON stream: {}", e.getMessage());
+            throw new UncheckedIOException("Failed to write merged JSON stream: " + e.getMessage(), e);
+        }
+    }
 
-            // Recursively check the structure of each field
-            for (String field : fields1) {
-                if (!haveSameStructure(obj1.get(field), obj2.get(field))) {
-                    return false;
-                }
+    @Override
+    public String diffJson(String source, String target, boolean ignoreKeyOrder) {
+        try {
+            JsonNode sourceNode = objectMapper.readTree(source);
+            JsonNode targetNode = objectMapper.readTree(target);
+            if (ignoreKeyOrder) {
+                sourceNode = sortJsonNode(sourceNode, null);
+                targetNode = sortJsonNode(targetNode, null);
             }
-            return true;
+            ArrayNode patch = JsonDiff.diff(sourceNode, targetNode, ignoreKeyOrder);
+            log.debug("Diffed JSONs into {} patch operations.", patch.size());
+            return objectMapper.writeValueAsString(patch);
+        } catch (Exception e) {
+            log.warn("Failed to diff JSONs: {}", e.getMessage());
+            throw new IllegalArgumentException("Invalid JSON: " + e.getMessage(), e);
         }
+    }
 
-        // Handle arrays
-        if (node1.isArray() && node2.isArray()) {
-            ArrayNode arr1 = (ArrayNode) node1;
-            ArrayNode arr2 = (ArrayNode) node2;
+    @Override
+    public String patchJson(String json, String patch) {
+        try {
+            JsonNode patchNode = objectMapper.readTree(patch);
+            JsonNode patched = JsonPatcher.apply(objectMapper.readTree(json), patchNode);
+            log.debug("Applied {} patch operations successfully.", patchNode.size());
+            return writeMinified(patched);
+        } catch (IllegalArgumentException e) {
+            log.warn("Failed to apply JSON patch: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.warn("Failed to apply JSON patch: {}", e.getMessage());
+            throw new IllegalArgumentException("Invalid JSON: " + e.getMessage(), e);
+        }
+    }
 
-            // If arrays are empty, they are considered to have the same structure
-            if (arr1.size() == 0 && arr2.size() == 0) {
-                return true;
-            }
+    @Override
+    public String canonicalizeJson(String json) {
+        return canonicalizeJson(toUtf8Bytes(json));
+    }
 
-            // Check the structure of the first element (if any) as a representative
-            // This assumes arrays contain elements with similar structures
-            if (arr1.size() > 0 && arr2.size() > 0) {
-                return haveSameStructure(arr1.get(0), arr2.get(0));
-            }
+    @Override
+    public String canonicalizeJson(byte[] json) {
+        if (isBlank(json)) {
+            log.warn("Empty or null JSON provided for canonicalization.");
+            throw new IllegalArgumentException("Invalid JSON: input is empty or null");
+        }
+        try {
+            StringWriter writer = new StringWriter(json.length);
+            JsonCanonicalizer.write(objectMapper.readTree(json), writer);
+            log.debug("Canonicalized JSON successfully.");
+            return writer.toString();
+        } catch (Exception e) {
+            log.warn("Failed to canonicalize JSON: {}", e.getMessage());
+            throw new IllegalArgumentException("Invalid JSON: " + e.getMessage(), e);
+        }
+    }
 
-            // If one array is empty and the other is not, consider them different
-            return arr1.size() == arr2.size();
+    @Override
+    public String hashCanonicalJson(String json, String algorithm) {
+        return hashCanonicalJson(toUtf8Bytes(json), algorithm);
+    }
+
+    @Override
+    public String hashCanonicalJson(byte[] json, String algorithm) {
+        MessageDigest digest = canonicalDigest(algorithm);
+        if (isBlank(json)) {
+            log.warn("Empty or null JSON provided for canonical hashing.");
+            throw new IllegalArgumentException("Invalid JSON: input is empty or null");
+        }
+        try {
+            JsonNode jsonNode = objectMapper.readTree(json);
+            // The canonical form is encoded and hashed as it is written, and never held in memory as a whole
+            try (Writer writer = new OutputStreamWriter(
+                    new DigestOutputStream(OutputStream.nullOutputStream(), digest), StandardCharsets.UTF_8)) {
+                JsonCanonicalizer.write(jsonNode, writer);
+            }
+            log.debug("Hashed canonical JSON with {} successfully.", digest.getAlgorithm());
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (Exception e) {
+            log.warn("Failed to hash canonical JSON: {}", e.getMessage());
+            throw new IllegalArgumentException("Invalid JSON: " + e.getMessage(), e);
         }
+    }
 
-        // For primitive types (string, number, boolean, etc.), same type is sufficient
-        return node1.isValueNode() && node2.isValueNode();
+    /**
+     * Creates the message digest for a hash algorithm name such as {@code sha256} or {@code SHA-256}.
+     *
+     * @param algorithm the name of the hash algorithm
+     * @return a new message digest
+     * @throws IllegalArgumentException if the algorithm is not supported
+     */
+    private MessageDigest canonicalDigest(String algorithm) {
+        String name = algorithm == null ? "" : algorithm.toUpperCase(Locale.ROOT).replace("-", "");
+        try {
+            return switch (name) {
+                case "SHA256" -> MessageDigest.getInstance("SHA-256");
+                case "SHA384" -> MessageDigest.getInstance("SHA-384");
+                case "SHA512" -> MessageDigest.getInstance("SHA-512");
+                default -> throw new IllegalArgumentException("Unsupported hash algorithm: " + algorithm);
+            };
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Hash algorithm not available: " + algorithm, e);
+        }
     }
 
     @Override
     public boolean validateJsonWithSchema(String json, String schema) {
+        return validateJsonWithSchema(toUtf8Bytes(json), schema);
+    }
+
+    @Override
+    public boolean validateJsonWithSchema(byte[] json, String schema) {
+        // A single error decides the outcome, so there is no point in collecting the rest
+        return getSchemaValidationErrors(json, schema, 1).isEmpty();
+    }
+
+    @Override
+    public List<String> getSchemaValidationErrors(byte[] json, String schema, int maxErrors) {
+        checkMaxErrors(maxErrors);
         try {
             JsonNode jsonNode = objectMapper.readTree(json);
-            JsonNode schemaNode = objectMapper.readTree(schema);
-            JsonSchemaFactory factory = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V4);
-            JsonSchema jsonSchema = factory.getSchema(schemaNode);
-            Set<ValidationMessage> errors = jsonSchema.validate(jsonNode);
-            if (errors.isEmpty()) {
-                log.debug("JSON is valid against schema.");
-                return true;
-            }
-            log.warn("JSON validation errors: {}", errors);
-            return false;
+            JsonSchema jsonSchema = schemaCache.getSchema(schema, SpecVersion.VersionFlag.V4);
+            return validateAgainstSchema(jsonNode, jsonSchema, maxErrors);
         } catch (Exception e) {
             log.warn("Failed to validate JSON against schema: {}", e.getMessage());
             throw new IllegalArgumentException("Invalid JSON or schema: " + e.getMessage(), e);
         }
     }
 
+    @Override
+    public String registerSchema(byte[] schema) {
+        if (isBlank(schema)) {
+            log.warn("Empty or null schema provided for registration.");
+            throw new IllegalArgumentException("Invalid schema: input is empty or null");
+        }
+        try {
+            String schemaId = schemaRegistry.register(schema);
+            log.debug("Registered schema {}.", schemaId);
+            return schemaId;
+        } catch (Exception e) {
+            log.warn("Failed to register schema: {}", e.getMessage());
+            throw new IllegalArgumentException("Invalid schema: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean validateJsonWithSchemaId(byte[] json, String schemaId) {
+        return getSchemaValidationErrorsById(json, schemaId, 1).isEmpty();
+    }
+
+    @Override
+    public List<String> getSchemaValidationErrorsById(byte[] json, String schemaId, int maxErrors) {
+        checkMaxErrors(maxErrors);
+        JsonSchema jsonSchema = schemaRegistry.getSchema(schemaId);
+        try {
+            return validateAgainstSchema(objectMapper.readTree(json), jsonSchema, maxErrors);
+        } catch (Exception e) {
+            log.warn("Failed to validate JSON against schema {}: {}", schemaId, e.getMessage());
+            throw new IllegalArgumentException("Invalid JSON: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<String> validateJsonArrayWithSchema(InputStream json, String schema, int maxErrors) {
+        checkMaxErrors(maxErrors);
+        JsonSchema rootSchema;
+        try {
+            rootSchema = schemaCache.getSchema(schema, SpecVersion.VersionFlag.V4);
+        } catch (Exception e) {
+            log.warn("Failed to compile schema for streaming validation: {}", e.getMessage());
+            throw new IllegalArgumentException("Invalid schema: " + e.getMessage(), e);
+        }
+        return validateArrayStream(json, rootSchema, maxErrors);
+    }
+
+    @Override
+    public List<String> validateJsonArrayWithSchemaId(InputStream json, String schemaId, int maxErrors) {
+        checkMaxErrors(maxErrors);
+        return validateArrayStream(json, schemaRegistry.getSchema(schemaId), maxErrors);
+    }
+
+    @Override
+    public Map<String, Long> getSchemaCacheStats() {
+        return schemaCache.stats();
+    }
+
     @Override
     public String minifyJson(String json) {
-        if (json == null || json.trim().isEmpty()) {
+        return minifyJson(toUtf8Bytes(json));
+    }
+
+    @Override
+    public String minifyJson(byte[] json) {
+        if (isBlank(json)) {
             log.warn("Empty or null JSON provided for minify.");
             throw new IllegalArgumentException("Invalid JSON: input is empty or null");
         }
+        String scannedJson = JsonByteMinifier.minify(json);
+        if (scannedJson != null) {
+            log.debug("Minified JSON successfully with the byte scanner.");
+            return scannedJson;
+        }
+        log.debug("Byte scanner could not minify the input, falling back to Jackson.");
         try {
             JsonNode jsonNode = objectMapper.readTree(json);
-            String minifiedJson = objectMapper.writeValueAsString(jsonNode);
+            String minifiedJson = writeMinified(jsonNode);
             log.debug("Minified JSON successfully.");
             return minifiedJson;
         } catch (Exception e) {
@@ -202,27 +406,195 @@ public class JsonServiceImpl implements JsonService {
         }
     }
 
+    @Override
+    public void minifyJson(InputStream json, OutputStream out) {
+        copyJsonStream(json, out, false);
+        log.debug("Minified JSON stream successfully.");
+    }
+
     @Override
     public String sortJson(String json, String sortByField) {
-        if (json == null || json.trim().isEmpty()) {
+        return sortJson(toUtf8Bytes(json), sortByField);
+    }
+
+    @Override
+    public String sortJson(byte[] json, String sortByField) {
+        return sortJson(json, sortByField == null || sortByField.isBlank() ? null : JsonSortSpec.ofField(sortByField));
+    }
+
+    @Override
+    public String sortJsonBy(String json, String sortBy) {
+        return sortJsonBy(toUtf8Bytes(json), sortBy);
+    }
+
+    @Override
+    public String sortJsonBy(byte[] json, String sortBy) {
+        return sortJson(json, sortBy == null || sortBy.isBlank() ? null : JsonSortSpec.parse(sortBy));
+    }
+
+    @Override
+    public void sortJson(InputStream json, OutputStream out, String sortByField) {
+        sortJson(json, out, sortByField == null || sortByField.isBlank() ? null : JsonSortSpec.ofField(sortByField));
+    }
+
+    @Override
+    public void sortJsonBy(InputStream json, OutputStream out, String sortBy) {
+        sortJson(json, out, sortBy == null || sortBy.isBlank() ? null : JsonSortSpec.parse(sortBy));
+    }
+
+    @Override
+    public String sortJsonBy(String json, String sortBy, int offset, int limit) {
+        return sortJsonBy(toUtf8Bytes(json), sortBy, offset, limit);
+    }
+
+    @Override
+    public String sortJsonBy(byte[] json, String sortBy, int offset, int limit) {
+        checkSlice(sortBy, offset, limit);
+        return sortSlice(json, JsonSortSpec.parse(sortBy), offset, limit);
+    }
+
+    @Override
+    public String sortJson(String json, String sortByField, int offset, int limit) {
+        return sortJson(toUtf8Bytes(json), sortByField, offset, limit);
+    }
+
+    @Override
+    public String sortJson(byte[] json, String sortByField, int offset, int limit) {
+        checkSlice(sortByField, offset, limit);
+        return sortSlice(json, JsonSortSpec.ofField(sortByField), offset, limit);
+    }
+
+    @Override
+    public void sortJsonBy(InputStream json, OutputStream out, String sortBy, int offset, int limit) {
+        checkSlice(sortBy, offset, limit);
+        sortSlice(json, out, JsonSortSpec.parse(sortBy), offset, limit);
+    }
+
+    @Override
+    public void sortJson(InputStream json, OutputStream out, String sortByField, int offset, int limit) {
+        checkSlice(sortByField, offset, limit);
+        sortSlice(json, out, JsonSortSpec.ofField(sortByField), offset, limit);
+    }
+
+    /**
+     * Sorts a top-level JSON array and returns a slice of the sorted order.
+     *
+     * @param json   JSON holding an array (UTF-8 encoded)
+     * @param spec   the compiled sort specification
+     * @param offset the number of sorted elements to skip
+     * @param limit  the maximum number of sorted elements to return
+     * @return the selected elements as a JSON array string
+     */
+    private String sortSlice(byte[] json, JsonSortSpec spec, int offset, int limit) {
+        if (isBlank(json)) {
+            log.warn("Empty or null JSON provided for sort.");
+            throw new IllegalArgumentException("Invalid JSON: input is empty or null");
+        }
+        try (JsonParser parser = objectMapper.createParser(json)) {
+            ArrayNode slice = selectSlice(parser, spec, offset, limit);
+            String sortedJson = prettyPrinter.writeValueAsString(slice);
+            log.debug("Selected {} sorted elements from offset {}.", slice.size(), offset);
+            return sortedJson;
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to sort JSON: {}", e.getMessage());
+            throw new IllegalArgumentException("Invalid JSON: " + e.getMessage(), e);
+        } catch (IOException e) {
+            log.warn("Failed to read JSON for sort: {}", e.getMessage());
+            throw new UncheckedIOException("Failed to read JSON for sort: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sorts a streamed top-level JSON array and writes a slice of the sorted order to the output stream.
+     *
+     * @param json   JSON input stream (UTF-8 encoded) holding an array
+     * @param out    the stream the selected elements are written to; left open
+     * @param spec   the compiled sort specification
+     * @param offset the number of sorted elements to skip
+     * @param limit  the maximum number of sorted elements to return
+     */
+    private void sortSlice(InputStream json, OutputStream out, JsonSortSpec spec, int offset, int limit) {
+        if (json == null) {
+            log.warn("Null JSON stream provided for sort.");
+            throw new IllegalArgumentException("Invalid JSON: input is empty or null");
+        }
+        try (JsonParser parser = objectMapper.createParser(json);
+             JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            ArrayNode slice = selectSlice(parser, spec, offset, limit);
+            objectMapper.writeTree(generator, slice);
+            log.debug("Selected {} sorted elements from offset {} of a JSON stream.", slice.size(), offset);
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to sort JSON stream: {}", e.getMessage());
+            throw new IllegalArgumentException("Invalid JSON: " + e.getMessage(), e);
+        } catch (IOException e) {
+            log.warn("Failed to write sorted JSON stream: {}", e.getMessage());
+            throw new UncheckedIOException("Failed to write sorted JSON stream: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Validates the parameters of a sorted slice.
+     *
+     * @param sort   the sort specification or field name
+     * @param offset the number of sorted elements to skip
+     * @param limit  the maximum number of sorted elements to return
+     * @throws IllegalArgumentException if the sort is missing or a bound is negative
+     */
+    private static void checkSlice(String sort, int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Invalid sort: offset and limit must not be negative");
+        }
+        if (sort == null || sort.isBlank()) {
+            throw new IllegalArgumentException("Invalid sort: a field to sort by is required to select a slice");
+        }
+    }
+
+    /**
+     * Reads a root-level array and selects a slice of its sorted order, keeping only the selected elements and
+     * those sorting before them in memory.
+     *
+     * @param parser the parser, positioned before the root-level value
+     * @param spec   the compiled sort specification
+     * @param offset the number of sorted elements to skip
+     * @param limit  the maximum number of sorted elements to return
+     * @return the selected elements, in sorted order
+     * @throws IOException if the input cannot be parsed
+     */
+    private ArrayNode selectSlice(JsonParser parser, JsonSortSpec spec, int offset, int limit) throws IOException {
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("Invalid JSON: expected an array to sort");
+        }
+        ArrayNode slice = JsonTopK.select(parser, spec, offset, limit);
+        verifyNoTrailingTokens(parser);
+        return slice;
+    }
+
+    /**
+     * Sorts object keys alphabetically and, if a sort specification is given, arrays of objects by its keys.
+     * A root-level array is only sorted by the specification, leaving the keys of its elements in place.
+     *
+     * @param json JSON to sort (UTF-8 encoded)
+     * @param spec the compiled sort specification, or {@code null} to sort object keys only
+     * @return the sorted, pretty-printed JSON string
+     */
+    private String sortJson(byte[] json, JsonSortSpec spec) {
+        if (isBlank(json)) {
             log.warn("Empty or null JSON provided for sort.");
             throw new IllegalArgumentException("Invalid JSON: input is empty or null");
         }
         try {
             JsonNode jsonNode = objectMapper.readTree(json);
 
-            if (jsonNode.isArray() && sortByField != null && !sortByField.isBlank()) {
+            if (jsonNode.isArray() && spec != null) {
                 // Sort the root-level array
-                List<JsonNode> elements = new ArrayList<>();
-                jsonNode.forEach(elements::add);
-                elements.sort(Comparator.comparing(a -> a.get(sortByField).asText()));
-                ArrayNode sortedArray = objectMapper.createArrayNode();
-                elements.forEach(sortedArray::add);
-                String sortedJson = prettyPrinter.writeValueAsString(sortedArray);
+                JsonArraySorter.sort((ArrayNode) jsonNode, spec);
+                String sortedJson = prettyPrinter.writeValueAsString(jsonNode);
                 log.debug("Sorted JSON root-level array successfully.");
                 return sortedJson;
             } else {
-                JsonNode sortedNode = sortJsonNode(jsonNode, sortByField);
+                JsonNode sortedNode = sortJsonNode(jsonNode, spec);
                 String sortedJson = prettyPrinter.writeValueAsString(sortedNode);
                 log.debug("Sorted JSON successfully.");
                 return sortedJson;
@@ -233,16 +605,72 @@ public class JsonServiceImpl implements JsonService {
         }
     }
 
+    /**
+     * Sorts a streamed top-level array by a sort specification through the external sorter.
+     *
+     * @param json the JSON input stream (UTF-8 encoded) holding an array
+     * @param out  the stream the sorted array is written to; left open
+     * @param spec the compiled sort specification; required
+     */
+    private void sortJson(InputStream json, OutputStream out, JsonSortSpec spec) {
+        if (json == null) {
+            log.warn("Null JSON stream provided for sort.");
+            throw new IllegalArgumentException("Invalid JSON: input is empty or null");
+        }
+        if (spec == null) {
+            throw new IllegalArgumentException("Invalid sort: a field to sort by is required to sort a stream");
+        }
+        try (JsonParser parser = objectMapper.createParser(json);
+             JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Invalid JSON: expected an array to sort");
+            }
+            externalSorter.sort(parser, generator, spec);
+            verifyNoTrailingTokens(parser);
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to sort JSON stream: {}", e.getMessage());
+            throw new IllegalArgumentException("Invalid JSON: " + e.getMessage(), e);
+        } catch (IOException e) {
+            log.warn("Failed to write sorted JSON stream: {}", e.getMessage());
+            throw new UncheckedIOException("Failed to write sorted JSON stream: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public List<String> findInJson(String json, String searchTerm) {
-        if (json == null || json.trim().isEmpty()) {
+        return findInJson(toUtf8Bytes(json), searchTerm);
+    }
+
+    @Override
+    public List<String> findInJson(byte[] json, String searchTerm) {
+        return findInJson(json, searchTerm, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<String> findInJson(String json, String searchTerm, int limit) {
+        return findInJson(toUtf8Bytes(json), searchTerm, limit);
+    }
+
+    @Override
+    public List<String> findInJson(byte[] json, String searchTerm, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Invalid search: limit must not be negative");
+        }
+        if (isBlank(json)) {
             log.warn("Empty or null JSON provided for findInJson.");
             throw new IllegalArgumentException("Invalid JSON: input is empty or null");
         }
-        try {
-            JsonNode jsonNode = objectMapper.readTree(json);
+        if (!findFilter.mayContain(json, searchTerm)) {
+            log.debug("Term '{}' does not occur in the JSON; skipped parsing", searchTerm);
+            return new ArrayList<>();
+        }
+        try (JsonParser parser = objectMapper.createParser(json)) {
             List<String> matchingPaths = new ArrayList<>();
-            findInJsonRecursive(jsonNode, "$", searchTerm, matchingPaths);
+            if (newFinder(searchTerm).find(parser, limit, matchingPaths::add)) {
+                verifyNoTrailingTokens(parser);
+            }
             log.debug("Found {} matches for term '{}'", matchingPaths.size(), searchTerm);
             return matchingPaths;
         } catch (Exception e) {
@@ -251,8 +679,216 @@ public class JsonServiceImpl implements JsonService {
         }
     }
 
+    @Override
+    public void findInJson(InputStream json, OutputStream out, String searchTerm, int limit, boolean ndjson) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Invalid search: limit must not be negative");
+        }
+        if (json == null) {
+            log.warn("Null JSON stream provided for findInJson.");
+            throw new IllegalArgumentException("Invalid JSON: input is empty or null");
+        }
+        try (JsonParser parser = objectMapper.createParser(json);
+             JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            long[] count = {0};
+            if (ndjson) {
+                // One compact JSON string per line
+                generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+            } else {
+                generator.writeStartArray();
+            }
+            boolean complete = newFinder(searchTerm).find(parser, limit, match -> {
+                generator.writeString(match);
+                if (ndjson) {
+                    generator.writeRaw('\n');
+                }
+                count[0]++;
+            });
+            if (complete) {
+                verifyNoTrailingTokens(parser);
+            }
+            if (!ndjson) {
+                generator.writeEndArray();
+            }
+            log.debug("Streamed {} matches for term '{}'", count[0], searchTerm);
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to search in JSON stream: {}", e.getMessage());
+            throw new IllegalArgumentException("Invalid JSON: " + e.getMessage(), e);
+        } catch (IOException e) {
+            log.warn("Failed to write JSON search results: {}", e.getMessage());
+            throw new UncheckedIOException("Failed to write JSON search results: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Map<String, Long> getFindFilterStats() {
+        return findFilter.stats();
+    }
+
+    private JsonFinder newFinder(String searchTerm) {
+        return new JsonFinder(searchTerm, objectMapper.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS));
+    }
+
+    @Override
+    public Map<String, List<String>> findInJson(String json, List<String> terms, List<String> modes) {
+        return findInJson(toUtf8Bytes(json), terms, modes);
+    }
+
+    @Override
+    public Map<String, List<String>> findInJson(byte[] json, List<String> terms, List<String> modes) {
+        JsonTermMatcher matcher = compileTerms(terms, modes);
+        if (isBlank(json)) {
+            log.warn("Empty or null JSON provided for findInJson.");
+            throw new IllegalArgumentException("Invalid JSON: input is empty or null");
+        }
+        try (JsonParser parser = objectMapper.createParser(json)) {
+            List<List<String>> matchingPaths = new ArrayList<>(terms.size());
+            for (int i = 0; i < terms.size(); i++) {
+                matchingPaths.add(new ArrayList<>());
+            }
+            new JsonFinder(matcher, objectMapper.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS))
+                    .findAll(parser, (term, match) -> matchingPaths.get(term).add(match));
+            verifyNoTrailingTokens(parser);
+            Map<String, List<String>> matchesByTerm = new LinkedHashMap<>();
+            for (int i = 0; i < terms.size(); i++) {
+                matchesByTerm.put(terms.get(i), matchingPaths.get(i));
+            }
+            log.debug("Searched JSON for {} terms in a single pass", terms.size());
+            return matchesByTerm;
+        } catch (Exception e) {
+            log.warn("Failed to search in JSON: {}", e.getMessage());
+            throw new IllegalArgumentException("Invalid JSON: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Compiles search terms, with either one mode for all of them or one mode per term, defaulting to exact.
+     */
+    private static JsonTermMatcher compileTerms(List<String> terms, List<String> modes) {
+        if (terms == null || terms.isEmpty()) {
+            throw new IllegalArgumentException("Invalid search: at least one term is required");
+        }
+        if (modes != null && modes.size() > 1 && modes.size() != terms.size()) {
+            throw new IllegalArgumentException("Invalid search: expected one mode, or one per term, but got "
+                    + modes.size() + " modes for " + terms.size() + " terms");
+        }
+        Set<String> distinct = new HashSet<>();
+        List<JsonTermMatcher.Mode> termModes = new ArrayList<>(terms.size());
+        for (int i = 0; i < terms.size(); i++) {
+            String term = terms.get(i);
+            if (term == null || !distinct.add(term)) {
+                throw new IllegalArgumentException("Invalid search: missing or duplicate term '" + term + "'");
+            }
+            termModes.add(modes == null || modes.isEmpty() ? JsonTermMatcher.Mode.EXACT
+                    : JsonTermMatcher.Mode.parse(modes.get(modes.size() == 1 ? 0 : i)));
+        }
+        return JsonTermMatcher.compile(terms, termModes);
+    }
+
+    @Override
+    public String queryJson(String json, String path) {
+        return queryJson(toUtf8Bytes(json), path);
+    }
+
+    @Override
+    public String queryJson(byte[] json, String path) {
+        JsonPath query = pathCache.getQuery(path);
+        if (isBlank(json)) {
+            log.warn("Empty or null JSON provided for query.");
+            throw new IllegalArgumentException("Invalid JSON: input is empty or null");
+        }
+        try {
+            ArrayNode values = objectMapper.createArrayNode();
+            for (JsonPath.Match match : query.select(objectMapper.readTree(json), false)) {
+                values.add(match.value());
+            }
+            log.debug("JSONPath query {} selected {} nodes.", path, values.size());
+            return prettyPrinter.writeValueAsString(values);
+        } catch (Exception e) {
+            log.warn("Failed to query JSON: {}", e.getMessage());
+            throw new IllegalArgumentException("Invalid JSON: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<String> queryJsonPaths(String json, String path) {
+        return queryJsonPaths(toUtf8Bytes(json), path);
+    }
+
+    @Override
+    public List<String> queryJsonPaths(byte[] json, String path) {
+        JsonPath query = pathCache.getQuery(path);
+        if (isBlank(json)) {
+            log.warn("Empty or null JSON provided for query.");
+            throw new IllegalArgumentException("Invalid JSON: input is empty or null");
+        }
+        try {
+            List<String> paths = new ArrayList<>();
+            for (JsonPath.Match match : query.select(objectMapper.readTree(json), true)) {
+                paths.add(match.location().toString());
+            }
+            log.debug("JSONPath query {} selected {} nodes.", path, paths.size());
+            return paths;
+        } catch (Exception e) {
+            log.warn("Failed to query JSON: {}", e.getMessage());
+            throw new IllegalArgumentException("Invalid JSON: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void queryJson(InputStream json, OutputStream out, String path) {
+        JsonPath query = pathCache.getQuery(path);
+        if (json == null) {
+            log.warn("Null JSON stream provided for query.");
+            throw new IllegalArgumentException("Invalid JSON: input is empty or null");
+        }
+        try (JsonParser parser = objectMapper.createParser(json);
+             JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            if (parser.nextToken() == null) {
+                throw new IllegalArgumentException("Invalid JSON: input is empty or null");
+            }
+            long[] count = {0};
+            generator.writeStartArray();
+            if (query.isStreamable()) {
+                query.select(parser, false, (location, value) -> {
+                    objectMapper.writeTree(generator, value);
+                    count[0]++;
+                });
+            } else {
+                JsonNode root = parser.readValueAsTree();
+                for (JsonPath.Match match : query.select(root, false)) {
+                    objectMapper.writeTree(generator, match.value());
+                    count[0]++;
+                }
+            }
+            verifyNoTrailingTokens(parser);
+            generator.writeEndArray();
+            log.debug("JSONPath query {} selected {} nodes of a JSON stream.", path, count[0]);
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to query JSON stream: {}", e.getMessage());
+            throw new IllegalArgumentException("Invalid JSON: " + e.getMessage(), e);
+        } catch (IOException e) {
+            log.warn("Failed to write JSON query results: {}", e.getMessage());
+            throw new UncheckedIOException("Failed to write JSON query results: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Map<String, Long> getJsonPathCacheStats() {
+        return pathCache.stats();
+    }
+
     @Override
     public String convertJsonToCsv(String json) {
+        return convertJsonToCsv(toUtf8Bytes(json));
+    }
+
+    @Override
+    public String convertJsonToCsv(byte[] json) {
         try {
             JsonNode jsonNode = objectMapper.readTree(json);
             JsonNode companiesNode = jsonNode.get("companies");
@@ -272,12 +908,17 @@ public class JsonServiceImpl implements JsonService {
 
     @Override
     public String convertCsvToJson(String csv) {
-        if (csv == null || csv.trim().isEmpty()) {
+        return convertCsvToJson(toUtf8Bytes(csv));
+    }
+
+    @Override
+    public String convertCsvToJson(byte[] csv) {
+        if (isBlank(csv)) {
             log.warn("Empty or null CSV provided.");
             throw new IllegalArgumentException("Invalid CSV: input is empty or null");
         }
         try {
-            StringReader reader = new StringReader(csv);
+            Reader reader = new InputStreamReader(new ByteArrayInputStream(csv), StandardCharsets.UTF_8);
             CSVFormat csvFormat = CSVFormat.Builder.create()
                     .setHeader()
                     .setSkipHeaderRecord(false)
@@ -295,7 +936,12 @@ public class JsonServiceImpl implements JsonService {
 
     @Override
     public String convertJsonToXml(String json) {
-        if (json == null || json.trim().isEmpty()) {
+        return convertJsonToXml(toUtf8Bytes(json));
+    }
+
+    @Override
+    public String convertJsonToXml(byte[] json) {
+        if (isBlank(json)) {
             log.warn("Empty or null JSON provided for conversion to XML.");
             throw new IllegalArgumentException("Invalid JSON: input is empty or null");
         }
@@ -313,6 +959,11 @@ public class JsonServiceImpl implements JsonService {
 
     @Override
     public String convertXmlToJson(String xml) {
+        return convertXmlToJson(toUtf8Bytes(xml));
+    }
+
+    @Override
+    public String convertXmlToJson(byte[] xml) {
         try {
             XmlMapper xmlMapper = new XmlMapper();
             JsonNode jsonNode = xmlMapper.readTree(xml);
@@ -327,6 +978,11 @@ public class JsonServiceImpl implements JsonService {
 
     @Override
     public String convertJsonToExcel(String json) {
+        return convertJsonToExcel(toUtf8Bytes(json));
+    }
+
+    @Override
+    public String convertJsonToExcel(byte[] json) {
         try {
             JsonNode jsonNode = objectMapper.readTree(json);
             if (!jsonNode.isArray()) {
@@ -350,7 +1006,12 @@ public class JsonServiceImpl implements JsonService {
 
     @Override
     public String convertJsonToYaml(String json) {
-        if (json == null || json.trim().isEmpty()) {
+        return convertJsonToYaml(toUtf8Bytes(json));
+    }
+
+    @Override
+    public String convertJsonToYaml(byte[] json) {
+        if (isBlank(json)) {
             log.warn("Empty or null JSON provided for conversion to YAML.");
             throw new IllegalArgumentException("Invalid JSON: input is empty or null");
         }
@@ -368,6 +1029,11 @@ public class JsonServiceImpl implements JsonService {
 
     @Override
     public String convertExcelToJson(String base64Excel) {
+        return convertExcelToJson(toUtf8Bytes(base64Excel));
+    }
+
+    @Override
+    public String convertExcelToJson(byte[] base64Excel) {
         try {
             byte[] excelBytes = Base64.getDecoder().decode(base64Excel);
             try (InputStream inputStream = new ByteArrayInputStream(excelBytes);
@@ -388,7 +1054,12 @@ public class JsonServiceImpl implements JsonService {
 
     @Override
     public String convertYamlToJson(String yaml) {
-        if (yaml == null || yaml.trim().isEmpty()) {
+        return convertYamlToJson(toUtf8Bytes(yaml));
+    }
+
+    @Override
+    public String convertYamlToJson(byte[] yaml) {
+        if (isBlank(yaml)) {
             log.warn("Empty or null YAML provided for conversion to JSON.");
             throw new IllegalArgumentException("Invalid YAML: input is empty or null");
         }
@@ -410,7 +1081,12 @@ public class JsonServiceImpl implements JsonService {
 
     @Override
     public String generateTypeDefinitionsFromJson(String json) {
-        if (json == null || json.trim().isEmpty()) {
+        return generateTypeDefinitionsFromJson(toUtf8Bytes(json));
+    }
+
+    @Override
+    public String generateTypeDefinitionsFromJson(byte[] json) {
+        if (isBlank(json)) {
             log.warn("Empty or null JSON provided for generating type definitions.");
             throw new IllegalArgumentException("Invalid JSON: input is empty or null");
         }
@@ -422,11 +1098,263 @@ public class JsonServiceImpl implements JsonService {
             log.debug("Generated TypeScript definitions:\n{}", typeDefinitions);
             return typeDefinitions.toString();
         } catch (Exception e) {
-            log.warn("Failed to generate type definitions from JSON: {}", json, e);
+            log.warn("Failed to generate type definitions from JSON: {}", new String(json, StandardCharsets.UTF_8), e);
             throw new IllegalArgumentException("Invalid JSON or error during conversion: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Validates a parsed JSON document against a compiled schema, logging any validation errors.
+     *
+     * @param jsonNode   the JSON document to validate
+     * @param jsonSchema the compiled schema
+     * @param maxErrors  the maximum number of errors to return
+     * @return at most {@code maxErrors} validation error messages; empty if the document is valid
+     */
+    private List<String> validateAgainstSchema(JsonNode jsonNode, JsonSchema jsonSchema, int maxErrors) {
+        List<String> errors = new ArrayList<>();
+        collectSchemaErrors(jsonNode, jsonSchema, "", maxErrors, errors);
+        if (errors.isEmpty()) {
+            log.debug("JSON is valid against schema.");
+        } else {
+            log.warn("JSON validation errors: {}", errors);
+        }
+        return errors;
+    }
+
+    /**
+     * Validates a parsed JSON document against a compiled schema and adds the error messages to the given
+     * list until it holds {@code maxErrors} entries.
+     * <p>
+     * When a single error remains in the budget the validator runs in fail-fast mode and stops at the first violation.
+     * The validator has no notion of a larger budget, so otherwise all errors are collected and the
+     * list is truncated.
+     * </p>
+     *
+     * @param jsonNode   the JSON document to validate
+     * @param jsonSchema the compiled schema
+     * @param prefix     the prefix to add to each error message
+     * @param maxErrors  the maximum size of the error list
+     * @param errors     the list to add error messages to
+     */
+    private static void collectSchemaErrors(JsonNode jsonNode, JsonSchema jsonSchema, String prefix,
+                                            int maxErrors, List<String> errors) {
+        Set<ValidationMessage> messages = maxErrors - errors.size() == 1
+                ? jsonSchema.validate(jsonNode, OutputFormat.DEFAULT, context -> context.getExecutionConfig().setFailFast(true))
+                : jsonSchema.validate(jsonNode);
+        for (ValidationMessage message : messages) {
+            if (errors.size() == maxErrors) {
+                return;
+            }
+            errors.add(prefix + message.getMessage());
+        }
+    }
+
+    /**
+     * Checks that an error budget is positive.
+     *
+     * @param maxErrors the maximum number of validation errors to collect
+     * @throws IllegalArgumentException if {@code maxErrors} is not positive
+     */
+    private static void checkMaxErrors(int maxErrors) {
+        if (maxErrors < 1) {
+            throw new IllegalArgumentException("maxErrors must be positive: " + maxErrors);
+        }
+    }
+
+    /**
+     * Validates a top-level JSON array element by element against the {@code items} subschema of the given
+     * schema. Only one element is materialised at a time, so memory use is bounded by the largest element
+     * rather than by the document. The {@code minItems} and {@code maxItems} keywords are checked against the
+     * element count; {@code uniqueItems} would require retaining every element and is not enforced.
+     * Once {@code maxErrors} errors have been collected the rest of the stream is not read.
+     *
+     * @param json       the JSON input stream, which must contain an array at the root
+     * @param rootSchema the compiled schema for the whole array
+     * @param maxErrors  the maximum number of errors to collect
+     * @return validation errors, each prefixed with the index of the offending element; empty if the array is valid
+     * @throws IllegalArgumentException if the input is not a valid JSON array or the schema cannot be streamed
+     */
+    private List<String> validateArrayStream(InputStream json, JsonSchema rootSchema, int maxErrors) {
+        if (json == null) {
+            log.warn("Null JSON stream provided for streaming schema validation.");
+            throw new IllegalArgumentException("Invalid JSON: input is empty or null");
+        }
+        JsonNode rootSchemaNode = rootSchema.getSchemaNode();
+        JsonNode itemsNode = rootSchemaNode.get("items");
+        if (itemsNode != null && !itemsNode.isObject()) {
+            throw new IllegalArgumentException("Invalid schema: streaming validation requires \"items\" to be a single schema");
+        }
+        List<String> errors = new ArrayList<>();
+        try (JsonParser parser = objectMapper.createParser(json)) {
+            JsonSchema itemSchema = itemsNode == null ? null
+                    : schemaCache.getSchema(objectMapper.writeValueAsString(itemSchemaNode(rootSchemaNode, itemsNode)), SpecVersion.VersionFlag.V4);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Invalid JSON: streaming schema validation requires an array at the root");
+            }
+            long index = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (itemSchema == null) {
+                    parser.skipChildren();
+                } else {
+                    collectSchemaErrors(objectMapper.readTree(parser), itemSchema, "[" + index + "] ", maxErrors, errors);
+                    if (errors.size() == maxErrors) {
+                        log.debug("Stopped streaming schema validation at element {} after {} errors.", index, maxErrors);
+                        return errors;
+                    }
+                }
+                index++;
+            }
+            verifyNoTrailingTokens(parser);
+            JsonNode minItems = rootSchemaNode.get("minItems");
+            if (minItems != null && index < minItems.asLong() && errors.size() < maxErrors) {
+                errors.add("array has " + index + " items but the minimum is " + minItems.asLong());
+            }
+            JsonNode maxItems = rootSchemaNode.get("maxItems");
+            if (maxItems != null && index > maxItems.asLong() && errors.size() < maxErrors) {
+                errors.add("array has " + index + " items but the maximum is " + maxItems.asLong());
+            }
+            log.debug("Validated {} array elements against schema with {} errors.", index, errors.size());
+            return errors;
+        } catch (IOException e) {
+            log.warn("Failed to validate JSON array against schema: {}", e.getMessage());
+            throw new IllegalArgumentException("Invalid JSON: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Builds a standalone schema for array elements from the {@code items} keyword of an array schema.
+     * The root {@code definitions} and {@code $schema} are carried over, so that local
+     * {@code #/definitions/...} references inside {@code items} still resolve.
+     *
+     * @param rootSchemaNode the array schema
+     * @param itemsNode      the {@code items} subschema
+     * @return the element schema
+     */
+    private static ObjectNode itemSchemaNode(JsonNode rootSchemaNode, JsonNode itemsNode) {
+        ObjectNode itemSchema = itemsNode.deepCopy();
+        for (String keyword : List.of("$schema", "definitions")) {
+            if (rootSchemaNode.has(keyword) && !itemSchema.has(keyword)) {
+                itemSchema.set(keyword, rootSchemaNode.get(keyword));
+            }
+        }
+        return itemSchema;
+    }
+
+    /**
+     * Serializes a JSON node without insignificant whitespace, regardless of the mapper's indentation setting.
+     *
+     * @param jsonNode the JSON node to serialize
+     * @return the minified JSON string
+     * @throws JsonProcessingException if the node cannot be serialized
+     */
+    private String writeMinified(JsonNode jsonNode) throws JsonProcessingException {
+        return objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT).writeValueAsString(jsonNode);
+    }
+
+    /**
+     * Encodes a string adapter argument as UTF-8, keeping {@code null} as is.
+     *
+     * @param value the string to encode
+     * @return the UTF-8 bytes of the string, or {@code null} if the string is {@code null}
+     */
+    private static byte[] toUtf8Bytes(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    /**
+     * Checks whether the given UTF-8 input is {@code null} or consists only of whitespace and control
+     * characters, matching the semantics of {@code String.trim().isEmpty()}.
+     *
+     * @param bytes the UTF-8 input to check
+     * @return {@code true} if the input has no content, otherwise {@code false}
+     */
+    private static boolean isBlank(byte[] bytes) {
+        if (bytes == null) {
+            return true;
+        }
+        for (byte b : bytes) {
+            if (b < 0 || b > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Walks the root-level value of the given parser token by token without building a tree,
+     * so memory use depends on the nesting depth of the document rather than its size.
+     * Trailing content is rejected only when {@link DeserializationFeature#FAIL_ON_TRAILING_TOKENS}
+     * is enabled, the same as {@code readTree}.
+     *
+     * @param parser the parser positioned before the root value
+     * @throws IOException if the input is not well-formed JSON
+     */
+    private void skipRootValue(JsonParser parser) throws IOException {
+        if (parser.nextToken() == null) {
+            throw new JsonParseException(parser, "No content to map due to end-of-input");
+        }
+        parser.skipChildren();
+        // A root-level scalar is never skipped over, so make sure its text is fully checked
+        parser.finishToken();
+        verifyNoTrailingTokens(parser);
+    }
+
+    /**
+     * Rejects content after the root-level value when {@link DeserializationFeature#FAIL_ON_TRAILING_TOKENS}
+     * is enabled, mirroring the check {@code readTree} performs.
+     *
+     * @param parser the parser positioned on the last token of the root value
+     * @throws IOException if trailing content is found or cannot be read
+     */
+    private void verifyNoTrailingTokens(JsonParser parser) throws IOException {
+        if (objectMapper.isEnabled(DeserializationFeature.FAIL_ON_TRAILING_TOKENS) && parser.nextToken() != null) {
+            throw new JsonParseException(parser, "Trailing token (of type " + parser.currentToken() + ") found after root value");
+        }
+    }
+
+    /**
+     * Copies the root-level JSON value from the input stream to the output stream token by token, so that
+     * neither the document nor its tree is ever held in memory.
+     * <p>
+     * The generator is created from the bare factory so the mapper's serialization settings (such as
+     * indentation) do not leak into minified output, and it never closes the target or auto-completes
+     * open structures: a parse error midway leaves the output visibly truncated rather than well-formed.
+     * </p>
+     *
+     * @param json   the JSON input stream
+     * @param out    the stream to write the result to
+     * @param pretty {@code true} to indent the output, {@code false} to write it without whitespace
+     * @throws IllegalArgumentException if the input JSON is empty or invalid
+     * @throws UncheckedIOException     if the output cannot be written
+     */
+    private void copyJsonStream(InputStream json, OutputStream out, boolean pretty) {
+        if (json == null) {
+            log.warn("Null JSON stream provided.");
+            throw new IllegalArgumentException("Invalid JSON: input is empty or null");
+        }
+        try (JsonParser parser = objectMapper.createParser(json);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            if (pretty) {
+                generator.setPrettyPrinter(new DefaultPrettyPrinter());
+            }
+            if (parser.nextToken() == null) {
+                log.warn("Empty JSON stream provided.");
+                throw new IllegalArgumentException("Invalid JSON: input is empty or null");
+            }
+            generator.copyCurrentStructure(parser);
+            verifyNoTrailingTokens(parser);
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to stream JSON: {}", e.getMessage());
+            throw new IllegalArgumentException("Invalid JSON: " + e.getMessage(), e);
+        } catch (IOException e) {
+            log.warn("Failed to write JSON stream: {}", e.getMessage());
+            throw new UncheckedIOException("Failed to write JSON stream: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Recursively generates TypeScript interfaces for nested JSON structures.
      */
@@ -562,29 +1490,35 @@ public class JsonServiceImpl implements JsonService {
     }
 
     /**
-     * Merges two JSON nodes recursively, updating the main node with values from the update node.
+     * Applies a JSON Merge Patch (RFC 7396) to a JSON node without modifying either node.
+     * <p>
+     * Copy-on-write: only the objects on the paths touched by the patch are copied, and those copies are
+     * shallow, so every unchanged subtree of the main node is shared with the result. The cost is therefore
+     * proportional to the patch rather than to the main node.
+     * </p>
      *
-     * @param mainNode   The primary JSON node to merge into.
-     * @param updateNode The JSON node containing updates.
+     * @param mainNode   The primary JSON node to merge into, or {@code null} if there is none.
+     * @param updateNode The JSON node containing updates; {@code null} values remove fields.
      * @return The merged JSON node.
      */
     private JsonNode mergeJsonNodes(JsonNode mainNode, JsonNode updateNode) {
-        Iterator<String> fieldNames = updateNode.fieldNames();
-        while (fieldNames.hasNext()) {
-            String fieldName = fieldNames.next();
-            JsonNode updateValue = updateNode.get(fieldName);
-            if (mainNode.has(fieldName)) {
-                JsonNode mainValue = mainNode.get(fieldName);
-                if (mainValue.isObject() && updateValue.isObject()) {
-                    mergeJsonNodes(mainValue, updateValue);
-                } else {
-                    ((ObjectNode) mainNode).replace(fieldName, updateValue);
-                }
+        if (!updateNode.isObject()) {
+            return updateNode;
+        }
+        ObjectNode merged = objectMapper.createObjectNode();
+        if (mainNode != null && mainNode.isObject()) {
+            merged.setAll((ObjectNode) mainNode);
+        }
+        Iterator<Map.Entry<String, JsonNode>> fields = updateNode.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (field.getValue().isNull()) {
+                merged.remove(field.getKey());
             } else {
-                ((ObjectNode) mainNode).set(fieldName, updateValue);
+                merged.set(field.getKey(), mergeJsonNodes(merged.get(field.getKey()), field.getValue()));
             }
         }
-        return mainNode;
+        return merged;
     }
 
     /**
@@ -595,7 +1529,7 @@ public class JsonServiceImpl implements JsonService {
      * @return The JSON array string representing the CSV data.
      * @throws IOException If an I/O error occurs during CSV parsing.
      */
-    private String convertCsvToJsonString(CSVFormat csvFormat, StringReader reader) throws IOException {
+    private String convertCsvToJsonString(CSVFormat csvFormat, Reader reader) throws IOException {
         try (CSVParser csvParser = csvFormat.parse(reader)) {
             List<Map<String, String>> recordsList = new ArrayList<>();
             List<String> headers = csvParser.getHeaderNames();
@@ -661,75 +1595,48 @@ public class JsonServiceImpl implements JsonService {
     }
 
     /**
-     * Recursively searches a JSON node for a search term, collecting matching JSON paths.
+     * Sorts a JSON node recursively in place, ordering object keys alphabetically and optionally sorting arrays by a sort specification.
+     * <p>
+     * Every node is visited once: children are sorted first, then the keys of an object are reordered through a
+     * sorted field name array, or the elements of an array of objects are sorted by the specification. Objects whose keys
+     * are already in order are left untouched.
+     * </p>
      *
-     * @param node        The JSON node to search.
-     * @param currentPath The current JSON path being processed.
-     * @param searchTerm  The term to search for in keys and values.
-     * @param matches     The list to store matching paths.
+     * @param node The JSON node to sort.
+     * @param spec The sort specification to sort arrays by, or {@code null} to sort object keys only.
+     * @return The sorted JSON node, which is {@code node} itself.
      */
-    private void findInJsonRecursive(JsonNode node, String currentPath, String searchTerm, List<String> matches) {
+    private JsonNode sortJsonNode(JsonNode node, JsonSortSpec spec) {
         if (node.isObject()) {
-            Iterator<String> fieldNames = node.fieldNames();
-            while (fieldNames.hasNext()) {
-                String fieldName = fieldNames.next();
-                String newPath = currentPath + "." + fieldName;
-                JsonNode child = node.get(fieldName);
-                if (fieldName.equals(searchTerm)) {
-                    matches.add(newPath + " (key)");
+            ObjectNode object = (ObjectNode) node;
+            String[] fieldNames = new String[object.size()];
+            boolean sorted = true;
+            int count = 0;
+            Iterator<Map.Entry<String, JsonNode>> fields = object.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                sortJsonNode(field.getValue(), spec);
+                sorted &= count == 0 || fieldNames[count - 1].compareTo(field.getKey()) <= 0;
+                fieldNames[count++] = field.getKey();
+            }
+            if (!sorted) {
+                Arrays.sort(fieldNames);
+                JsonNode[] values = new JsonNode[fieldNames.length];
+                for (int i = 0; i < fieldNames.length; i++) {
+                    values[i] = object.get(fieldNames[i]);
                 }
-                if (child.isValueNode() && child.asText().equals(searchTerm)) {
-                    matches.add(newPath + " (value)");
+                object.removeAll();
+                for (int i = 0; i < fieldNames.length; i++) {
+                    object.set(fieldNames[i], values[i]);
                 }
-                findInJsonRecursive(child, newPath, searchTerm, matches);
             }
         } else if (node.isArray()) {
-            for (int i = 0; i < node.size(); i++) {
-                String newPath = currentPath + "[" + i + "]";
-                JsonNode child = node.get(i);
-                if (child.isValueNode() && child.asText().equals(searchTerm)) {
-                    matches.add(newPath + " (value)");
-                }
-                findInJsonRecursive(child, newPath, searchTerm, matches);
-            }
-        }
-    }
-
-    /**
-     * Sorts a JSON node recursively, ordering object keys alphabetically and optionally sorting arrays by a specified field.
-     *
-     * @param node        The JSON node to sort.
-     * @param sortByField The field to sort arrays by, if specified.
-     * @return The sorted JSON node.
-     */
-    private JsonNode sortJsonNode(JsonNode node, String sortByField) {
-        if (node.isObject()) {
-            TreeMap<String, JsonNode> sortedMap = new TreeMap<>();
-            Iterator<String> fieldNames = node.fieldNames();
-            while (fieldNames.hasNext()) {
-                String fieldName = fieldNames.next();
-                sortedMap.put(fieldName, sortJsonNode(node.get(fieldName), sortByField));
-            }
-            ObjectNode sortedObject = objectMapper.createObjectNode();
-            sortedMap.forEach(sortedObject::set);
-            return sortedObject;
-        } else if (node.isArray()) {
-            ArrayNode sortedArray = objectMapper.createArrayNode();
             for (JsonNode element : node) {
-                sortedArray.add(sortJsonNode(element, sortByField));
-            }
-            if (sortByField != null && !sortByField.isBlank() && !node.isEmpty() && node.get(0).isObject()) {
-                List<JsonNode> elementsList = new ArrayList<>();
-                node.forEach(elementsList::add);
-                elementsList.sort((a, b) -> {
-                    JsonNode fieldA = a.get(sortByField);
-                    JsonNode fieldB = b.get(sortByField);
-                    return (fieldA == null || fieldB == null) ? 0 : fieldA.asText().compareTo(fieldB.asText());
-                });
-                sortedArray.removeAll();
-                elementsList.forEach(sortedArray::add);
+                sortJsonNode(element, spec);
+            }
+            if (spec != null && !node.isEmpty() && node.get(0).isObject()) {
+                JsonArraySorter.sort((ArrayNode) node, spec);
             }
-            return sortedArray;
         }
         return node;
     }
@@ -0,0 +1,154 @@
+package com.vserdiuk.json.utility.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Structural fingerprints of JSON trees, used to check that merged documents share the same shape.
+ * <p>
+ * Two trees have the same shape when their node types match, objects have the same set of field names
+ * (in any order) whose values have the same shape, and arrays are either both empty or have first elements of
+ * the same shape. A tree is reduced to a 64-bit fingerprint in a single walk without allocating, so comparing
+ * many documents against a reference costs one walk per document instead of one pairwise walk each.
+ * Fingerprints that differ always mean different shapes; {@link #describeDifference(JsonNode, JsonNode)} then
+ * locates the first difference for the error message.
+ * </p>
+ * <p>
+ * An instance checks a sequence of documents one at a time against the shape of the first one, keeping only
+ * that first document and its fingerprint.
+ * </p>
+ */
+final class JsonShape {
+
+    private static final long OBJECT_SEED = 0x6a09e667f3bcc908L;
+    private static final long ARRAY_SEED = 0xbb67ae8584caa73bL;
+    private static final long EMPTY_ARRAY_SEED = 0x3c6ef372fe94f82bL;
+    private static final long VALUE_SEED = 0xa54ff53a5f1d36f1L;
+    private static final long FIELD_MULTIPLIER = 0x9e3779b97f4a7c15L;
+
+    private JsonNode reference;
+    private long referenceFingerprint;
+    private int count;
+
+    /**
+     * Checks the next document of the sequence. The first document defines the expected shape.
+     *
+     * @param document the next document
+     * @throws IllegalArgumentException if the document does not have the same shape as the first one
+     */
+    void check(JsonNode document) {
+        count++;
+        if (reference == null) {
+            reference = document;
+            referenceFingerprint = fingerprint(document);
+        } else if (fingerprint(document) != referenceFingerprint) {
+            throw new IllegalArgumentException("JSONs have different structures: document " + count
+                    + " differs at " + describeDifference(reference, document));
+        }
+    }
+
+    /**
+     * Returns the number of documents checked so far.
+     *
+     * @return the document count
+     */
+    int count() {
+        return count;
+    }
+
+    /**
+     * Computes the structural fingerprint of a JSON tree. Field values are ignored; only node types, field
+     * names and nesting contribute.
+     *
+     * @param node the tree to fingerprint
+     * @return the fingerprint
+     */
+    static long fingerprint(JsonNode node) {
+        if (node.isObject()) {
+            // Field hashes are summed, so the fingerprint does not depend on field order
+            long fields = 0;
+            Iterator<Map.Entry<String, JsonNode>> iterator = node.fields();
+            while (iterator.hasNext()) {
+                Map.Entry<String, JsonNode> field = iterator.next();
+                fields += mix(hashName(field.getKey()) * FIELD_MULTIPLIER + fingerprint(field.getValue()));
+            }
+            return mix(OBJECT_SEED + node.size() + mix(fields));
+        }
+        if (node.isArray()) {
+            return node.isEmpty() ? mix(EMPTY_ARRAY_SEED) : mix(ARRAY_SEED + fingerprint(node.get(0)));
+        }
+        return mix(VALUE_SEED + node.getNodeType().ordinal());
+    }
+
+    /**
+     * Finds the first structural difference between two trees.
+     *
+     * @param expected the reference tree
+     * @param actual   the tree compared against the reference
+     * @return a description of the first difference, or {@code null} if both trees have the same shape
+     */
+    static String describeDifference(JsonNode expected, JsonNode actual) {
+        return describeDifference(expected, actual, "$");
+    }
+
+    private static String describeDifference(JsonNode expected, JsonNode actual, String path) {
+        if (expected.getNodeType() != actual.getNodeType()) {
+            return path + ": expected " + expected.getNodeType() + " but found " + actual.getNodeType();
+        }
+        if (expected.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> iterator = expected.fields();
+            while (iterator.hasNext()) {
+                Map.Entry<String, JsonNode> field = iterator.next();
+                JsonNode actualValue = actual.get(field.getKey());
+                if (actualValue == null) {
+                    return path + ": missing field '" + field.getKey() + "'";
+                }
+                String difference = describeDifference(field.getValue(), actualValue, path + "." + field.getKey());
+                if (difference != null) {
+                    return difference;
+                }
+            }
+            if (actual.size() != expected.size()) {
+                Iterator<String> names = actual.fieldNames();
+                while (names.hasNext()) {
+                    String name = names.next();
+                    if (!expected.has(name)) {
+                        return path + ": unexpected field '" + name + "'";
+                    }
+                }
+            }
+            return null;
+        }
+        if (expected.isArray()) {
+            if (expected.isEmpty() != actual.isEmpty()) {
+                return path + ": expected " + (expected.isEmpty() ? "an empty" : "a non-empty") + " array";
+            }
+            return expected.isEmpty() ? null : describeDifference(expected.get(0), actual.get(0), path + "[0]");
+        }
+        return null;
+    }
+
+    /**
+     * Hashes a string with 64-bit FNV-1a, which collides far less often than {@link String#hashCode()}.
+     */
+    static long hashName(String name) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < name.length(); i++) {
+            hash ^= name.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Scrambles the bits of a value with the SplitMix64 finalizer.
+     */
+    static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,129 @@
+package com.vserdiuk.json.utility.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A compiled sort specification: one or more keys, each a path to a value inside the elements being sorted
+ * and a direction.
+ * <p>
+ * A specification is written as comma-separated keys, such as {@code address.city,-founded,name}. Elements are
+ * ordered by the first key, with ties broken by the following ones. A key prefixed with {@code -} sorts in
+ * descending order. A path is a dot-separated list of field names, where a segment made of digits also selects
+ * an element when the value at that point is an array. Paths are split into segments once, when the
+ * specification is compiled, so resolving a key is a walk over precomputed segments with no parsing.
+ * </p>
+ */
+final class JsonSortSpec {
+
+    private final String[][] fields;
+    private final int[][] indexes;
+    private final boolean[] descending;
+
+    private JsonSortSpec(String[][] fields, int[][] indexes, boolean[] descending) {
+        this.fields = fields;
+        this.indexes = indexes;
+        this.descending = descending;
+    }
+
+    /**
+     * Compiles a sort specification.
+     *
+     * @param spec comma-separated keys, each a dotted path optionally prefixed with {@code -} for descending order
+     * @return the compiled specification
+     * @throws IllegalArgumentException if a key or one of its path segments is empty
+     */
+    static JsonSortSpec parse(String spec) {
+        String[] keys = spec.split(",", -1);
+        String[][] fields = new String[keys.length][];
+        int[][] indexes = new int[keys.length][];
+        boolean[] descending = new boolean[keys.length];
+        for (int k = 0; k < keys.length; k++) {
+            String key = keys[k].trim();
+            if (key.startsWith("-") || key.startsWith("+")) {
+                descending[k] = key.charAt(0) == '-';
+                key = key.substring(1);
+            }
+            fields[k] = key.split("\\.", -1);
+            indexes[k] = new int[fields[k].length];
+            for (int s = 0; s < fields[k].length; s++) {
+                if (fields[k][s].isEmpty()) {
+                    throw new IllegalArgumentException("Invalid sort specification: empty path in key " + (k + 1) + " of '" + spec + "'");
+                }
+                indexes[k][s] = arrayIndex(fields[k][s]);
+            }
+        }
+        return new JsonSortSpec(fields, indexes, descending);
+    }
+
+    /**
+     * Creates a specification that sorts in ascending order by a single top-level field, taken literally.
+     *
+     * @param field the field name
+     * @return the specification
+     */
+    static JsonSortSpec ofField(String field) {
+        return new JsonSortSpec(new String[][]{{field}}, new int[][]{{-1}}, new boolean[1]);
+    }
+
+    /**
+     * Returns the number of keys.
+     *
+     * @return the key count
+     */
+    int size() {
+        return fields.length;
+    }
+
+    /**
+     * Checks whether a key sorts in descending order.
+     *
+     * @param key the index of the key
+     * @return {@code true} for descending order
+     */
+    boolean isDescending(int key) {
+        return descending[key];
+    }
+
+    /**
+     * Resolves the value of a key in an element.
+     *
+     * @param key     the index of the key
+     * @param element the element
+     * @return the value at the key's path, or {@code null} if the path does not exist in the element
+     */
+    JsonNode resolve(int key, JsonNode element) {
+        String[] path = fields[key];
+        int[] pathIndexes = indexes[key];
+        JsonNode node = element;
+        for (int s = 0; s < path.length && node != null; s++) {
+            node = node.isArray() && pathIndexes[s] >= 0 ? node.get(pathIndexes[s]) : node.get(path[s]);
+        }
+        return node;
+    }
+
+    /**
+     * Resolves the values of all keys in an element.
+     *
+     * @param element the element
+     * @return the values, in key order; {@code null} where a path does not exist in the element
+     */
+    JsonNode[] resolveAll(JsonNode element) {
+        JsonNode[] values = new JsonNode[fields.length];
+        for (int k = 0; k < fields.length; k++) {
+            values[k] = resolve(k, element);
+        }
+        return values;
+    }
+
+    private static int arrayIndex(String segment) {
+        if (segment.length() > 9) {
+            return -1;
+        }
+        for (int i = 0; i < segment.length(); i++) {
+            if (segment.charAt(i) < '0' || segment.charAt(i) > '9') {
+                return -1;
+            }
+        }
+        return Integer.parseInt(segment);
+    }
+}
@@ -0,0 +1,383 @@
+package com.vserdiuk.json.utility.service.impl;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Matches a text against many search terms at once.
+ * <p>
+ * Literal terms, whatever their mode, are compiled into a single Aho-Corasick automaton over case-folded
+ * characters, so a text is scanned once however many terms there are. Each occurrence the automaton reports is
+ * then checked against the mode of its term: anchored at the start and end of the text for {@code exact} and
+ * {@code case-insensitive}, at the start for {@code prefix} and anywhere for {@code contains}, with the original
+ * characters compared again for the case-sensitive modes. When no term is of the {@code contains} mode, the scan
+ * stops as soon as the text no longer starts with a prefix of some term. Terms of the {@code regex} mode are
+ * matched separately, anywhere in the text.
+ * </p>
+ * <p>
+ * An instance keeps the terms matched by the last text, so it must not be shared between threads.
+ * </p>
+ */
+final class JsonTermMatcher {
+
+    /**
+     * How a term is compared with a text.
+     */
+    enum Mode {
+        /** The text equals the term. */
+        EXACT,
+        /** The text starts with the term. */
+        PREFIX,
+        /** The text contains the term. */
+        CONTAINS,
+        /** The text equals the term, ignoring case. */
+        CASE_INSENSITIVE,
+        /** The regular expression matches somewhere in the text. */
+        REGEX;
+
+        /**
+         * Parses a mode by name, such as {@code exact} or {@code case-insensitive}.
+         *
+         * @param name the mode name, in any case
+         * @return the mode
+         * @throws IllegalArgumentException if there is no mode of that name
+         */
+        static Mode parse(String name) {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid search mode: '" + name
+                        + "'; expected exact, prefix, contains, case-insensitive or regex", e);
+            }
+        }
+    }
+
+    private final String[] terms;
+    private final Mode[] modes;
+    private final Automaton automaton;
+    private final boolean anchoredOnly;
+    private final int[] emptyTerms;
+    private final int[] regexTerms;
+    private final Pattern[] patterns;
+    private final boolean numeric;
+    // Terms matched by the current text, with a per-term stamp of the last text each was matched in
+    private final int[] matched;
+    private final int[] stamps;
+    private int matchCount;
+    private int stamp;
+
+    private JsonTermMatcher(String[] terms, Mode[] modes) {
+        this.terms = terms;
+        this.modes = modes;
+        this.patterns = new Pattern[terms.length];
+        List<Integer> literals = new ArrayList<>();
+        List<Integer> empty = new ArrayList<>();
+        List<Integer> regex = new ArrayList<>();
+        boolean anchored = true;
+        boolean numeric = false;
+        for (int t = 0; t < terms.length; t++) {
+            if (modes[t] == Mode.REGEX) {
+                try {
+                    patterns[t] = Pattern.compile(terms[t]);
+                } catch (PatternSyntaxException e) {
+                    throw new IllegalArgumentException("Invalid search: bad regular expression '" + terms[t] + "': "
+                            + e.getDescription(), e);
+                }
+                regex.add(t);
+                numeric = true;
+            } else if (terms[t].isEmpty()) {
+                empty.add(t);
+                numeric |= modes[t] != Mode.EXACT && modes[t] != Mode.CASE_INSENSITIVE;
+            } else {
+                literals.add(t);
+                anchored &= modes[t] != Mode.CONTAINS;
+                numeric |= modes[t] == Mode.CONTAINS || isNumberStart(terms[t].charAt(0));
+            }
+        }
+        char[][] folded = new char[literals.size()][];
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = fold(terms[literals.get(i)]);
+        }
+        this.automaton = new Automaton(folded, literals.stream().mapToInt(Integer::intValue).toArray());
+        this.anchoredOnly = anchored;
+        this.emptyTerms = empty.stream().mapToInt(Integer::intValue).toArray();
+        this.regexTerms = regex.stream().mapToInt(Integer::intValue).toArray();
+        this.numeric = numeric;
+        this.matched = new int[terms.length];
+        this.stamps = new int[terms.length];
+    }
+
+    /**
+     * Compiles search terms with their modes.
+     *
+     * @param terms the terms
+     * @param modes the mode of each term
+     * @return the matcher
+     * @throws IllegalArgumentException if a regular expression is not valid
+     */
+    static JsonTermMatcher compile(List<String> terms, List<Mode> modes) {
+        return new JsonTermMatcher(terms.toArray(new String[0]), modes.toArray(new Mode[0]));
+    }
+
+    /**
+     * Creates a matcher for a single exact term.
+     *
+     * @param term the term; {@code null} matches nothing
+     * @return the matcher
+     */
+    static JsonTermMatcher exact(String term) {
+        return term == null ? compile(List.of(), List.of()) : compile(List.of(term), List.of(Mode.EXACT));
+    }
+
+    /**
+     * Returns the number of terms.
+     *
+     * @return the term count
+     */
+    int size() {
+        return terms.length;
+    }
+
+    /**
+     * Checks whether some term might match the text of a number, which is then worth rendering.
+     *
+     * @return {@code false} if no number can match any term
+     */
+    boolean mayMatchNumbers() {
+        return numeric;
+    }
+
+    /**
+     * Matches a text against all terms.
+     *
+     * @param text   the characters of the text
+     * @param offset the offset of the text in the array
+     * @param length the length of the text
+     * @return the number of terms matched, which are then given by {@link #matchedTerm(int)}
+     */
+    int match(char[] text, int offset, int length) {
+        matchCount = 0;
+        if (++stamp == 0) {
+            Arrays.fill(stamps, 0);
+            stamp = 1;
+        }
+        for (int t : emptyTerms) {
+            if (length == 0 || modes[t] != Mode.EXACT && modes[t] != Mode.CASE_INSENSITIVE) {
+                add(t);
+            }
+        }
+        if (automaton.size() > 0 && length > 0) {
+            scan(text, offset, length);
+        }
+        if (regexTerms.length > 0) {
+            CharBuffer chars = CharBuffer.wrap(text, offset, length);
+            for (int t : regexTerms) {
+                if (stamps[t] != stamp && patterns[t].matcher(chars).find()) {
+                    add(t);
+                }
+            }
+        }
+        return matchCount;
+    }
+
+    /**
+     * Returns a term matched by the last text.
+     *
+     * @param i the position among the matched terms
+     * @return the index of the term
+     */
+    int matchedTerm(int i) {
+        return matched[i];
+    }
+
+    private void scan(char[] text, int offset, int length) {
+        int state = 0;
+        for (int i = 0; i < length; i++) {
+            state = automaton.next(state, fold(text[offset + i]));
+            if (anchoredOnly && automaton.depth(state) != i + 1) {
+                // The text no longer starts with a prefix of any term, and only anchored terms are left
+                return;
+            }
+            for (int t : automaton.outputs(state)) {
+                if (stamps[t] == stamp) {
+                    continue;
+                }
+                int end = i + 1;
+                int start = end - terms[t].length();
+                boolean accepted = switch (modes[t]) {
+                    case EXACT -> start == 0 && end == length && regionEquals(text, offset, terms[t]);
+                    case PREFIX -> start == 0 && regionEquals(text, offset, terms[t]);
+                    case CONTAINS -> regionEquals(text, offset + start, terms[t]);
+                    case CASE_INSENSITIVE -> start == 0 && end == length;
+                    default -> false;
+                };
+                if (accepted) {
+                    add(t);
+                }
+            }
+        }
+    }
+
+    private void add(int term) {
+        stamps[term] = stamp;
+        matched[matchCount++] = term;
+    }
+
+    private static boolean regionEquals(char[] text, int offset, String term) {
+        for (int i = 0; i < term.length(); i++) {
+            if (text[offset + i] != term.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Folds a character to the form compared when ignoring case, as {@link String#equalsIgnoreCase(String)} does.
+     */
+    private static char fold(char c) {
+        if (c < 0x80) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static char[] fold(String term) {
+        char[] folded = new char[term.length()];
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = fold(term.charAt(i));
+        }
+        return folded;
+    }
+
+    private static boolean isNumberStart(char c) {
+        // Numbers render as digits, a minus sign or, once out of the range of a double, "Infinity"
+        return c >= '0' && c <= '9' || c == '-' || c == 'I' || c == 'i';
+    }
+
+    /**
+     * An Aho-Corasick automaton: a trie of the patterns with, for every node, a failure link to the node of its
+     * longest proper suffix that is also in the trie, and the patterns ending at the node or at any node on its
+     * chain of failure links.
+     */
+    private static final class Automaton {
+
+        private static final int[] NONE = new int[0];
+
+        private final char[][] labels;
+        private final int[][] targets;
+        private final int[] failure;
+        private final int[] depths;
+        private final int[][] outputs;
+        private final int patternCount;
+
+        /**
+         * Builds the automaton.
+         *
+         * @param patterns the patterns, non-empty
+         * @param ids      the identifier reported for each pattern
+         */
+        private Automaton(char[][] patterns, int[] ids) {
+            this.patternCount = patterns.length;
+            List<Map<Character, Integer>> trie = new ArrayList<>();
+            List<Integer> depthList = new ArrayList<>();
+            List<List<Integer>> outputList = new ArrayList<>();
+            trie.add(new HashMap<>());
+            depthList.add(0);
+            outputList.add(new ArrayList<>());
+            for (int p = 0; p < patterns.length; p++) {
+                int node = 0;
+                for (char c : patterns[p]) {
+                    Integer child = trie.get(node).get(c);
+                    if (child == null) {
+                        child = trie.size();
+                        trie.get(node).put(c, child);
+                        trie.add(new HashMap<>());
+                        depthList.add(depthList.get(node) + 1);
+                        outputList.add(new ArrayList<>());
+                    }
+                    node = child;
+                }
+                outputList.get(node).add(ids[p]);
+            }
+
+            int size = trie.size();
+            labels = new char[size][];
+            targets = new int[size][];
+            depths = new int[size];
+            for (int node = 0; node < size; node++) {
+                Character[] chars = trie.get(node).keySet().toArray(new Character[0]);
+                Arrays.sort(chars);
+                labels[node] = new char[chars.length];
+                targets[node] = new int[chars.length];
+                for (int i = 0; i < chars.length; i++) {
+                    labels[node][i] = chars[i];
+                    targets[node][i] = trie.get(node).get(chars[i]);
+                }
+                depths[node] = depthList.get(node);
+            }
+
+            // Failure links and outputs, breadth first so that every link points to a node already done
+            failure = new int[size];
+            outputs = new int[size][];
+            outputs[0] = NONE;
+            int[] queue = new int[size];
+            int head = 0;
+            int tail = 0;
+            for (int child : targets[0]) {
+                queue[tail++] = child;
+            }
+            while (head < tail) {
+                int node = queue[head++];
+                List<Integer> own = outputList.get(node);
+                int[] inherited = outputs[failure[node]];
+                int[] merged = new int[own.size() + inherited.length];
+                for (int i = 0; i < own.size(); i++) {
+                    merged[i] = own.get(i);
+                }
+                System.arraycopy(inherited, 0, merged, own.size(), inherited.length);
+                outputs[node] = merged.length == 0 ? NONE : merged;
+                for (int i = 0; i < labels[node].length; i++) {
+                    int child = targets[node][i];
+                    failure[child] = node == 0 ? 0 : next(failure[node], labels[node][i]);
+                    queue[tail++] = child;
+                }
+            }
+        }
+
+        private int size() {
+            return patternCount;
+        }
+
+        private int depth(int state) {
+            return depths[state];
+        }
+
+        private int[] outputs(int state) {
+            return outputs[state];
+        }
+
+        /**
+         * Follows the transition on a character, falling back along failure links where the trie has none.
+         */
+        private int next(int state, char c) {
+            while (true) {
+                int i = Arrays.binarySearch(labels[state], c);
+                if (i >= 0) {
+                    return targets[state][i];
+                }
+                if (state == 0) {
+                    return 0;
+                }
+                state = failure[state];
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.vserdiuk.json.utility.service.impl;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import java.io.IOException;
+import java.util.PriorityQueue;
+
+/**
+ * Selects a slice of the sorted order of a streamed JSON array without sorting the whole array.
+ * <p>
+ * Elements are read one at a time and only the first {@code offset + limit} of them in sort order are kept, in a
+ * bounded heap whose head is the largest element kept so far. An element that sorts before the head replaces it;
+ * any other element is dropped as soon as its keys have been compared. Memory is therefore bounded by the size
+ * of the slice rather than the array, and the time taken is O(N log K) for N elements and K kept. The order is
+ * the one of {@link JsonArraySorter}, including keeping elements with equal keys in input order.
+ * </p>
+ */
+final class JsonTopK {
+
+    private JsonTopK() {
+    }
+
+    /**
+     * Reads the elements of an array and returns the requested slice of their sorted order.
+     *
+     * @param parser the parser, positioned at the start of the array; left after its end
+     * @param spec   the sort specification
+     * @param offset the number of elements to skip from the start of the sorted order
+     * @param limit  the maximum number of elements to return
+     * @return the selected elements, in sorted order
+     * @throws IOException if the input cannot be parsed
+     */
+    static ArrayNode select(JsonParser parser, JsonSortSpec spec, int offset, int limit) throws IOException {
+        int capacity = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+        // Reversed, so that the head is the element that sorts last and is the first to be evicted
+        PriorityQueue<Candidate> kept = new PriorityQueue<>(Math.max(1, Math.min(capacity, 1024)),
+                (a, b) -> compare(spec, b, a));
+        int index = 0;
+        for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+            if (token == null) {
+                throw new JsonParseException(parser, "Unexpected end of input: the array is not closed");
+            }
+            JsonNode element = parser.readValueAsTree();
+            if (capacity == 0) {
+                continue;
+            }
+            Candidate candidate = new Candidate(element, spec.resolveAll(element), index++);
+            if (kept.size() < capacity) {
+                kept.add(candidate);
+            } else if (compare(spec, candidate, kept.peek()) < 0) {
+                kept.poll();
+                kept.add(candidate);
+            }
+        }
+
+        Candidate[] sorted = new Candidate[kept.size()];
+        for (int i = sorted.length - 1; i >= 0; i--) {
+            sorted[i] = kept.poll();
+        }
+        ArrayNode slice = JsonNodeFactory.instance.arrayNode();
+        for (int i = offset; i < sorted.length; i++) {
+            slice.add(sorted[i].element());
+        }
+        return slice;
+    }
+
+    private static int compare(JsonSortSpec spec, Candidate a, Candidate b) {
+        int result = JsonArraySorter.compareKeys(spec, a.keys(), b.keys());
+        return result != 0 ? result : Integer.compare(a.index(), b.index());
+    }
+
+    /**
+     * An element kept in the heap, with its sort key values and its position in the input.
+     */
+    private record Candidate(JsonNode element, JsonNode[] keys, int index) {
+    }
+}
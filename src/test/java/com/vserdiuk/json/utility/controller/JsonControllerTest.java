@@ -13,22 +13,34 @@ import org.springframework.restdocs.RestDocumentationContextProvider;
 import org.springframework.restdocs.RestDocumentationExtension;
 import org.springframework.restdocs.mockmvc.RestDocumentationResultHandler;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static com.epages.restdocs.apispec.ResourceDocumentation.resource;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.restdocs.headers.HeaderDocumentation.headerWithName;
 import static org.springframework.restdocs.headers.HeaderDocumentation.requestHeaders;
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.documentationConfiguration;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.post;
 import static org.springframework.restdocs.operation.preprocess.Preprocessors.*;
 import static org.springframework.restdocs.payload.PayloadDocumentation.requestBody;
 import static org.springframework.restdocs.payload.PayloadDocumentation.responseBody;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(RestDocumentationExtension.class)
@@ -369,7 +381,7 @@ class JsonControllerTest {
                   }
                 """;
 
-        when(jsonService.validateJson(json)).thenReturn(true);
+        when(jsonService.validateJson(json.getBytes(StandardCharsets.UTF_8))).thenReturn(true);
 
         // Act & Assert
         mockMvc.perform(post("/api/json/validate")
@@ -540,7 +552,7 @@ class JsonControllerTest {
                 
                 """;
 
-        when(jsonService.prettyPrintJson(json)).thenReturn(prettyJson);
+        when(jsonService.prettyPrintJson(json.getBytes(StandardCharsets.UTF_8))).thenReturn(prettyJson);
 
         // Act & Assert
         mockMvc.perform(post("/api/json/pretty")
@@ -563,6 +575,48 @@ class JsonControllerTest {
                 ));
     }
 
+    /**
+     * Tests the /json/pretty endpoint in streaming mode
+     */
+    @Test
+    void testPrettyPrintJson_streamMode_streamsPrettyJson_andGenerateDocs() throws Exception {
+        // Arrange
+        String json = "{\"name\":\"Tech Solutions Inc.\",\"founded\":1998,\"offices\":[\"San Francisco\",\"New York\"]}";
+        String prettyJson = """
+                {
+                  "name" : "Tech Solutions Inc.",
+                  "founded" : 1998,
+                  "offices" : [ "San Francisco", "New York" ]
+                }""";
+
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write(prettyJson.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(jsonService).prettyPrintJson(any(InputStream.class), any(OutputStream.class));
+
+        // Act & Assert
+        MvcResult mvcResult = mockMvc.perform(post("/api/json/pretty")
+                        .queryParam("stream", "true")
+                        .contentType("application/json")
+                        .content(json))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().json(prettyJson))
+                .andDo(document(
+                        "json-pretty-print-stream",
+                        responseBody(),
+                        resource(
+                                ResourceSnippetParameters.builder()
+                                        .description("Streams a pretty-printed version of the given JSON straight to the response without building a tree")
+                                        .build()
+                        )
+                ));
+    }
+
     /**
      * Tests the /json/merge endpoint
      */
@@ -1217,6 +1271,246 @@ class JsonControllerTest {
 
     }
 
+    /**
+     * Tests the /json/merge endpoint with newline-delimited JSON
+     */
+    @Test
+    void testMergeJson_ndjson_streamsMergedArray_andGenerateDocs() throws Exception {
+        // Arrange
+        String ndjson = """
+                {"name":"Tech Solutions Inc.","founded":1998}
+                {"name":"Future Innovations Ltd.","founded":2005}
+                {"name":"Green Energy Ltd.","founded":2010}
+                """;
+        String mergedJson = "[{\"name\":\"Tech Solutions Inc.\",\"founded\":1998},{\"name\":\"Future Innovations Ltd.\",\"founded\":2005},{\"name\":\"Green Energy Ltd.\",\"founded\":2010}]";
+
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write(mergedJson.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(jsonService).mergeJson(any(InputStream.class), any(OutputStream.class), eq(true));
+
+        // Act & Assert
+        MvcResult mvcResult = mockMvc.perform(post("/api/json/merge")
+                        .contentType("application/x-ndjson")
+                        .content(ndjson))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().json(mergedJson))
+                .andDo(document(
+                        "merge-ndjson",
+                        responseBody(),
+                        resource(
+                                ResourceSnippetParameters.builder()
+                                        .description("Merges any number of newline-delimited JSON documents of the same structure into a JSON array, streamed to the response")
+                                        .build()
+                        )
+                ));
+    }
+
+    /**
+     * Tests the /json/merge endpoint with newline-delimited JSON and streaming mode requested explicitly
+     */
+    @Test
+    void testMergeJson_ndjsonWithStreamParam_mergesAsNdjson_andGenerateDocs() throws Exception {
+        // Arrange
+        String ndjson = """
+                {"name":"Tech Solutions Inc.","founded":1998}
+                {"name":"Green Energy Ltd.","founded":2010}
+                """;
+        String mergedJson = "[{\"name\":\"Tech Solutions Inc.\",\"founded\":1998},{\"name\":\"Green Energy Ltd.\",\"founded\":2010}]";
+
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write(mergedJson.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(jsonService).mergeJson(any(InputStream.class), any(OutputStream.class), eq(true));
+
+        // Act & Assert
+        MvcResult mvcResult = mockMvc.perform(post("/api/json/merge")
+                        .queryParam("stream", "true")
+                        .contentType("application/x-ndjson")
+                        .content(ndjson))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().json(mergedJson))
+                .andDo(document(
+                        "merge-ndjson-stream",
+                        responseBody(),
+                        resource(
+                                ResourceSnippetParameters.builder()
+                                        .description("Merges newline-delimited JSON documents when streaming mode is also requested with stream=true")
+                                        .build()
+                        )
+                ));
+    }
+
+    /**
+     * Tests the /json/merge endpoint in deep-merge mode
+     */
+    @Test
+    void testDeepMergeJson_mergePatches_returnsMergedJson_andGenerateDocs() throws Exception {
+        // Arrange
+        List<String> jsons = List.of(
+                "{\"name\":\"Tech Solutions Inc.\",\"address\":{\"city\":\"New York\",\"zip\":\"10001\"}}",
+                "{\"address\":{\"zip\":null,\"state\":\"NY\"},\"founded\":1998}");
+        String mergedJson = "{\"name\":\"Tech Solutions Inc.\",\"address\":{\"city\":\"New York\",\"state\":\"NY\"},\"founded\":1998}";
+
+        when(jsonService.deepMergeJson(jsons)).thenReturn(mergedJson);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/json/merge")
+                        .queryParam("mode", "deep")
+                        .contentType("application/json")
+                        .content(new ObjectMapper().writeValueAsString(jsons)))
+                .andExpect(status().isOk())
+                .andExpect(content().json(mergedJson))
+                .andDo(document(
+                        "deep-merge-jsons",
+                        requestBody(),
+                        responseBody(),
+                        requestHeaders(
+                                headerWithName("Content-Type").description("The content type, which must be `application/json`.")
+                        ),
+                        resource(
+                                ResourceSnippetParameters.builder()
+                                        .description("Folds JSON documents into one by applying each as a JSON Merge Patch (RFC 7396) to the previous result")
+                                        .build()
+                        )
+                ));
+    }
+
+    /**
+     * Tests the /json/diff endpoint
+     */
+    @Test
+    void testDiffJson_changedDocuments_returnsPatch_andGenerateDocs() throws Exception {
+        // Arrange
+        String source = "{\"name\":\"Tech Solutions Inc.\",\"founded\":1998,\"offices\":[\"San Francisco\"]}";
+        String target = "{\"name\":\"Tech Solutions Inc.\",\"founded\":1999,\"offices\":[\"San Francisco\",\"New York\"]}";
+        String patch = "[{\"op\":\"replace\",\"path\":\"/founded\",\"value\":1999},{\"op\":\"add\",\"path\":\"/offices/1\",\"value\":\"New York\"}]";
+
+        when(jsonService.diffJson(source, target, false)).thenReturn(patch);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/json/diff")
+                        .contentType("application/json")
+                        .content(new ObjectMapper().writeValueAsString(List.of(source, target))))
+                .andExpect(status().isOk())
+                .andExpect(content().json(patch))
+                .andDo(document(
+                        "diff-jsons",
+                        requestBody(),
+                        responseBody(),
+                        requestHeaders(
+                                headerWithName("Content-Type").description("The content type, which must be `application/json`.")
+                        ),
+                        resource(
+                                ResourceSnippetParameters.builder()
+                                        .description("Computes a JSON Patch (RFC 6902) that turns the first JSON string into the second")
+                                        .build()
+                        )
+                ));
+    }
+
+    /**
+     * Tests the /json/patch endpoint
+     */
+    @Test
+    void testPatchJson_validPatch_returnsPatchedJson_andGenerateDocs() throws Exception {
+        // Arrange
+        String json = "{\"name\":\"Tech Solutions Inc.\",\"founded\":1998,\"offices\":[\"San Francisco\"]}";
+        String patch = "[{\"op\":\"replace\",\"path\":\"/founded\",\"value\":1999},{\"op\":\"add\",\"path\":\"/offices/-\",\"value\":\"New York\"}]";
+        String patchedJson = "{\"name\":\"Tech Solutions Inc.\",\"founded\":1999,\"offices\":[\"San Francisco\",\"New York\"]}";
+
+        when(jsonService.patchJson(json, patch)).thenReturn(patchedJson);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/json/patch")
+                        .contentType("application/json")
+                        .content(new ObjectMapper().writeValueAsString(List.of(json, patch))))
+                .andExpect(status().isOk())
+                .andExpect(content().json(patchedJson))
+                .andDo(document(
+                        "patch-json",
+                        requestBody(),
+                        responseBody(),
+                        requestHeaders(
+                                headerWithName("Content-Type").description("The content type, which must be `application/json`.")
+                        ),
+                        resource(
+                                ResourceSnippetParameters.builder()
+                                        .description("Applies a JSON Patch (RFC 6902) to a JSON document and returns the minified result")
+                                        .build()
+                        )
+                ));
+    }
+
+    /**
+     * Tests the /json/canonicalize endpoint
+     */
+    @Test
+    void testCanonicalizeJson_validJson_returnsCanonicalJson_andGenerateDocs() throws Exception {
+        // Arrange
+        String json = "{ \"name\": \"Tech Solutions Inc.\", \"founded\": 1998.0, \"address\": { \"zip\": \"10001\", \"city\": \"New York\" } }";
+        String canonicalJson = "{\"address\":{\"city\":\"New York\",\"zip\":\"10001\"},\"founded\":1998,\"name\":\"Tech Solutions Inc.\"}";
+
+        when(jsonService.canonicalizeJson(json.getBytes(StandardCharsets.UTF_8))).thenReturn(canonicalJson);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/json/canonicalize")
+                        .contentType("application/json")
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(content().string(canonicalJson))
+                .andDo(document(
+                        "canonicalize-json",
+                        requestBody(),
+                        responseBody(),
+                        resource(
+                                ResourceSnippetParameters.builder()
+                                        .description("Converts JSON into its canonical form (RFC 8785)")
+                                        .build()
+                        )
+                ));
+    }
+
+    /**
+     * Tests the /json/canonicalize endpoint with a hash algorithm
+     */
+    @Test
+    void testCanonicalizeJson_hash_returnsDigest_andGenerateDocs() throws Exception {
+        // Arrange
+        String json = "{\"name\":\"Tech Solutions Inc.\",\"founded\":1998}";
+        String digest = "4e1c8f3a8b0f5d6c2e7a9b1d3f5e7c9a0b2d4f6e8a1c3e5f7b9d0a2c4e6f8b1d";
+
+        when(jsonService.hashCanonicalJson(json.getBytes(StandardCharsets.UTF_8), "sha256")).thenReturn(digest);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/json/canonicalize")
+                        .queryParam("hash", "sha256")
+                        .contentType("application/json")
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(content().string(digest))
+                .andDo(document(
+                        "canonicalize-json-hash",
+                        requestBody(),
+                        responseBody(),
+                        resource(
+                                ResourceSnippetParameters.builder()
+                                        .description("Returns the hex-encoded digest of the canonical form (RFC 8785) of JSON")
+                                        .build()
+                        )
+                ));
+    }
+
     /**
      * Tests the /json/validate-schema endpoint
      */
@@ -1539,7 +1833,7 @@ class JsonControllerTest {
                 }
                 """;
 
-        when(jsonService.validateJsonWithSchema(json, schema)).thenReturn(true);
+        when(jsonService.validateJsonWithSchema(json.getBytes(StandardCharsets.UTF_8), schema)).thenReturn(true);
 
         // Act & Assert
         // Act & Assert
@@ -1550,7 +1844,182 @@ class JsonControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("true"))
                 .andDo(document(
-                        "json-validate-schema",
+                        "json-validate-schema",
+                        requestBody(),
+                        responseBody(),
+                        requestHeaders(
+                                headerWithName("Content-Type").description("The content type, which must be `application/json`.")
+                        ),
+                        resource(
+                                ResourceSnippetParameters.builder()
+                                        .description("Validates a JSON string against a JSON Schema")
+                                        .build()
+                        )
+                ));
+    }
+
+    /**
+     * Tests the /json/schema-cache/stats endpoint
+     */
+    @Test
+    void testGetSchemaCacheStats_returnsStats_andGenerateDocs() throws Exception {
+        // Arrange
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("hits", 41L);
+        stats.put("misses", 2L);
+        stats.put("evictions", 0L);
+        stats.put("size", 2L);
+        stats.put("weight", 1834L);
+
+        when(jsonService.getSchemaCacheStats()).thenReturn(stats);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/json/schema-cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(new ObjectMapper().writeValueAsString(stats)))
+                .andDo(document(
+                        "schema-cache-stats",
+                        responseBody(),
+                        resource(
+                                ResourceSnippetParameters.builder()
+                                        .description("Returns hit, miss and eviction counters of the compiled JSON Schema cache, with the number of cached schemas and their total size in bytes")
+                                        .build()
+                        )
+                ));
+    }
+
+    /**
+     * Tests the /json/schemas endpoint
+     */
+    @Test
+    void testRegisterSchema_validSchema_returnsSchemaId_andGenerateDocs() throws Exception {
+        // Arrange
+        String schema = """
+                {
+                  "$schema": "http://json-schema.org/draft-04/schema#",
+                  "type": "object",
+                  "properties": {
+                    "name": { "type": "string" },
+                    "founded": { "type": "integer" }
+                  },
+                  "required": ["name"]
+                }
+                """;
+        String schemaId = "3f1c2a9e4b7d8e6f0a1b2c3d4e5f60718293a4b5c6d7e8f90a1b2c3d4e5f6071";
+
+        when(jsonService.registerSchema(schema.getBytes(StandardCharsets.UTF_8))).thenReturn(schemaId);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/json/schemas")
+                        .contentType("application/json")
+                        .content(schema))
+                .andExpect(status().isOk())
+                .andExpect(content().string(schemaId))
+                .andDo(document(
+                        "register-schema",
+                        requestBody(),
+                        responseBody(),
+                        requestHeaders(
+                                headerWithName("Content-Type").description("The content type, which must be `application/json`.")
+                        ),
+                        resource(
+                                ResourceSnippetParameters.builder()
+                                        .description("Registers a JSON Schema and returns its ID for later validation by ID")
+                                        .build()
+                        )
+                ));
+    }
+
+    /**
+     * Tests the /json/validate-schema/{id} endpoint
+     */
+    @Test
+    void testValidateJsonWithSchemaId_validJson_returnsTrue_andGenerateDocs() throws Exception {
+        // Arrange
+        String json = "{\"name\": \"Tech Solutions Inc.\", \"founded\": 1998}";
+        String schemaId = "3f1c2a9e4b7d8e6f0a1b2c3d4e5f60718293a4b5c6d7e8f90a1b2c3d4e5f6071";
+
+        when(jsonService.validateJsonWithSchemaId(json.getBytes(StandardCharsets.UTF_8), schemaId)).thenReturn(true);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/json/validate-schema/{id}", schemaId)
+                        .contentType("application/json")
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(content().string("true"))
+                .andDo(document(
+                        "json-validate-schema-id",
+                        requestBody(),
+                        responseBody(),
+                        requestHeaders(
+                                headerWithName("Content-Type").description("The content type, which must be `application/json`.")
+                        ),
+                        resource(
+                                ResourceSnippetParameters.builder()
+                                        .description("Validates a JSON string against a previously registered JSON Schema")
+                                        .build()
+                        )
+                ));
+    }
+
+    /**
+     * Tests the /json/validate-schema endpoint in streaming array mode
+     */
+    @Test
+    void testValidateJsonArrayWithSchema_streamMode_returnsErrors_andGenerateDocs() throws Exception {
+        // Arrange
+        String json = "[{\"name\": \"Tech Solutions Inc.\"}, {\"founded\": 2005}]";
+        String schema = "{\"type\": \"array\", \"items\": {\"type\": \"object\", \"required\": [\"name\"]}}";
+
+        when(jsonService.validateJsonArrayWithSchema(any(InputStream.class), eq(schema), eq(Integer.MAX_VALUE)))
+                .thenReturn(List.of("[1] $.name: is missing but it is required"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/json/validate-schema")
+                        .queryParam("stream", "true")
+                        .queryParam("schema", schema)
+                        .contentType("application/json")
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[\"[1] $.name: is missing but it is required\"]"))
+                .andDo(document(
+                        "json-validate-schema-stream",
+                        requestBody(),
+                        responseBody(),
+                        requestHeaders(
+                                headerWithName("Content-Type").description("The content type, which must be `application/json`.")
+                        ),
+                        resource(
+                                ResourceSnippetParameters.builder()
+                                        .description("Validates each element of a top-level JSON array against the schema's items, reading the array as a stream")
+                                        .build()
+                        )
+                ));
+    }
+
+    /**
+     * Tests the /json/validate-schema endpoint with the error list requested
+     */
+    @Test
+    void testGetSchemaValidationErrors_failFast_returnsFirstError_andGenerateDocs() throws Exception {
+        // Arrange
+        String json = "{\"name\": 1, \"founded\": \"1998\"}";
+        String schema = "{\"type\": \"object\", \"properties\": {\"name\": {\"type\": \"string\"}, \"founded\": {\"type\": \"integer\"}}}";
+
+        when(jsonService.getSchemaValidationErrors(json.getBytes(StandardCharsets.UTF_8), schema, 1))
+                .thenReturn(List.of("$.name: integer found, string expected"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/json/validate-schema")
+                        .queryParam("schema", schema)
+                        .queryParam("errors", "true")
+                        .queryParam("failFast", "true")
+                        .contentType("application/json")
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[\"$.name: integer found, string expected\"]"))
+                .andDo(document(
+                        "json-validate-schema-errors",
                         requestBody(),
                         responseBody(),
                         requestHeaders(
@@ -1558,7 +2027,7 @@ class JsonControllerTest {
                         ),
                         resource(
                                 ResourceSnippetParameters.builder()
-                                        .description("Validates a JSON string against a JSON Schema")
+                                        .description("Validates a JSON string against a JSON Schema and returns the errors, bounded by failFast or maxErrors")
                                         .build()
                         )
                 ));
@@ -1714,7 +2183,7 @@ class JsonControllerTest {
         String minifiedJson = prettyJson.replaceAll("\\s+", "");
 
         // Mock the service behavior
-        when(jsonService.minifyJson(prettyJson)).thenReturn(minifiedJson);
+        when(jsonService.minifyJson(prettyJson.getBytes(StandardCharsets.UTF_8))).thenReturn(minifiedJson);
 
         // Act & Assert
         mockMvc.perform(post("/api/json/minify")
@@ -2360,7 +2829,7 @@ class JsonControllerTest {
                 }
                 """;
 
-        when(jsonService.sortJson(json, sortByField)).thenReturn(sortedJson);
+        when(jsonService.sortJson(json.getBytes(StandardCharsets.UTF_8), sortByField)).thenReturn(sortedJson);
 
         // Act & Assert
         mockMvc.perform(post("/api/json/sort")
@@ -2384,6 +2853,137 @@ class JsonControllerTest {
                 ));
     }
 
+    /**
+     * Tests the /json/sort endpoint with a multi-key sort specification
+     */
+    @Test
+    void testSortJsonBy_sortSpecification_returnsSortedJson_andGenerateDocs() throws Exception {
+        // Arrange
+        String json = "[{\"name\":\"Tech Solutions Inc.\",\"founded\":1998,\"address\":{\"city\":\"New York\"}},{\"name\":\"Green Energy Ltd.\",\"founded\":2010,\"address\":{\"city\":\"Austin\"}}]";
+        String sortedJson = "[{\"name\":\"Green Energy Ltd.\",\"founded\":2010,\"address\":{\"city\":\"Austin\"}},{\"name\":\"Tech Solutions Inc.\",\"founded\":1998,\"address\":{\"city\":\"New York\"}}]";
+        String sortBy = "address.city,-founded,name";
+
+        when(jsonService.sortJsonBy(json.getBytes(StandardCharsets.UTF_8), sortBy)).thenReturn(sortedJson);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/json/sort")
+                        .queryParam("sortBy", sortBy)
+                        .contentType("application/json")
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(content().json(sortedJson))
+                .andDo(document(
+                        "sort-json-by",
+                        requestBody(),
+                        responseBody(),
+                        resource(
+                                ResourceSnippetParameters.builder()
+                                        .description("Sorts arrays of objects by several keys, given as comma-separated dotted paths prefixed with '-' for descending order")
+                                        .build()
+                        )
+                ));
+    }
+
+    /**
+     * Tests the /json/sort endpoint with a limit
+     */
+    @Test
+    void testSortJsonBy_limit_returnsTopElements_andGenerateDocs() throws Exception {
+        // Arrange
+        String json = "[{\"name\":\"Tech Solutions Inc.\",\"founded\":1998},{\"name\":\"Green Energy Ltd.\",\"founded\":2010},{\"name\":\"Future Innovations Ltd.\",\"founded\":2005}]";
+        String topJson = "[{\"name\":\"Green Energy Ltd.\",\"founded\":2010},{\"name\":\"Future Innovations Ltd.\",\"founded\":2005}]";
+
+        when(jsonService.sortJsonBy(json.getBytes(StandardCharsets.UTF_8), "-founded", 0, 2)).thenReturn(topJson);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/json/sort")
+                        .queryParam("sortBy", "-founded")
+                        .queryParam("limit", "2")
+                        .contentType("application/json")
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(content().json(topJson))
+                .andDo(document(
+                        "sort-json-limit",
+                        requestBody(),
+                        responseBody(),
+                        resource(
+                                ResourceSnippetParameters.builder()
+                                        .description("Returns only a slice of a sorted top-level array, selected with offset and limit while the array is read")
+                                        .build()
+                        )
+                ));
+    }
+
+    /**
+     * Tests the /json/sort endpoint with a limit and a field name containing a dot
+     */
+    @Test
+    void testSortJson_limitWithDottedField_sortsByLiteralField_andGenerateDocs() throws Exception {
+        // Arrange
+        String json = "[{\"sales.total\":120,\"name\":\"North\"},{\"sales.total\":80,\"name\":\"South\"},{\"sales.total\":95,\"name\":\"East\"}]";
+        String topJson = "[{\"sales.total\":80,\"name\":\"South\"}]";
+
+        when(jsonService.sortJson(json.getBytes(StandardCharsets.UTF_8), "sales.total", 0, 1)).thenReturn(topJson);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/json/sort")
+                        .queryParam("sortByField", "sales.total")
+                        .queryParam("limit", "1")
+                        .contentType("application/json")
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(content().json(topJson))
+                .andDo(document(
+                        "sort-json-limit-field",
+                        requestBody(),
+                        responseBody(),
+                        resource(
+                                ResourceSnippetParameters.builder()
+                                        .description("Returns a slice of an array sorted by a single field, whose name is taken literally even if it contains dots")
+                                        .build()
+                        )
+                ));
+    }
+
+    /**
+     * Tests the /json/sort endpoint in streaming mode
+     */
+    @Test
+    void testSortJson_stream_streamsSortedArray_andGenerateDocs() throws Exception {
+        // Arrange
+        String json = "[{\"name\":\"Tech Solutions Inc.\",\"founded\":1998},{\"name\":\"Green Energy Ltd.\",\"founded\":2010},{\"name\":\"Future Innovations Ltd.\",\"founded\":2005}]";
+        String sortedJson = "[{\"name\":\"Tech Solutions Inc.\",\"founded\":1998},{\"name\":\"Future Innovations Ltd.\",\"founded\":2005},{\"name\":\"Green Energy Ltd.\",\"founded\":2010}]";
+
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write(sortedJson.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(jsonService).sortJson(any(InputStream.class), any(OutputStream.class), eq("founded"));
+
+        // Act & Assert
+        MvcResult mvcResult = mockMvc.perform(post("/api/json/sort")
+                        .queryParam("stream", "true")
+                        .queryParam("sortByField", "founded")
+                        .contentType("application/json")
+                        .content(json))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().json(sortedJson))
+                .andDo(document(
+                        "sort-json-stream",
+                        responseBody(),
+                        resource(
+                                ResourceSnippetParameters.builder()
+                                        .description("Sorts a top-level JSON array larger than memory by a field, spilling sorted runs to disk and merging them into the response")
+                                        .build()
+                        )
+                ));
+    }
+
     /**
      * Tests the /json/find endpoint
      */
@@ -2705,7 +3305,7 @@ class JsonControllerTest {
                 "$.companies[0].departments.engineering.head (value)"
         );
 
-        when(jsonService.findInJson(json, searchTerm)).thenReturn(expectedPaths);
+        when(jsonService.findInJson(json.getBytes(StandardCharsets.UTF_8), searchTerm)).thenReturn(expectedPaths);
 
         // Act & Assert
         mockMvc.perform(post("/api/json/find")
@@ -2729,6 +3329,284 @@ class JsonControllerTest {
                 ));
     }
 
+    /**
+     * Tests the /json/find endpoint with several terms and modes
+     */
+    @Test
+    void testFindInJson_multipleTerms_returnsMatchesByTerm_andGenerateDocs() throws Exception {
+        // Arrange
+        String json = """
+                {
+                  "User": { "name": "alice", "tags": ["Admin", "x-admin"] }
+                }
+                """;
+        List<String> terms = List.of("admin", "user", "^x-");
+        List<String> modes = List.of("contains", "case-insensitive", "regex");
+
+        Map<String, List<String>> expectedMatches = new LinkedHashMap<>();
+        expectedMatches.put("admin", List.of("$.User.tags[1] (value)"));
+        expectedMatches.put("user", List.of("$.User (key)"));
+        expectedMatches.put("^x-", List.of("$.User.tags[1] (value)"));
+
+        when(jsonService.findInJson(json.getBytes(StandardCharsets.UTF_8), terms, modes)).thenReturn(expectedMatches);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/json/find")
+                        .queryParam("term", terms.toArray(new String[0]))
+                        .queryParam("mode", modes.toArray(new String[0]))
+                        .contentType("application/json")
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(content().json(new ObjectMapper().writeValueAsString(expectedMatches)))
+                .andDo(document(
+                        "find-in-json-multiple-terms",
+                        requestBody(),
+                        responseBody(),
+                        requestHeaders(
+                                headerWithName("Content-Type").description("The content type, which must be `application/json`.")
+                        ),
+                        resource(
+                                ResourceSnippetParameters.builder()
+                                        .description("Searches the JSON for several terms in a single pass, each exact, prefix, contains, case-insensitive or regex, and returns the matching JSON paths of each term")
+                                        .build()
+                        )
+                ));
+    }
+
+    /**
+     * Tests the /json/find endpoint with firstOnly=true
+     */
+    @Test
+    void testFindInJson_firstOnly_returnsFirstMatch_andGenerateDocs() throws Exception {
+        // Arrange
+        String json = "{\"users\":[{\"name\":\"Bob Johnson\"},{\"name\":\"Bob Johnson\"}]}";
+        String searchTerm = "Bob Johnson";
+        List<String> expectedPaths = List.of("$.users[0].name (value)");
+
+        when(jsonService.findInJson(json.getBytes(StandardCharsets.UTF_8), searchTerm, 1)).thenReturn(expectedPaths);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/json/find")
+                        .queryParam("searchTerm", searchTerm)
+                        .queryParam("firstOnly", "true")
+                        .contentType("application/json")
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(content().json(new ObjectMapper().writeValueAsString(expectedPaths)))
+                .andDo(document(
+                        "find-in-json-first-only",
+                        requestBody(),
+                        responseBody(),
+                        resource(
+                                ResourceSnippetParameters.builder()
+                                        .description("Searches for a term in the JSON and returns the first matching JSON path, stopping the parse as soon as it is found")
+                                        .build()
+                        )
+                ));
+    }
+
+    /**
+     * Tests the /json/find endpoint with stream=true and an NDJSON response
+     */
+    @Test
+    void testFindInJson_streamNdjson_streamsMatches_andGenerateDocs() throws Exception {
+        // Arrange
+        String json = "{\"users\":[{\"name\":\"Bob Johnson\"},{\"name\":\"Bob Johnson\"}]}";
+        String searchTerm = "Bob Johnson";
+        String result = "\"$.users[0].name (value)\"\n\"$.users[1].name (value)\"\n";
+
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write(result.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(jsonService).findInJson(any(InputStream.class), any(OutputStream.class), eq(searchTerm), eq(10), eq(true));
+
+        // Act & Assert
+        MvcResult mvcResult = mockMvc.perform(post("/api/json/find")
+                        .queryParam("stream", "true")
+                        .queryParam("searchTerm", searchTerm)
+                        .queryParam("limit", "10")
+                        .header("Accept", "application/x-ndjson")
+                        .contentType("application/json")
+                        .content(json))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(result))
+                .andDo(document(
+                        "find-in-json-stream-ndjson",
+                        responseBody(),
+                        resource(
+                                ResourceSnippetParameters.builder()
+                                        .description("Searches the request stream for a term, writing each matching JSON path on its own line as it is found")
+                                        .build()
+                        )
+                ));
+    }
+
+    /**
+     * Tests the /json/find-filter/stats endpoint
+     */
+    @Test
+    void testGetFindFilterStats_returnsStats_andGenerateDocs() throws Exception {
+        // Arrange
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("scans", 250L);
+        stats.put("shortCircuits", 212L);
+        stats.put("escapeFallbacks", 9L);
+        stats.put("bypassed", 14L);
+
+        when(jsonService.getFindFilterStats()).thenReturn(stats);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/json/find-filter/stats"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(new ObjectMapper().writeValueAsString(stats)))
+                .andDo(document(
+                        "find-filter-stats",
+                        responseBody(),
+                        resource(
+                                ResourceSnippetParameters.builder()
+                                        .description("Returns counters of the search pre-filter: documents scanned, short-circuited without parsing, parsed because they hold escape sequences, and not filtered")
+                                        .build()
+                        )
+                ));
+    }
+
+    /**
+     * Tests the /json/query endpoint
+     */
+    @Test
+    void testQueryJson_validQuery_returnsSelectedValues_andGenerateDocs() throws Exception {
+        // Arrange
+        String json = "{\"companies\":[{\"name\":\"Tech Solutions Inc.\",\"founded\":1998},{\"name\":\"Green Energy Ltd.\",\"founded\":2010}]}";
+        String path = "$.companies[?@.founded > 2000].name";
+        String result = "[ \"Green Energy Ltd.\" ]";
+
+        when(jsonService.queryJson(json.getBytes(StandardCharsets.UTF_8), path)).thenReturn(result);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/json/query")
+                        .queryParam("path", path)
+                        .contentType("application/json")
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(content().json(result))
+                .andDo(document(
+                        "query-json",
+                        requestBody(),
+                        responseBody(),
+                        resource(
+                                ResourceSnippetParameters.builder()
+                                        .description("Runs a JSONPath (RFC 9535) query and returns the values of the selected nodes")
+                                        .build()
+                        )
+                ));
+    }
+
+    /**
+     * Tests the /json/query endpoint with paths=true
+     */
+    @Test
+    void testQueryJson_paths_returnsNormalizedPaths_andGenerateDocs() throws Exception {
+        // Arrange
+        String json = "{\"companies\":[{\"name\":\"Tech Solutions Inc.\",\"founded\":1998},{\"name\":\"Green Energy Ltd.\",\"founded\":2010}]}";
+        String path = "$..founded";
+        List<String> paths = List.of("$['companies'][0]['founded']", "$['companies'][1]['founded']");
+
+        when(jsonService.queryJsonPaths(json.getBytes(StandardCharsets.UTF_8), path)).thenReturn(paths);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/json/query")
+                        .queryParam("path", path)
+                        .queryParam("paths", "true")
+                        .contentType("application/json")
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(content().json(new ObjectMapper().writeValueAsString(paths)))
+                .andDo(document(
+                        "query-json-paths",
+                        requestBody(),
+                        responseBody(),
+                        resource(
+                                ResourceSnippetParameters.builder()
+                                        .description("Runs a JSONPath (RFC 9535) query and returns the normalized paths of the selected nodes")
+                                        .build()
+                        )
+                ));
+    }
+
+    /**
+     * Tests the /json/query endpoint with stream=true
+     */
+    @Test
+    void testQueryJson_stream_streamsSelectedValues_andGenerateDocs() throws Exception {
+        // Arrange
+        String json = "{\"companies\":[{\"name\":\"Tech Solutions Inc.\",\"founded\":1998},{\"name\":\"Green Energy Ltd.\",\"founded\":2010}]}";
+        String path = "$.companies[*].name";
+        String result = "[\"Tech Solutions Inc.\",\"Green Energy Ltd.\"]";
+
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write(result.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(jsonService).queryJson(any(InputStream.class), any(OutputStream.class), eq(path));
+
+        // Act & Assert
+        MvcResult mvcResult = mockMvc.perform(post("/api/json/query")
+                        .queryParam("stream", "true")
+                        .queryParam("path", path)
+                        .contentType("application/json")
+                        .content(json))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().json(result))
+                .andDo(document(
+                        "query-json-stream",
+                        responseBody(),
+                        resource(
+                                ResourceSnippetParameters.builder()
+                                        .description("Runs a JSONPath (RFC 9535) query over the request stream, skipping what the query cannot select and writing the selected values as they are found")
+                                        .build()
+                        )
+                ));
+    }
+
+    /**
+     * Tests the /json/query-cache/stats endpoint
+     */
+    @Test
+    void testGetJsonPathCacheStats_returnsStats_andGenerateDocs() throws Exception {
+        // Arrange
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("hits", 118L);
+        stats.put("misses", 3L);
+        stats.put("evictions", 0L);
+        stats.put("size", 3L);
+
+        when(jsonService.getJsonPathCacheStats()).thenReturn(stats);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/json/query-cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(new ObjectMapper().writeValueAsString(stats)))
+                .andDo(document(
+                        "query-cache-stats",
+                        responseBody(),
+                        resource(
+                                ResourceSnippetParameters.builder()
+                                        .description("Returns hit, miss and eviction counters of the compiled JSONPath query cache, with the number of cached queries")
+                                        .build()
+                        )
+                ));
+    }
+
     /**
      * Tests the /json/json-to-csv endpoint
      */
@@ -3051,7 +3929,7 @@ class JsonControllerTest {
                 Future Innovations Ltd.,2005,2,Mark Twain
                 """.trim();
 
-        when(jsonService.convertJsonToCsv(json)).thenReturn(csvOutput);
+        when(jsonService.convertJsonToCsv(json.getBytes(StandardCharsets.UTF_8))).thenReturn(csvOutput);
 
         // Act & Assert
         mockMvc.perform(post("/api/json/json-to-csv")
@@ -3398,7 +4276,7 @@ class JsonControllerTest {
                   }
                 """;
 
-        when(jsonService.convertCsvToJson(csvInput)).thenReturn(expectedJsonOutput);
+        when(jsonService.convertCsvToJson(csvInput.getBytes(StandardCharsets.UTF_8))).thenReturn(expectedJsonOutput);
 
         // Act & Assert
         mockMvc.perform(post("/api/json/csv-to-json")
@@ -4042,7 +4920,7 @@ class JsonControllerTest {
                 </companies>
                 """;
 
-        when(jsonService.convertJsonToXml(json)).thenReturn(expectedXmlOutput);
+        when(jsonService.convertJsonToXml(json.getBytes(StandardCharsets.UTF_8))).thenReturn(expectedXmlOutput);
 
         // Act & Assert
         mockMvc.perform(post("/api/json/json-to-xml")
@@ -4686,7 +5564,7 @@ class JsonControllerTest {
                           }
                 """;
 
-        when(jsonService.convertXmlToJson(xmlInput)).thenReturn(expectedJsonOutput);
+        when(jsonService.convertXmlToJson(xmlInput.getBytes(StandardCharsets.UTF_8))).thenReturn(expectedJsonOutput);
 
         // Act & Assert
         mockMvc.perform(post("/api/json/xml-to-json")
@@ -5025,7 +5903,7 @@ class JsonControllerTest {
 
         String base64ExcelOutput = "UEsDBBQABgA...";
 
-        when(jsonService.convertJsonToExcel(json)).thenReturn(base64ExcelOutput);
+        when(jsonService.convertJsonToExcel(json.getBytes(StandardCharsets.UTF_8))).thenReturn(base64ExcelOutput);
 
         // Act & Assert
         mockMvc.perform(post("/api/json/json-to-excel")
@@ -5363,7 +6241,7 @@ class JsonControllerTest {
                   }
                 """;
 
-        when(jsonService.convertExcelToJson(base64ExcelInput)).thenReturn(expectedJsonOutput);
+        when(jsonService.convertExcelToJson(base64ExcelInput.getBytes(StandardCharsets.UTF_8))).thenReturn(expectedJsonOutput);
 
         // Act & Assert
         mockMvc.perform(post("/api/json/excel-to-json")
@@ -5825,7 +6703,7 @@ class JsonControllerTest {
                               lng: -
                 """;
 
-        when(jsonService.convertJsonToYaml(json)).thenReturn(expectedYamlOutput);
+        when(jsonService.convertJsonToYaml(json.getBytes(StandardCharsets.UTF_8))).thenReturn(expectedYamlOutput);
 
         // Act & Assert
         mockMvc.perform(post("/api/json/json-to-yaml")
@@ -6372,7 +7250,7 @@ class JsonControllerTest {
                   }
                 """;
 
-        when(jsonService.convertYamlToJson(yamlInput)).thenReturn(expectedJsonOutput);
+        when(jsonService.convertYamlToJson(yamlInput.getBytes(StandardCharsets.UTF_8))).thenReturn(expectedJsonOutput);
 
         // Act & Assert
         mockMvc.perform(post("/api/json/yaml-to-json")
@@ -6634,7 +7512,7 @@ class JsonControllerTest {
                 }
                 """;
 
-        when(jsonService.generateTypeDefinitionsFromJson(json)).thenReturn(expectedTypeDefs);
+        when(jsonService.generateTypeDefinitionsFromJson(json.getBytes(StandardCharsets.UTF_8))).thenReturn(expectedTypeDefs);
 
         // Act & Assert
         mockMvc.perform(post("/api/json/generate-type-definitions")
@@ -1,5 +1,6 @@
 package com.vserdiuk.json.utility.service.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.poi.ss.usermodel.Row;
@@ -8,13 +9,20 @@ import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -22,9 +30,18 @@ class JsonServiceImplTest {
 
     private JsonServiceImpl jsonService;
 
+    @TempDir
+    private Path schemaDirectory;
+
+    @TempDir
+    private Path sortDirectory;
+
     @BeforeEach
     void setUp() {
-        jsonService = new JsonServiceImpl(new ObjectMapper());
+        ObjectMapper objectMapper = new ObjectMapper();
+        jsonService = new JsonServiceImpl(objectMapper, new JsonSchemaCache(objectMapper, 256, 16 * 1024 * 1024),
+                new JsonSchemaRegistry(objectMapper, schemaDirectory.toString()), new JsonParallelParser(objectMapper, 4, 1024, 4),
+                new JsonExternalSorter(objectMapper, 64, sortDirectory.toString()), new JsonPathCache(16), new JsonFindFilter(true));
     }
 
     /**
@@ -702,6 +719,38 @@ class JsonServiceImplTest {
         assertFalse(isValid, "Expected null input to be invalid JSON");
     }
 
+    /**
+     * Tests the {@code validateJson} method with a nested string value containing an illegal escape sequence.
+     * Verifies that the method returns {@code false}, as string contents are still checked while the tree is not built.
+     */
+    @Test
+    void testValidateJson_illegalEscapeInNestedValue_returnsFalse() {
+        // Arrange
+        String json = "{\"items\": [{\"name\": \"bad \\q escape\"}, {\"name\": \"ok\"}]}";
+
+        // Act
+        boolean isValid = jsonService.validateJson(json);
+
+        // Assert
+        assertFalse(isValid, "Expected JSON with an illegal escape sequence to be invalid");
+    }
+
+    /**
+     * Tests the {@code validateJson} method with a top-level string that is missing its closing quote.
+     * Verifies that the method returns {@code false}, indicating that root-level scalars are fully checked.
+     */
+    @Test
+    void testValidateJson_unterminatedRootString_returnsFalse() {
+        // Arrange
+        String json = "\"unterminated";
+
+        // Act
+        boolean isValid = jsonService.validateJson(json);
+
+        // Assert
+        assertFalse(isValid, "Expected unterminated root string to be invalid JSON");
+    }
+
     /**
      * Tests the {@code prettyPrintJson} method with a valid JSON string.
      * Verifies that the method returns the JSON in a pretty-printed format with indentation and line breaks.
@@ -877,6 +926,42 @@ class JsonServiceImplTest {
         assertTrue(ex.getMessage().contains("Invalid JSON"), "Expected error message to indicate invalid JSON");
     }
 
+    /**
+     * Tests the streaming {@code prettyPrintJson} method with a valid JSON input stream.
+     * Verifies that the streamed output is identical to the output of the string-based method.
+     */
+    @Test
+    void testPrettyPrintJson_stream_matchesStringOutput() {
+        // Arrange
+        String json = "{\"name\":\"Alice\",\"scores\":[1,2.5,{\"bonus\":null}],\"active\":true}";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        jsonService.prettyPrintJson(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), out);
+
+        // Assert
+        assertEquals(jsonService.prettyPrintJson(json), out.toString(StandardCharsets.UTF_8), "Expected streamed pretty print to match the string-based result");
+    }
+
+    /**
+     * Tests the streaming {@code minifyJson} method with a truncated JSON input stream.
+     * Verifies that the method throws an {@code IllegalArgumentException} and does not close the open structures in the output.
+     */
+    @Test
+    void testMinifyJson_truncatedStream_throwsExceptionAndLeavesOutputOpen() {
+        // Arrange
+        String truncatedJson = "{\"name\": \"Alice\", \"scores\": [1, 2";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act & Assert
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> jsonService.minifyJson(new ByteArrayInputStream(truncatedJson.getBytes(StandardCharsets.UTF_8)), out),
+                "Expected truncated JSON stream to throw IllegalArgumentException");
+
+        assertTrue(ex.getMessage().contains("Invalid JSON"), "Expected error message to indicate invalid JSON");
+        assertFalse(out.toString(StandardCharsets.UTF_8).endsWith("]}"), "Expected truncated output not to be completed into valid JSON");
+    }
+
     /**
      * Tests the {@code mergeJson} method with two valid JSON strings.
      * Verifies that the method returns a merged JSON string containing the combined fields of both JSONs.
@@ -1264,6 +1349,387 @@ class JsonServiceImplTest {
         assertEquals("[{},{}]", mergedJson, "Expected merged JSON to be an empty object");
     }
 
+    /**
+     * Tests the {@code mergeJson} method with documents whose fields appear in a different order.
+     * Verifies that field order does not affect the structure comparison.
+     */
+    @Test
+    void testMergeJson_reorderedFields_mergesSuccessfully() {
+        // Arrange
+        List<String> jsons = List.of(
+                "{\"name\":\"John\",\"address\":{\"city\":\"New York\",\"zip\":\"10001\"}}",
+                "{\"address\":{\"zip\":\"90001\",\"city\":\"Los Angeles\"},\"name\":\"Jane\"}",
+                "{\"name\":\"Alice\",\"address\":{\"city\":\"Chicago\",\"zip\":\"60601\"}}");
+
+        // Act
+        String mergedJson = jsonService.mergeJson(jsons);
+
+        // Assert
+        assertTrue(mergedJson.startsWith("[{\"name\":\"John\""), "Expected documents to be merged into an array");
+        assertTrue(mergedJson.contains("\"city\":\"Chicago\""), "Expected every document to be merged");
+    }
+
+    /**
+     * Tests the {@code mergeJson} method with a document whose nested field has a different type.
+     * Verifies that the method throws an {@code IllegalArgumentException} that points at the differing document and path.
+     */
+    @Test
+    void testMergeJson_differentNestedStructure_reportsPath() {
+        // Arrange
+        List<String> jsons = List.of(
+                "{\"name\":\"John\",\"address\":{\"city\":\"New York\"}}",
+                "{\"name\":\"Jane\",\"address\":{\"city\":\"Los Angeles\"}}",
+                "{\"name\":\"Alice\",\"address\":{\"city\":60601}}");
+
+        // Act & Assert
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> jsonService.mergeJson(jsons),
+                "Expected JSONs with different structures to throw IllegalArgumentException");
+        assertTrue(ex.getMessage().contains("different structures"), "Expected error message to indicate different structures");
+        assertTrue(ex.getMessage().contains("document 3 differs at $.address.city"), "Expected error message to locate the difference");
+    }
+
+    /**
+     * Tests the {@code mergeJson} method with newline-delimited JSON documents.
+     * Verifies that any number of documents is merged into an array identical to the list-based merge.
+     */
+    @Test
+    void testMergeJson_ndjsonStream_matchesListOutput() {
+        // Arrange
+        List<String> jsons = List.of(
+                "{\"name\":\"John\",\"age\":30}",
+                "{\"age\":25,\"name\":\"Jane\"}",
+                "{\"name\":\"Alice\",\"age\":41}");
+        InputStream json = new ByteArrayInputStream(String.join("\n", jsons).getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        jsonService.mergeJson(json, out, true);
+
+        // Assert
+        assertEquals(jsonService.mergeJson(jsons), out.toString(StandardCharsets.UTF_8),
+                "Expected streamed merge to produce the same array as the list-based merge");
+    }
+
+    /**
+     * Tests the {@code mergeJson} method with a streamed array containing a document of a different structure.
+     * Verifies that the method throws an {@code IllegalArgumentException} identifying the document.
+     */
+    @Test
+    void testMergeJson_arrayStreamDifferentStructure_throwsException() {
+        // Arrange
+        InputStream json = new ByteArrayInputStream(
+                "[{\"name\":\"John\"},{\"name\":\"Jane\"},{\"city\":\"New York\"}]".getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act & Assert
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> jsonService.mergeJson(json, out, false),
+                "Expected JSONs with different structures to throw IllegalArgumentException");
+        assertTrue(ex.getMessage().contains("document 3"), "Expected error message to identify the differing document");
+    }
+
+    /**
+     * Tests the {@code deepMergeJson} method with a base document and two patches.
+     * Verifies that the patches are applied in order following RFC 7396: nested objects are merged,
+     * {@code null} removes a field and other values replace the existing ones.
+     */
+    @Test
+    void testDeepMergeJson_mergePatches_appliesInOrder() {
+        // Arrange
+        List<String> jsons = List.of(
+                "{\"name\":\"Tech Solutions Inc.\",\"address\":{\"city\":\"New York\",\"zip\":\"10001\"},\"tags\":[\"a\",\"b\"]}",
+                "{\"address\":{\"zip\":null,\"state\":\"NY\"},\"tags\":[\"c\"]}",
+                "{\"founded\":1998,\"name\":\"Tech Solutions LLC\"}");
+
+        // Act
+        String mergedJson = jsonService.deepMergeJson(jsons);
+
+        // Assert
+        assertEquals("{\"name\":\"Tech Solutions LLC\",\"address\":{\"city\":\"New York\",\"state\":\"NY\"},\"tags\":[\"c\"],\"founded\":1998}",
+                mergedJson, "Expected patches to be applied as JSON Merge Patches in order");
+    }
+
+    /**
+     * Tests the {@code deepMergeJson} method with a patch containing nested {@code null} values for a missing field.
+     * Verifies that the {@code null} values are dropped rather than copied into the result.
+     */
+    @Test
+    void testDeepMergeJson_nullsInNewObject_areRemoved() {
+        // Arrange
+        List<String> jsons = List.of("{\"a\":\"b\"}", "{\"c\":{\"d\":null,\"e\":1}}");
+
+        // Act
+        String mergedJson = jsonService.deepMergeJson(jsons);
+
+        // Assert
+        assertEquals("{\"a\":\"b\",\"c\":{\"e\":1}}", mergedJson, "Expected null values in the patch to be removed");
+    }
+
+    /**
+     * Tests the {@code mergeJson} method with enough documents to be parsed in parallel.
+     * Verifies that the merged array keeps the input order even though documents are parsed concurrently
+     * and their total size exceeds the in-flight limit.
+     */
+    @Test
+    void testMergeJson_manyDocuments_keepsInputOrder() {
+        // Arrange
+        List<String> jsons = new ArrayList<>();
+        StringBuilder expected = new StringBuilder("[");
+        for (int i = 0; i < 64; i++) {
+            String json = "{\"id\":" + i + ",\"name\":\"" + "x".repeat(i) + "\"}";
+            jsons.add(json);
+            expected.append(i == 0 ? "" : ",").append(json);
+        }
+        expected.append(']');
+
+        // Act
+        String mergedJson = jsonService.mergeJson(jsons);
+
+        // Assert
+        assertEquals(expected.toString(), mergedJson, "Expected documents to be merged in input order");
+    }
+
+    /**
+     * Tests the {@code mergeJson} method with a mismatched document early among many parsed in parallel.
+     * Verifies that the merge fails as soon as the mismatch is found, without parsing the later documents.
+     */
+    @Test
+    void testMergeJson_earlyMismatch_stopsBeforeParsingLaterDocuments() {
+        // Arrange
+        AtomicInteger parsed = new AtomicInteger();
+        ObjectMapper countingMapper = new ObjectMapper() {
+            @Override
+            public JsonNode readTree(String content) throws JsonProcessingException {
+                parsed.incrementAndGet();
+                return super.readTree(content);
+            }
+        };
+        JsonServiceImpl countingService = new JsonServiceImpl(countingMapper, new JsonSchemaCache(countingMapper, 256, 1024),
+                new JsonSchemaRegistry(countingMapper, schemaDirectory.toString()), new JsonParallelParser(countingMapper, 4, 24, 4),
+                new JsonExternalSorter(countingMapper, 64, sortDirectory.toString()), new JsonPathCache(16), new JsonFindFilter(true));
+        List<String> jsons = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            jsons.add(i == 1 ? "{\"name\":\"" + i + "\"}" : "{\"id\":" + i % 10 + "}");
+        }
+
+        // Act & Assert
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> countingService.mergeJson(jsons),
+                "Expected the mismatched document to throw IllegalArgumentException");
+        assertTrue(ex.getMessage().contains("different structures"), "Expected error message to indicate a structure mismatch");
+        assertTrue(parsed.get() <= 4, "Expected only the documents within the in-flight limit to be parsed, but parsed " + parsed.get());
+    }
+
+    /**
+     * Tests the {@code mergeJson} method with an invalid document among many parsed in parallel.
+     * Verifies that the method throws an {@code IllegalArgumentException} reporting invalid JSON.
+     */
+    @Test
+    void testMergeJson_manyDocumentsWithInvalidOne_throwsException() {
+        // Arrange
+        List<String> jsons = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            jsons.add(i == 9 ? "{\"id\":" : "{\"id\":" + i + "}");
+        }
+
+        // Act & Assert
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> jsonService.mergeJson(jsons),
+                "Expected invalid JSON to throw IllegalArgumentException");
+        assertTrue(ex.getMessage().contains("Invalid JSON"), "Expected error message to indicate invalid JSON");
+    }
+
+    /**
+     * Tests the {@code diffJson} method with documents that differ in a nested field, an array and a removed field.
+     * Verifies that only the changed parts produce JSON Patch operations.
+     */
+    @Test
+    void testDiffJson_changedDocuments_returnsMinimalPatch() {
+        // Arrange
+        String source = "{\"name\":\"Tech Solutions Inc.\",\"address\":{\"city\":\"New York\",\"zip\":\"10001\"},\"offices\":[\"SF\",\"NY\"],\"legacy\":true}";
+        String target = "{\"name\":\"Tech Solutions Inc.\",\"address\":{\"city\":\"Boston\",\"zip\":\"10001\"},\"offices\":[\"SF\",\"LA\",\"NY\"]}";
+
+        // Act
+        String patch = jsonService.diffJson(source, target, false);
+
+        // Assert
+        assertEquals("[{\"op\":\"replace\",\"path\":\"/address/city\",\"value\":\"Boston\"},"
+                        + "{\"op\":\"add\",\"path\":\"/offices/1\",\"value\":\"LA\"},"
+                        + "{\"op\":\"remove\",\"path\":\"/legacy\"}]",
+                patch, "Expected a patch containing only the changed parts");
+    }
+
+    /**
+     * Tests the {@code diffJson} method with objects whose fields differ only in order.
+     * Verifies that the key order is ignored on request and otherwise reproduced by replacing the object.
+     */
+    @Test
+    void testDiffJson_reorderedFields_respectsIgnoreKeyOrder() {
+        // Arrange
+        String source = "{\"company\":{\"name\":\"Tech Solutions Inc.\",\"founded\":1998},\"a/b\":1}";
+        String target = "{\"company\":{\"founded\":1998,\"name\":\"Tech Solutions Inc.\"},\"a/b\":2}";
+
+        // Act
+        String orderInsensitivePatch = jsonService.diffJson(source, target, true);
+        String orderSensitivePatch = jsonService.diffJson(source, target, false);
+
+        // Assert
+        assertEquals("[{\"op\":\"replace\",\"path\":\"/a~1b\",\"value\":2}]", orderInsensitivePatch,
+                "Expected reordered fields to be ignored and field names to be escaped");
+        assertTrue(orderSensitivePatch.contains("{\"op\":\"replace\",\"path\":\"/company\""),
+                "Expected the reordered object to be replaced to reproduce the target order");
+    }
+
+    /**
+     * Tests the {@code diffJson} method with a field added between existing fields, ignoring key order.
+     * Verifies that the patch adds the field alone rather than replacing the enclosing object.
+     */
+    @Test
+    void testDiffJson_midOrderKeyIgnoringKeyOrder_returnsSingleAdd() {
+        // Arrange
+        String source = "{\"a\":1,\"c\":{\"offices\":[\"SF\",\"NY\",\"LA\"],\"founded\":1998}}";
+        String target = "{\"a\":1,\"b\":2,\"c\":{\"offices\":[\"SF\",\"NY\",\"LA\"],\"founded\":1998}}";
+
+        // Act
+        String patch = jsonService.diffJson(source, target, true);
+
+        // Assert
+        assertEquals("[{\"op\":\"add\",\"path\":\"/b\",\"value\":2}]", patch,
+                "Expected a single add operation for the new field");
+    }
+
+    /**
+     * Tests the {@code patchJson} method with a patch using every RFC 6902 operation.
+     * Verifies that the operations are applied in order and the result is minified.
+     */
+    @Test
+    void testPatchJson_allOperations_returnsMinifiedPatchedJson() {
+        // Arrange
+        String json = """
+                {
+                  "name": "Tech Solutions Inc.",
+                  "founded": 1998,
+                  "offices": ["San Francisco", "New York"],
+                  "legacy": {"id": 7}
+                }
+                """;
+        String patch = """
+                [
+                  {"op": "test", "path": "/founded", "value": 1998.0},
+                  {"op": "replace", "path": "/founded", "value": 1999},
+                  {"op": "add", "path": "/offices/1", "value": "Boston"},
+                  {"op": "remove", "path": "/offices/2"},
+                  {"op": "copy", "from": "/offices/0", "path": "/headquarters"},
+                  {"op": "move", "from": "/legacy/id", "path": "/id"},
+                  {"op": "remove", "path": "/legacy"}
+                ]
+                """;
+
+        // Act
+        String patchedJson = jsonService.patchJson(json, patch);
+
+        // Assert
+        assertEquals("{\"name\":\"Tech Solutions Inc.\",\"founded\":1999,\"offices\":[\"San Francisco\",\"Boston\"],\"headquarters\":\"San Francisco\",\"id\":7}",
+                patchedJson, "Expected all operations to be applied in order");
+    }
+
+    /**
+     * Tests the {@code patchJson} method with a patch produced by {@code diffJson}.
+     * Verifies that applying the diff of two documents to the first one yields the second.
+     */
+    @Test
+    void testPatchJson_patchFromDiff_reproducesTarget() {
+        // Arrange
+        String source = "{\"a\":{\"b\":[1,2,3,4],\"c\":\"x\"},\"d\":[{\"e\":1},{\"e\":2}],\"f\":null}";
+        String target = "{\"a\":{\"b\":[1,3,4,5],\"c\":\"y\"},\"d\":[{\"e\":1},{\"e\":3}],\"g\":true}";
+
+        // Act
+        String patchedJson = jsonService.patchJson(source, jsonService.diffJson(source, target, false));
+
+        // Assert
+        assertEquals(target, patchedJson, "Expected the diff applied to the source to reproduce the target");
+    }
+
+    /**
+     * Tests the {@code patchJson} method with a failing {@code test} operation.
+     * Verifies that the method throws an {@code IllegalArgumentException} identifying the operation.
+     */
+    @Test
+    void testPatchJson_failedTest_throwsException() {
+        // Arrange
+        String json = "{\"name\":\"John\"}";
+        String patch = "[{\"op\":\"replace\",\"path\":\"/name\",\"value\":\"Jane\"},{\"op\":\"test\",\"path\":\"/name\",\"value\":\"John\"}]";
+
+        // Act & Assert
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> jsonService.patchJson(json, patch),
+                "Expected failed test operation to throw IllegalArgumentException");
+        assertTrue(ex.getMessage().contains("operation 1"), "Expected error message to identify the failed operation");
+    }
+
+    /**
+     * Tests the {@code canonicalizeJson} method with the example from RFC 8785.
+     * Verifies that keys are sorted, whitespace is removed, numbers are written in their shortest form
+     * and strings escape only what JSON requires.
+     */
+    @Test
+    void testCanonicalizeJson_rfcExample_returnsCanonicalJson() {
+        // Arrange
+        String json = """
+                {
+                  "numbers": [333333333.33333329, 1E30, 4.50, 2e-3, 0.000000000000000000000000001],
+                  "string": "\\u20ac$\\u000F\\u000aA'\\u0042\\u0022\\u005c\\\\\\"\\/",
+                  "literals": [null, true, false]
+                }
+                """;
+        String expectedCanonicalJson = "{\"literals\":[null,true,false],\"numbers\":[333333333.3333333,1e+30,4.5,0.002,1e-27],"
+                + "\"string\":\"\u20ac$\\u000f\\nA'B\\\"\\\\\\\\\\\"/\"}";
+
+        // Act
+        String canonicalJson = jsonService.canonicalizeJson(json);
+
+        // Assert
+        assertEquals(expectedCanonicalJson, canonicalJson, "Expected the canonical form defined by RFC 8785");
+    }
+
+    /**
+     * Tests the {@code hashCanonicalJson} method with two equal documents written differently.
+     * Verifies that both have the same SHA-256 digest, which is the digest of the canonical form.
+     */
+    @Test
+    void testHashCanonicalJson_equalDocuments_returnSameDigest() throws Exception {
+        // Arrange
+        String json = "{ \"name\": \"John\", \"age\": 30.0, \"tags\": [\"a\", \"b\"] }";
+        String reorderedJson = "{\"tags\":[\"a\",\"b\"],\"age\":3E1,\"name\":\"John\"}";
+        String expectedDigest = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(jsonService.canonicalizeJson(json).getBytes(StandardCharsets.UTF_8)));
+
+        // Act
+        String digest = jsonService.hashCanonicalJson(json, "sha256");
+        String reorderedDigest = jsonService.hashCanonicalJson(reorderedJson, "sha256");
+
+        // Assert
+        assertEquals(expectedDigest, digest, "Expected the digest of the canonical form");
+        assertEquals(digest, reorderedDigest, "Expected equal documents to have the same digest");
+    }
+
+    /**
+     * Tests the {@code hashCanonicalJson} method with an unsupported hash algorithm.
+     * Verifies that the method throws an {@code IllegalArgumentException}.
+     */
+    @Test
+    void testHashCanonicalJson_unsupportedAlgorithm_throwsException() {
+        // Arrange
+        String json = "{\"name\":\"John\"}";
+
+        // Act & Assert
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> jsonService.hashCanonicalJson(json, "md5"),
+                "Expected an unsupported hash algorithm to throw IllegalArgumentException");
+        assertTrue(ex.getMessage().contains("Unsupported hash algorithm"), "Expected error message to name the problem");
+    }
+
     /**
      * Tests the {@code validateJsonWithSchema} method with a valid JSON string and a valid JSON schema.
      * Verifies that the method returns {@code true}, indicating the JSON conforms to the provided schema.
@@ -1363,22 +1829,280 @@ class JsonServiceImplTest {
     }
 
     /**
-     * Tests the {@code minifyJson} method with a valid JSON string.
-     * Verifies that the method returns a minified JSON string without unnecessary spaces or line breaks.
+     * Tests the {@code validateJsonWithSchema} method with the same schema used twice.
+     * Verifies that the schema is compiled once and the second validation is served from the schema cache.
      */
     @Test
-    void testMinifyJson_validJson_returnsMinifiedJson() {
+    void testValidateJsonWithSchema_sameSchemaTwice_servedFromCache() {
         // Arrange
-        String prettyJson = """
+        String schema = """
                 {
-                    "companies": [
-                      {
-                        "name": "Tech Solutions Inc.",
-                        "founded": 1998,
-                        "employees": [
-                          {
-                            "id": 1,
-                            "name": "Alice Smith",
+                  "$schema": "http://json-schema.org/draft-04/schema#",
+                  "type": "object",
+                  "required": ["name"]
+                }
+                """;
+
+        // Act
+        boolean firstValid = jsonService.validateJsonWithSchema("{\"name\": \"John\"}", schema);
+        boolean secondValid = jsonService.validateJsonWithSchema("{\"age\": 30}", schema);
+
+        // Assert
+        assertTrue(firstValid, "Expected first JSON to be valid against schema");
+        assertFalse(secondValid, "Expected second JSON missing required field to be invalid");
+        Map<String, Long> stats = jsonService.getSchemaCacheStats();
+        assertEquals(1L, stats.get("misses"), "Expected the schema to be compiled once");
+        assertEquals(1L, stats.get("hits"), "Expected the second validation to hit the cache");
+        assertEquals(1L, stats.get("size"), "Expected one cached schema");
+    }
+
+    /**
+     * Tests the {@code validateJsonWithSchema} method with a schema cache limited to a single entry.
+     * Verifies that the least recently used schema is evicted when a new schema is compiled.
+     */
+    @Test
+    void testValidateJsonWithSchema_cacheFull_evictsLeastRecentlyUsedSchema() {
+        // Arrange
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonServiceImpl singleEntryService = new JsonServiceImpl(objectMapper, new JsonSchemaCache(objectMapper, 1, 1024),
+                new JsonSchemaRegistry(objectMapper, schemaDirectory.toString()), new JsonParallelParser(objectMapper, 1, 1024, 4),
+                new JsonExternalSorter(objectMapper, 64, sortDirectory.toString()), new JsonPathCache(16), new JsonFindFilter(true));
+        String stringSchema = "{\"type\": \"string\"}";
+        String numberSchema = "{\"type\": \"number\"}";
+
+        // Act
+        singleEntryService.validateJsonWithSchema("\"text\"", stringSchema);
+        singleEntryService.validateJsonWithSchema("42", numberSchema);
+        singleEntryService.validateJsonWithSchema("\"text\"", stringSchema);
+
+        // Assert
+        Map<String, Long> stats = singleEntryService.getSchemaCacheStats();
+        assertEquals(3L, stats.get("misses"), "Expected every validation to compile its schema");
+        assertEquals(2L, stats.get("evictions"), "Expected each new schema to evict the previous one");
+        assertEquals(1L, stats.get("size"), "Expected the cache to hold a single schema");
+    }
+
+    /**
+     * Tests the {@code validateJsonWithSchemaId} method with a schema registered through {@code registerSchema}.
+     * Verifies that JSON is validated against the registered schema and that the schema is reloaded from disk.
+     */
+    @Test
+    void testValidateJsonWithSchemaId_registeredSchema_validatesAndPersists() throws Exception {
+        // Arrange
+        String schema = """
+                {
+                  "$schema": "http://json-schema.org/draft-04/schema#",
+                  "type": "object",
+                  "required": ["name"]
+                }
+                """;
+        byte[] validJson = "{\"name\": \"John\"}".getBytes(StandardCharsets.UTF_8);
+        byte[] invalidJson = "{\"age\": 30}".getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        String schemaId = jsonService.registerSchema(schema.getBytes(StandardCharsets.UTF_8));
+        JsonSchemaRegistry reloadedRegistry = new JsonSchemaRegistry(new ObjectMapper(), schemaDirectory.toString());
+        reloadedRegistry.loadSchemas();
+
+        // Assert
+        assertEquals(schemaId, jsonService.registerSchema(schema.getBytes(StandardCharsets.UTF_8)), "Expected the same schema to get the same ID");
+        assertTrue(jsonService.validateJsonWithSchemaId(validJson, schemaId), "Expected JSON to be valid against registered schema");
+        assertFalse(jsonService.validateJsonWithSchemaId(invalidJson, schemaId), "Expected JSON missing required field to be invalid");
+        assertNotNull(reloadedRegistry.getSchema(schemaId), "Expected registered schema to be loaded from disk");
+    }
+
+    /**
+     * Tests the {@code validateJsonWithSchemaId} method with an ID that was never registered.
+     * Verifies that the method throws an {@code IllegalArgumentException}.
+     */
+    @Test
+    void testValidateJsonWithSchemaId_unknownId_throwsException() {
+        // Arrange
+        byte[] json = "{\"name\": \"John\"}".getBytes(StandardCharsets.UTF_8);
+
+        // Act & Assert
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> jsonService.validateJsonWithSchemaId(json, "unknown"),
+                "Expected unknown schema ID to throw IllegalArgumentException");
+        assertTrue(ex.getMessage().contains("Unknown schema ID"), "Expected error message to indicate unknown schema ID");
+    }
+
+    /**
+     * Tests the {@code validateJsonArrayWithSchema} method with an array containing valid and invalid elements.
+     * Verifies that each element is validated against the {@code items} subschema, that errors carry the element
+     * index and that local definitions referenced from {@code items} are resolved.
+     */
+    @Test
+    void testValidateJsonArrayWithSchema_mixedElements_returnsIndexedErrors() {
+        // Arrange
+        String schema = """
+                {
+                  "$schema": "http://json-schema.org/draft-04/schema#",
+                  "type": "array",
+                  "items": { "$ref": "#/definitions/company" },
+                  "definitions": {
+                    "company": {
+                      "type": "object",
+                      "properties": { "founded": { "type": "integer" } },
+                      "required": ["name"]
+                    }
+                  }
+                }
+                """;
+        String json = """
+                [
+                  {"name": "Tech Solutions Inc.", "founded": 1998},
+                  {"founded": 2005},
+                  {"name": "Green Energy Ltd.", "founded": 2010}
+                ]
+                """;
+
+        // Act
+        List<String> errors = jsonService.validateJsonArrayWithSchema(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), schema, Integer.MAX_VALUE);
+
+        // Assert
+        assertEquals(1, errors.size(), "Expected exactly one invalid element");
+        assertTrue(errors.get(0).startsWith("[1] "), "Expected error to be prefixed with the element index");
+        assertTrue(errors.get(0).contains("name"), "Expected error to mention the missing field");
+    }
+
+    /**
+     * Tests the {@code validateJsonArrayWithSchema} method with an array shorter than {@code minItems}.
+     * Verifies that array-level size constraints are checked against the streamed element count.
+     */
+    @Test
+    void testValidateJsonArrayWithSchema_tooFewItems_returnsError() {
+        // Arrange
+        String schema = "{\"type\": \"array\", \"items\": {\"type\": \"integer\"}, \"minItems\": 3}";
+        InputStream json = new ByteArrayInputStream("[1, 2]".getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        List<String> errors = jsonService.validateJsonArrayWithSchema(json, schema, Integer.MAX_VALUE);
+
+        // Assert
+        assertEquals(List.of("array has 2 items but the minimum is 3"), errors, "Expected minItems violation to be reported");
+    }
+
+    /**
+     * Tests the {@code validateJsonArrayWithSchema} method with a JSON object at the root.
+     * Verifies that the method throws an {@code IllegalArgumentException}.
+     */
+    @Test
+    void testValidateJsonArrayWithSchema_objectRoot_throwsException() {
+        // Arrange
+        String schema = "{\"type\": \"array\", \"items\": {\"type\": \"integer\"}}";
+        InputStream json = new ByteArrayInputStream("{\"name\": \"John\"}".getBytes(StandardCharsets.UTF_8));
+
+        // Act & Assert
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> jsonService.validateJsonArrayWithSchema(json, schema, Integer.MAX_VALUE),
+                "Expected non-array root to throw IllegalArgumentException");
+        assertTrue(ex.getMessage().contains("array at the root"), "Expected error message to indicate an array is required");
+    }
+
+    /**
+     * Tests the {@code validateJsonArrayWithSchemaId} method with a registered array schema.
+     * Verifies that the registered schema's {@code items} subschema is applied to each element.
+     */
+    @Test
+    void testValidateJsonArrayWithSchemaId_registeredSchema_returnsIndexedErrors() {
+        // Arrange
+        String schema = "{\"type\": \"array\", \"items\": {\"type\": \"string\"}}";
+        String schemaId = jsonService.registerSchema(schema.getBytes(StandardCharsets.UTF_8));
+        InputStream json = new ByteArrayInputStream("[\"a\", 2, \"c\", true]".getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        List<String> errors = jsonService.validateJsonArrayWithSchemaId(json, schemaId, Integer.MAX_VALUE);
+
+        // Assert
+        assertEquals(2, errors.size(), "Expected two invalid elements");
+        assertTrue(errors.get(0).startsWith("[1] "), "Expected first error to refer to element 1");
+        assertTrue(errors.get(1).startsWith("[3] "), "Expected second error to refer to element 3");
+    }
+
+    /**
+     * Tests the {@code getSchemaValidationErrors} method with an error budget smaller than the number of violations.
+     * Verifies that fail-fast mode returns a single error and that the error list is bounded by {@code maxErrors}.
+     */
+    @Test
+    void testGetSchemaValidationErrors_errorBudget_returnsBoundedErrors() {
+        // Arrange
+        String schema = """
+                {
+                  "type": "object",
+                  "properties": {
+                    "name": { "type": "string" },
+                    "founded": { "type": "integer" },
+                    "active": { "type": "boolean" }
+                  }
+                }
+                """;
+        byte[] json = "{\"name\": 1, \"founded\": \"1998\", \"active\": \"yes\"}".getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        List<String> allErrors = jsonService.getSchemaValidationErrors(json, schema, Integer.MAX_VALUE);
+        List<String> firstError = jsonService.getSchemaValidationErrors(json, schema, 1);
+        List<String> twoErrors = jsonService.getSchemaValidationErrors(json, schema, 2);
+
+        // Assert
+        assertEquals(3, allErrors.size(), "Expected every violation without an error budget");
+        assertEquals(1, firstError.size(), "Expected fail-fast validation to stop at the first error");
+        assertEquals(2, twoErrors.size(), "Expected the error list to be bounded by maxErrors");
+        assertFalse(jsonService.validateJsonWithSchema(json, schema), "Expected JSON to be invalid against schema");
+    }
+
+    /**
+     * Tests the {@code getSchemaValidationErrors} method with a non-positive error budget.
+     * Verifies that the method throws an {@code IllegalArgumentException}.
+     */
+    @Test
+    void testGetSchemaValidationErrors_zeroMaxErrors_throwsException() {
+        // Arrange
+        byte[] json = "{\"name\": \"John\"}".getBytes(StandardCharsets.UTF_8);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> jsonService.getSchemaValidationErrors(json, "{\"type\": \"object\"}", 0),
+                "Expected zero maxErrors to throw IllegalArgumentException");
+    }
+
+    /**
+     * Tests the {@code validateJsonArrayWithSchema} method with an error budget and a truncated array.
+     * Verifies that reading stops once the budget is used up, so the malformed tail is never parsed.
+     */
+    @Test
+    void testValidateJsonArrayWithSchema_errorBudgetReached_stopsReading() {
+        // Arrange
+        String schema = "{\"type\": \"array\", \"items\": {\"type\": \"integer\"}}";
+        InputStream json = new ByteArrayInputStream("[1, \"a\", \"b\", 4, {\"unterminated\"".getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        List<String> errors = jsonService.validateJsonArrayWithSchema(json, schema, 2);
+
+        // Assert
+        assertEquals(2, errors.size(), "Expected validation to stop after two errors");
+        assertTrue(errors.get(0).startsWith("[1] "), "Expected first error to refer to element 1");
+        assertTrue(errors.get(1).startsWith("[2] "), "Expected second error to refer to element 2");
+    }
+
+    /**
+     * Tests the {@code minifyJson} method with a valid JSON string.
+     * Verifies that the method returns a minified JSON string without unnecessary spaces or line breaks.
+     */
+    @Test
+    void testMinifyJson_validJson_returnsMinifiedJson() {
+        // Arrange
+        String prettyJson = """
+                {
+                    "companies": [
+                      {
+                        "name": "Tech Solutions Inc.",
+                        "founded": 1998,
+                        "employees": [
+                          {
+                            "id": 1,
+                            "name": "Alice Smith",
                             "title": "CEO",
                             "contact": {
                               "email": "alice.smith@techsolutions.com",
@@ -1685,6 +2409,80 @@ class JsonServiceImplTest {
         assertEquals(expectedMinifiedJson, minifiedJson, "Expected minified JSON output");
     }
 
+    /**
+     * Tests the {@code minifyJson} method with UTF-8 encoded bytes containing non-ASCII characters.
+     * Verifies that the byte input is decoded as UTF-8 and produces the same result as the string input.
+     */
+    @Test
+    void testMinifyJson_utf8Bytes_returnsMinifiedJson() {
+        // Arrange
+        String json = "{ \"city\" : \"Zürich\", \"greeting\" : \"Привіт\" }";
+        byte[] jsonBytes = json.getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        String minifiedJson = jsonService.minifyJson(jsonBytes);
+
+        // Assert
+        assertEquals("{\"city\":\"Zürich\",\"greeting\":\"Привіт\"}", minifiedJson, "Expected UTF-8 bytes to be minified without altering non-ASCII characters");
+        assertEquals(jsonService.minifyJson(json), minifiedJson, "Expected byte and string inputs to produce the same result");
+    }
+
+    /**
+     * Tests the {@code validateJson} method with whitespace-only UTF-8 bytes.
+     * Verifies that the method returns {@code false}, the same as for a blank string.
+     */
+    @Test
+    void testValidateJson_blankBytes_returnsFalse() {
+        // Arrange
+        byte[] jsonBytes = " \n\t ".getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        boolean isValid = jsonService.validateJson(jsonBytes);
+
+        // Assert
+        assertFalse(isValid, "Expected whitespace-only bytes to be invalid JSON");
+    }
+
+    /**
+     * Tests the {@code minifyJson} method with numbers and escape sequences in the input.
+     * Verifies that the byte scanner copies literals verbatim, only removing whitespace outside of strings.
+     */
+    @Test
+    void testMinifyJson_numbersAndEscapes_copiedVerbatim() {
+        // Arrange
+        String json = """
+                {
+                  "price" : 1.50,
+                  "distance" : 1E5,
+                  "name" : "caf\\u00e9 \\"du\\" monde",
+                  "tags" : [ "a b", "c\\td" ]
+                }
+                """;
+
+        // Act
+        String minifiedJson = jsonService.minifyJson(json);
+
+        // Assert
+        assertEquals("{\"price\":1.50,\"distance\":1E5,\"name\":\"caf\\u00e9 \\\"du\\\" monde\",\"tags\":[\"a b\",\"c\\td\"]}", minifiedJson,
+                "Expected whitespace outside strings to be removed and all literals to be kept verbatim");
+    }
+
+    /**
+     * Tests the {@code minifyJson} method with a root-level scalar, which the byte scanner does not handle.
+     * Verifies that the method falls back to Jackson and still returns the minified value.
+     */
+    @Test
+    void testMinifyJson_rootScalar_fallsBackToJackson() {
+        // Arrange
+        String json = "  \"just a string\"  ";
+
+        // Act
+        String minifiedJson = jsonService.minifyJson(json);
+
+        // Assert
+        assertEquals("\"just a string\"", minifiedJson, "Expected root-level scalar to be minified by the Jackson fallback");
+    }
+
     /**
      * Tests the {@code minifyJson} method with an invalid JSON string.
      * Verifies that the method throws an {@code IllegalArgumentException} because the input JSON cannot be parsed.
@@ -2039,85 +2837,99 @@ class JsonServiceImplTest {
         String expectedSortedJson = """
                 {
                   "companies" : [ {
-                    "name" : "Future Innovations Ltd.",
-                    "founded" : 2005,
+                    "departments" : {
+                      "engineering" : {
+                        "head" : "Mark Twain",
+                        "teams" : [ {
+                          "members" : [ "Liam", "Emma", "Olivia" ],
+                          "teamName" : "Cloud",
+                          "technologies" : [ "AWS", "Azure", "Google Cloud" ]
+                        }, {
+                          "members" : [ "Noah", "Ava" ],
+                          "teamName" : "IoT",
+                          "technologies" : [ "Raspberry Pi", "Arduino", "MQTT" ]
+                        } ]
+                      },
+                      "hr" : {
+                        "head" : "Sophie Turner",
+                        "teams" : [ ]
+                      }
+                    },
                     "employees" : [ {
-                      "id" : 1,
-                      "name" : "Jane Doe",
-                      "title" : "Founder",
                       "contact" : {
-                        "email" : "jane.doe@futureinnovations.com",
-                        "phone" : "+44-20-9876",
                         "address" : {
-                          "street" : "789 Future Blvd",
                           "city" : "Tech Haven",
-                          "state" : "TX",
-                          "zip" : "73301",
                           "coordinates" : {
                             "lat" : 30.2672,
                             "lng" : -97.7431
-                          }
-                        }
+                          },
+                          "state" : "TX",
+                          "street" : "789 Future Blvd",
+                          "zip" : "73301"
+                        },
+                        "email" : "jane.doe@futureinnovations.com",
+                        "phone" : "+44-20-9876"
                       },
+                      "id" : 1,
+                      "name" : "Jane Doe",
                       "projects" : [ {
-                        "projectId" : "p-201",
-                        "name" : "Smart Home Automation",
-                        "status" : "completed",
                         "budget" : 2000000,
                         "milestones" : [ {
-                          "milestoneId" : "m-101",
+                          "completed" : true,
                           "description" : "Market Research",
                           "dueDate" : "2024-05-15",
-                          "completed" : true
+                          "milestoneId" : "m-101"
                         }, {
-                          "milestoneId" : "m-102",
+                          "completed" : true,
                           "description" : "Prototype Deployment",
                           "dueDate" : "2024-12-01",
-                          "completed" : true
-                        } ]
-                      } ]
+                          "milestoneId" : "m-102"
+                        } ],
+                        "name" : "Smart Home Automation",
+                        "projectId" : "p-201",
+                        "status" : "completed"
+                      } ],
+                      "title" : "Founder"
                     }, {
-                      "id" : 2,
-                      "name" : "Mark Twain",
-                      "title" : "COO",
                       "contact" : {
-                        "email" : "mark.twain@futureinnovations.com",
-                        "phone" : "+44-20-5432",
                         "address" : {
-                          "street" : "321 Innovation Road",
                           "city" : "Tech Haven",
-                          "state" : "TX",
-                          "zip" : "73301",
                           "coordinates" : {
                             "lat" : 30.2672,
                             "lng" : -97.7431
-                          }
-                        }
+                          },
+                          "state" : "TX",
+                          "street" : "321 Innovation Road",
+                          "zip" : "73301"
+                        },
+                        "email" : "mark.twain@futureinnovations.com",
+                        "phone" : "+44-20-5432"
                       },
-                      "projects" : [ ]
+                      "id" : 2,
+                      "name" : "Mark Twain",
+                      "projects" : [ ],
+                      "title" : "COO"
                     } ],
-                    "departments" : {
-                      "engineering" : {
-                        "head" : "Mark Twain",
-                        "teams" : [ {
-                          "teamName" : "Cloud",
-                          "members" : [ "Liam", "Emma", "Olivia" ],
-                          "technologies" : [ "AWS", "Azure", "Google Cloud" ]
-                        }, {
-                          "teamName" : "IoT",
-                          "members" : [ "Noah", "Ava" ],
-                          "technologies" : [ "Raspberry Pi", "Arduino", "MQTT" ]
-                        } ]
-                      },
-                      "hr" : {
-                        "head" : "Sophie Turner",
-                        "teams" : [ ]
-                      }
+                    "financials" : {
+                      "currency" : "GBP",
+                      "expenses" : 4500000,
+                      "fiscalYear" : 2024,
+                      "investors" : [ {
+                        "equity" : 15,
+                        "investment" : 2000000,
+                        "name" : "Global Tech Fund"
+                      }, {
+                        "equity" : 7,
+                        "investment" : 750000,
+                        "name" : "Startup Angels"
+                      } ],
+                      "profit" : 3500000,
+                      "revenue" : 8000000
                     },
+                    "founded" : 2005,
+                    "name" : "Future Innovations Ltd.",
                     "offices" : [ {
-                      "location" : "Austin",
                       "capacity" : 40,
-                      "openSince" : "2018-03-10",
                       "facilities" : {
                         "cafeteria" : true,
                         "gym" : true,
@@ -2125,11 +2937,11 @@ class JsonServiceImplTest {
                           "available" : true,
                           "spots" : 25
                         }
-                      }
+                      },
+                      "location" : "Austin",
+                      "openSince" : "2018-03-10"
                     }, {
-                      "location" : "London",
                       "capacity" : 20,
-                      "openSince" : "2021-11-05",
                       "facilities" : {
                         "cafeteria" : true,
                         "gym" : false,
@@ -2137,104 +2949,104 @@ class JsonServiceImplTest {
                           "available" : true,
                           "spots" : 10
                         }
-                      }
-                    } ],
-                    "financials" : {
-                      "fiscalYear" : 2024,
-                      "revenue" : 8000000,
-                      "expenses" : 4500000,
-                      "profit" : 3500000,
-                      "currency" : "GBP",
-                      "investors" : [ {
-                        "name" : "Global Tech Fund",
-                        "investment" : 2000000,
-                        "equity" : 15
-                      }, {
-                        "name" : "Startup Angels",
-                        "investment" : 750000,
-                        "equity" : 7
-                      } ]
-                    }
+                      },
+                      "location" : "London",
+                      "openSince" : "2021-11-05"
+                    } ]
                   }, {
-                    "name" : "Tech Solutions Inc.",
-                    "founded" : 1998,
+                    "departments" : {
+                      "engineering" : {
+                        "head" : "Bob Johnson",
+                        "teams" : [ {
+                          "members" : [ "Charlie", "Dana", "Eli" ],
+                          "teamName" : "Backend",
+                          "technologies" : [ "Node.js", "Python", "PostgreSQL" ]
+                        }, {
+                          "members" : [ "Fiona", "George" ],
+                          "teamName" : "Frontend",
+                          "technologies" : [ "React", "Vue", "HTML5", "CSS3" ]
+                        } ]
+                      },
+                      "hr" : {
+                        "head" : "Grace Lee",
+                        "teams" : [ ]
+                      }
+                    },
                     "employees" : [ {
-                      "id" : 1,
-                      "name" : "Alice Smith",
-                      "title" : "CEO",
                       "contact" : {
-                        "email" : "alice.smith@techsolutions.com",
-                        "phone" : "+1-555-1234",
                         "address" : {
-                          "street" : "123 Tech Lane",
                           "city" : "Innovate City",
-                          "state" : "CA",
-                          "zip" : "90001",
                           "coordinates" : {
                             "lat" : 34.0522,
                             "lng" : -118.2437
-                          }
-                        }
+                          },
+                          "state" : "CA",
+                          "street" : "123 Tech Lane",
+                          "zip" : "90001"
+                        },
+                        "email" : "alice.smith@techsolutions.com",
+                        "phone" : "+1-555-1234"
                       },
+                      "id" : 1,
+                      "name" : "Alice Smith",
                       "projects" : [ {
-                        "projectId" : "p-101",
-                        "name" : "AI Assistant",
-                        "status" : "active",
                         "budget" : 1200000.5,
                         "milestones" : [ {
-                          "milestoneId" : "m-001",
+                          "completed" : true,
                           "description" : "Initial Research",
                           "dueDate" : "2025-06-30",
-                          "completed" : true
+                          "milestoneId" : "m-001"
                         }, {
-                          "milestoneId" : "m-002",
+                          "completed" : false,
                           "description" : "Prototype Development",
                           "dueDate" : "2025-09-15",
-                          "completed" : false
-                        } ]
-                      } ]
+                          "milestoneId" : "m-002"
+                        } ],
+                        "name" : "AI Assistant",
+                        "projectId" : "p-101",
+                        "status" : "active"
+                      } ],
+                      "title" : "CEO"
                     }, {
-                      "id" : 2,
-                      "name" : "Bob Johnson",
-                      "title" : "CTO",
                       "contact" : {
-                        "email" : "bob.johnson@techsolutions.com",
-                        "phone" : "+1-555-5678",
                         "address" : {
-                          "street" : "456 Dev Avenue",
                           "city" : "Code Town",
-                          "state" : "NY",
-                          "zip" : "10001",
                           "coordinates" : {
                             "lat" : 40.7128,
                             "lng" : -74.006
-                          }
-                        }
+                          },
+                          "state" : "NY",
+                          "street" : "456 Dev Avenue",
+                          "zip" : "10001"
+                        },
+                        "email" : "bob.johnson@techsolutions.com",
+                        "phone" : "+1-555-5678"
                       },
-                      "projects" : [ ]
+                      "id" : 2,
+                      "name" : "Bob Johnson",
+                      "projects" : [ ],
+                      "title" : "CTO"
                     } ],
-                    "departments" : {
-                      "engineering" : {
-                        "head" : "Bob Johnson",
-                        "teams" : [ {
-                          "teamName" : "Backend",
-                          "members" : [ "Charlie", "Dana", "Eli" ],
-                          "technologies" : [ "Node.js", "Python", "PostgreSQL" ]
-                        }, {
-                          "teamName" : "Frontend",
-                          "members" : [ "Fiona", "George" ],
-                          "technologies" : [ "React", "Vue", "HTML5", "CSS3" ]
-                        } ]
-                      },
-                      "hr" : {
-                        "head" : "Grace Lee",
-                        "teams" : [ ]
-                      }
+                    "financials" : {
+                      "currency" : "USD",
+                      "expenses" : 3200000,
+                      "fiscalYear" : 2024,
+                      "investors" : [ {
+                        "equity" : 10,
+                        "investment" : 1000000,
+                        "name" : "Capital Ventures"
+                      }, {
+                        "equity" : 5,
+                        "investment" : 500000,
+                        "name" : "Tech Angels"
+                      } ],
+                      "profit" : 2400000,
+                      "revenue" : 5600000
                     },
+                    "founded" : 1998,
+                    "name" : "Tech Solutions Inc.",
                     "offices" : [ {
-                      "location" : "San Francisco",
                       "capacity" : 50,
-                      "openSince" : "2010-05-15",
                       "facilities" : {
                         "cafeteria" : true,
                         "gym" : false,
@@ -2242,11 +3054,11 @@ class JsonServiceImplTest {
                           "available" : true,
                           "spots" : 20
                         }
-                      }
+                      },
+                      "location" : "San Francisco",
+                      "openSince" : "2010-05-15"
                     }, {
-                      "location" : "New York",
                       "capacity" : 30,
-                      "openSince" : "2015-08-20",
                       "facilities" : {
                         "cafeteria" : true,
                         "gym" : true,
@@ -2254,24 +3066,10 @@ class JsonServiceImplTest {
                           "available" : false,
                           "spots" : 0
                         }
-                      }
-                    } ],
-                    "financials" : {
-                      "fiscalYear" : 2024,
-                      "revenue" : 5600000,
-                      "expenses" : 3200000,
-                      "profit" : 2400000,
-                      "currency" : "USD",
-                      "investors" : [ {
-                        "name" : "Capital Ventures",
-                        "investment" : 1000000,
-                        "equity" : 10
-                      }, {
-                        "name" : "Tech Angels",
-                        "investment" : 500000,
-                        "equity" : 5
-                      } ]
-                    }
+                      },
+                      "location" : "New York",
+                      "openSince" : "2015-08-20"
+                    } ]
                   } ]
                 }""";
 
@@ -2315,6 +3113,198 @@ class JsonServiceImplTest {
         assertEquals(expectedNode, actualNode, "Expected JSON array to be sorted by 'name' field");
     }
 
+    /**
+     * Tests the {@code sortJson} method with a root-level array sorted by a numeric field.
+     * Verifies that numbers are compared numerically and that elements missing the field, or holding
+     * {@code null}, are placed last in their original order instead of causing an error.
+     */
+    @Test
+    void testSortJson_numericFieldWithMissingValues_sortsNumericallyNullsLast() throws Exception {
+        // Arrange
+        String json = """
+                [
+                  { "name": "John", "age": 30 },
+                  { "name": "Eve" },
+                  { "name": "Alice", "age": 4 },
+                  { "name": "Mallory", "age": null },
+                  { "name": "Bob", "age": 100 }
+                ]
+                """;
+        String expectedSortedJson = """
+                [
+                  { "name": "Alice", "age": 4 },
+                  { "name": "John", "age": 30 },
+                  { "name": "Bob", "age": 100 },
+                  { "name": "Eve" },
+                  { "name": "Mallory", "age": null }
+                ]
+                """;
+
+        // Act
+        String sortedJson = jsonService.sortJson(json, "age");
+
+        // Assert
+        ObjectMapper mapper = new ObjectMapper();
+        assertEquals(mapper.readTree(expectedSortedJson), mapper.readTree(sortedJson),
+                "Expected numeric sort with missing and null values last");
+    }
+
+    /**
+     * Tests the {@code sortJsonBy} method with a specification of several keys, one nested and one descending.
+     * Verifies that elements are ordered by the first key, with ties broken by the following keys in their
+     * direction, and that elements missing a key are placed last even when sorting in descending order.
+     */
+    @Test
+    void testSortJsonBy_multipleKeysWithNestedPathAndDescending_sortsByEachKeyInTurn() throws Exception {
+        // Arrange
+        String json = """
+                [
+                  { "name": "Tech Solutions Inc.", "founded": 1998, "address": { "city": "New York" } },
+                  { "name": "Green Energy Ltd.", "founded": 2010, "address": { "city": "Austin" } },
+                  { "name": "Future Innovations Ltd.", "founded": 2005, "address": { "city": "New York" } },
+                  { "name": "Blue Ocean Corp.", "address": { "city": "New York" } },
+                  { "name": "Alpha Systems", "founded": 2005, "address": { "city": "New York" } }
+                ]
+                """;
+        String expectedSortedJson = """
+                [
+                  { "name": "Green Energy Ltd.", "founded": 2010, "address": { "city": "Austin" } },
+                  { "name": "Alpha Systems", "founded": 2005, "address": { "city": "New York" } },
+                  { "name": "Future Innovations Ltd.", "founded": 2005, "address": { "city": "New York" } },
+                  { "name": "Tech Solutions Inc.", "founded": 1998, "address": { "city": "New York" } },
+                  { "name": "Blue Ocean Corp.", "address": { "city": "New York" } }
+                ]
+                """;
+
+        // Act
+        String sortedJson = jsonService.sortJsonBy(json, "address.city,-founded,name");
+
+        // Assert
+        ObjectMapper mapper = new ObjectMapper();
+        assertEquals(mapper.readTree(expectedSortedJson), mapper.readTree(sortedJson),
+                "Expected array to be sorted by city, then by descending founding year, then by name");
+    }
+
+    /**
+     * Tests the {@code sortJsonBy} method with a specification containing an empty key.
+     * Verifies that the method throws an {@code IllegalArgumentException} describing the invalid specification.
+     */
+    @Test
+    void testSortJsonBy_emptyKey_throwsException() {
+        // Arrange
+        String json = "[{\"name\":\"John\"},{\"name\":\"Jane\"}]";
+
+        // Act & Assert
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> jsonService.sortJsonBy(json, "name,,age"),
+                "Expected a specification with an empty key to throw IllegalArgumentException");
+        assertTrue(ex.getMessage().contains("Invalid sort specification"), "Expected error message to describe the specification");
+    }
+
+    /**
+     * Tests the {@code sortJsonBy} method with an offset and a limit.
+     * Verifies that the returned slice matches the same slice of the fully sorted array, with elements
+     * of equal keys in input order.
+     */
+    @Test
+    void testSortJsonBy_offsetAndLimit_returnsSliceOfSortedArray() throws Exception {
+        // Arrange
+        ObjectMapper mapper = new ObjectMapper();
+        List<Map<String, Object>> elements = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            elements.add(Map.of("id", i, "score", (i * 7919) % 53));
+        }
+        String json = mapper.writeValueAsString(elements);
+        JsonNode fullySorted = mapper.readTree(jsonService.sortJsonBy(json, "-score,id"));
+        List<JsonNode> expectedSlice = new ArrayList<>();
+        for (int i = 20; i < 30; i++) {
+            expectedSlice.add(fullySorted.get(i));
+        }
+
+        // Act
+        String slice = jsonService.sortJsonBy(json, "-score,id", 20, 10);
+
+        // Assert
+        assertEquals(mapper.valueToTree(expectedSlice), mapper.readTree(slice),
+                "Expected the slice to match the same range of the fully sorted array");
+    }
+
+    /**
+     * Tests the {@code sortJson} method with a limit and a field name containing a dot.
+     * Verifies that the field name is taken literally rather than as a path into nested objects.
+     */
+    @Test
+    void testSortJson_limitWithDottedField_sortsByLiteralField() throws Exception {
+        // Arrange
+        ObjectMapper mapper = new ObjectMapper();
+        String json = "[{\"a.b\":3,\"a\":{\"b\":1}},{\"a.b\":1,\"a\":{\"b\":3}},{\"a.b\":2,\"a\":{\"b\":2}}]";
+
+        // Act
+        String slice = jsonService.sortJson(json, "a.b", 0, 2);
+
+        // Assert
+        assertEquals(mapper.readTree("[{\"a.b\":1,\"a\":{\"b\":3}},{\"a.b\":2,\"a\":{\"b\":2}}]"), mapper.readTree(slice),
+                "Expected the elements to be sorted by the top-level 'a.b' field");
+    }
+
+    /**
+     * Tests the {@code sortJsonBy} method with a negative limit.
+     * Verifies that the method throws an {@code IllegalArgumentException}.
+     */
+    @Test
+    void testSortJsonBy_negativeLimit_throwsException() {
+        // Arrange
+        String json = "[{\"name\":\"John\"},{\"name\":\"Jane\"}]";
+
+        // Act & Assert
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> jsonService.sortJsonBy(json, "name", 0, -1),
+                "Expected a negative limit to throw IllegalArgumentException");
+        assertTrue(ex.getMessage().contains("must not be negative"), "Expected error message to mention the negative bound");
+    }
+
+    /**
+     * Tests the {@code sortJson} method with a streamed array far larger than the memory budget of a run.
+     * Verifies that the runs spilled to disk are merged into the same order as the in-memory sort,
+     * keeping elements with equal keys in input order, and that no run files are left behind.
+     */
+    @Test
+    void testSortJson_streamLargerThanMemoryBudget_matchesInMemorySort() throws Exception {
+        // Arrange
+        ObjectMapper mapper = new ObjectMapper();
+        List<Map<String, Object>> elements = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            elements.add(Map.of("id", i, "group", (i * 7919) % 37, "label", "item-" + (i % 11)));
+        }
+        String json = mapper.writeValueAsString(elements);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        jsonService.sortJson(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), out, "group");
+
+        // Assert
+        assertEquals(mapper.readTree(jsonService.sortJson(json, "group")), mapper.readTree(out.toByteArray()),
+                "Expected the external sort to produce the same order as the in-memory sort");
+        assertEquals(0, sortDirectory.toFile().list().length, "Expected run files to be deleted after the sort");
+    }
+
+    /**
+     * Tests the {@code sortJson} method with a streamed JSON object instead of an array.
+     * Verifies that the method throws an {@code IllegalArgumentException}.
+     */
+    @Test
+    void testSortJson_streamNotArray_throwsException() {
+        // Arrange
+        InputStream json = new ByteArrayInputStream("{\"name\":\"John\"}".getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act & Assert
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> jsonService.sortJson(json, out, "name"),
+                "Expected a stream that is not an array to throw IllegalArgumentException");
+        assertTrue(ex.getMessage().contains("expected an array"), "Expected error message to ask for an array");
+    }
+
     /**
      * Tests the {@code sortJson} method with an invalid JSON string.
      * Verifies that the method throws an {@code IllegalArgumentException} because the input JSON cannot be parsed.
@@ -2443,6 +3433,32 @@ class JsonServiceImplTest {
         assertTrue(ex.getMessage().contains("Invalid JSON"), "Expected error message to indicate invalid JSON");
     }
 
+    /**
+     * Tests the {@code findInJson} method with invalid JSON that does not contain the search term.
+     * Verifies that the pre-filter short-circuits to an empty result without validating the document, and that
+     * the document is parsed and rejected when the pre-filter is disabled.
+     */
+    @Test
+    void testFindInJson_invalidJsonWithoutTerm_dependsOnPreFilter() {
+        // Arrange
+        String invalidJson = "{ \"name\": \"Alice\" "; // Missing closing brace
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonServiceImpl unfilteredService = new JsonServiceImpl(objectMapper, new JsonSchemaCache(objectMapper, 256, 1024),
+                new JsonSchemaRegistry(objectMapper, schemaDirectory.toString()), new JsonParallelParser(objectMapper, 1, 1024, 4),
+                new JsonExternalSorter(objectMapper, 64, sortDirectory.toString()), new JsonPathCache(16), new JsonFindFilter(false));
+
+        // Act
+        List<String> filteredMatches = jsonService.findInJson(invalidJson, "Bob");
+
+        // Assert
+        assertEquals(List.of(), filteredMatches, "Expected the pre-filter to rule out the document without parsing it");
+        assertEquals(1L, jsonService.getFindFilterStats().get("shortCircuits"), "Expected the search to be short-circuited");
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> unfilteredService.findInJson(invalidJson, "Bob"),
+                "Expected invalid JSON to throw IllegalArgumentException with the pre-filter disabled");
+        assertTrue(ex.getMessage().contains("Invalid JSON"), "Expected error message to indicate invalid JSON");
+    }
+
     /**
      * Tests the {@code findInJson} method with an empty JSON string.
      * Verifies that the method throws an {@code IllegalArgumentException} because the input is not valid JSON.
@@ -2460,6 +3476,275 @@ class JsonServiceImplTest {
         assertTrue(ex.getMessage().contains("Invalid JSON"), "Expected error message to indicate invalid JSON");
     }
 
+    /**
+     * Tests the {@code findInJson} method with a search term matching numbers and literals.
+     * Verifies that values are matched by their text as read into JSON nodes, with numbers in canonical form.
+     */
+    @Test
+    void testFindInJson_numbersAndLiterals_matchedByText() {
+        // Arrange
+        String json = "{\"count\": 100, \"ratio\": 1e2, \"flags\": [true, \"true\", null], \"nested\": [[{\"true\": 100.0}]]}";
+
+        // Act
+        List<String> numberMatches = jsonService.findInJson(json, "100.0");
+        List<String> literalMatches = jsonService.findInJson(json, "true");
+
+        // Assert
+        assertEquals(List.of("$.ratio (value)", "$.nested[0][0].true (value)"), numberMatches,
+                "Expected floating-point numbers to match their canonical text");
+        assertEquals(List.of("$.flags[0] (value)", "$.flags[1] (value)", "$.nested[0][0].true (key)"), literalMatches,
+                "Expected the literal and the string to match, and keys to match in document order");
+    }
+
+    /**
+     * Tests the {@code findInJson} method with a deeply nested document.
+     * Verifies that the path of a match deep inside nested arrays and objects is reported in full.
+     */
+    @Test
+    void testFindInJson_deeplyNested_returnsFullPath() {
+        // Arrange
+        StringBuilder json = new StringBuilder();
+        StringBuilder expectedPath = new StringBuilder("$");
+        for (int i = 0; i < 200; i++) {
+            json.append(i % 2 == 0 ? "{\"level\": " : "[0, ");
+            expectedPath.append(i % 2 == 0 ? ".level" : "[1]");
+        }
+        json.append("\"needle\"");
+        for (int i = 199; i >= 0; i--) {
+            json.append(i % 2 == 0 ? "}" : "]");
+        }
+
+        // Act
+        List<String> matches = jsonService.findInJson(json.toString(), "needle");
+
+        // Assert
+        assertEquals(List.of(expectedPath + " (value)"), matches, "Expected the full path of the deeply nested match");
+    }
+
+    /**
+     * Tests the {@code findInJson} method with a limit on the number of matches.
+     * Verifies that the search stops at the limit, without reading the rest of the document.
+     */
+    @Test
+    void testFindInJson_limit_stopsAtLimit() {
+        // Arrange
+        String json = "{\"a\": \"x\", \"b\": [\"x\", {\"x\": \"x\"}], \"c\": this part is never parsed";
+
+        // Act
+        List<String> first = jsonService.findInJson(json, "x", 1);
+        List<String> firstThree = jsonService.findInJson(json, "x", 3);
+
+        // Assert
+        assertEquals(List.of("$.a (value)"), first, "Expected only the first match");
+        assertEquals(List.of("$.a (value)", "$.b[0] (value)", "$.b[1].x (key)"), firstThree,
+                "Expected the first three matches, in document order");
+        assertThrows(IllegalArgumentException.class, () -> jsonService.findInJson(json, "x", 5),
+                "Expected the invalid rest of the document to be reached without enough matches");
+        assertThrows(IllegalArgumentException.class, () -> jsonService.findInJson(json, "x", -1));
+    }
+
+    /**
+     * Tests the {@code findInJson} method with a streamed document.
+     * Verifies that matches are written as a JSON array or as newline-delimited JSON strings, up to the limit.
+     */
+    @Test
+    void testFindInJson_stream_writesArrayOrNdjson() throws Exception {
+        // Arrange
+        String json = "{\"a\": \"x\", \"b\": [\"x\", {\"x\": \"x\"}]}";
+        ByteArrayOutputStream array = new ByteArrayOutputStream();
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+
+        // Act
+        jsonService.findInJson(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), array, "x",
+                Integer.MAX_VALUE, false);
+        jsonService.findInJson(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), ndjson, "x", 2, true);
+
+        // Assert
+        assertEquals(new ObjectMapper().valueToTree(jsonService.findInJson(json, "x")),
+                new ObjectMapper().readTree(array.toByteArray()), "Expected the streamed array to hold every match");
+        assertEquals("\"$.a (value)\"\n\"$.b[0] (value)\"\n", ndjson.toString(StandardCharsets.UTF_8),
+                "Expected one JSON string per line, up to the limit");
+    }
+
+    /**
+     * Tests the {@code findInJson} method with documents the byte pre-filter can and cannot rule out.
+     * Verifies that documents without the term are short-circuited, and that escaped or numeric terms are still
+     * found by parsing.
+     */
+    @Test
+    void testFindInJson_preFilter_shortCircuitsOnlyWhenTermCannotOccur() {
+        // Arrange
+        String withoutTerm = "{\"name\": \"Alice\", \"tags\": [\"admin\", \"ops\"]}";
+        String escapedTerm = "{\"name\": \"\\u0042ob\"}";
+        String numericTerm = "{\"count\": 1e2}";
+
+        // Act
+        List<String> noMatches = jsonService.findInJson(withoutTerm, "Bob");
+        List<String> escapedMatches = jsonService.findInJson(escapedTerm, "Bob");
+        List<String> numericMatches = jsonService.findInJson(numericTerm, "100.0");
+        Map<String, Long> stats = jsonService.getFindFilterStats();
+
+        // Assert
+        assertEquals(List.of(), noMatches, "Expected no matches for a document without the term");
+        assertEquals(List.of("$.name (value)"), escapedMatches, "Expected the escaped term to be found");
+        assertEquals(List.of("$.count (value)"), numericMatches, "Expected the number to match its canonical text");
+        assertEquals(2L, stats.get("scans"), "Expected the two string terms to be scanned for");
+        assertEquals(1L, stats.get("shortCircuits"), "Expected the document without the term to skip parsing");
+        assertEquals(1L, stats.get("escapeFallbacks"), "Expected the escaped document to be parsed");
+        assertEquals(1L, stats.get("bypassed"), "Expected the numeric term not to be filtered");
+    }
+
+    /**
+     * Tests the {@code findInJson} method with several terms in different modes.
+     * Verifies that the matches are grouped by term, in the order the terms are given, including terms with no match.
+     */
+    @Test
+    void testFindInJson_multipleTermsAndModes_groupsMatchesByTerm() {
+        // Arrange
+        String json = "{\"User\": {\"name\": \"alice\", \"tags\": [\"Admin\", \"x-admin\", \"admin-2\"], \"id\": 1e2}}";
+        List<String> terms = List.of("admin", "user", "adm", "^x-", "100.0", "bob");
+        List<String> modes = List.of("contains", "case-insensitive", "prefix", "regex", "exact", "exact");
+
+        // Act
+        Map<String, List<String>> matches = jsonService.findInJson(json, terms, modes);
+
+        // Assert
+        assertEquals(terms, List.copyOf(matches.keySet()), "Expected one entry per term, in the order given");
+        assertEquals(List.of("$.User.tags[1] (value)", "$.User.tags[2] (value)"), matches.get("admin"));
+        assertEquals(List.of("$.User (key)"), matches.get("user"));
+        assertEquals(List.of("$.User.tags[2] (value)"), matches.get("adm"));
+        assertEquals(List.of("$.User.tags[1] (value)"), matches.get("^x-"));
+        assertEquals(List.of("$.User.id (value)"), matches.get("100.0"));
+        assertEquals(List.of(), matches.get("bob"), "Expected no matches for a missing term");
+    }
+
+    /**
+     * Tests the {@code findInJson} method with several terms and invalid search options.
+     * Verifies that an unknown mode, an invalid regular expression and a duplicate term are rejected.
+     */
+    @Test
+    void testFindInJson_invalidSearchOptions_throwsException() {
+        // Arrange
+        String json = "{\"name\": \"alice\"}";
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> jsonService.findInJson(json, List.of("alice"), List.of("fuzzy")));
+        assertThrows(IllegalArgumentException.class,
+                () -> jsonService.findInJson(json, List.of("(alice"), List.of("regex")));
+        assertThrows(IllegalArgumentException.class,
+                () -> jsonService.findInJson(json, List.of("alice", "alice"), List.of()));
+        assertThrows(IllegalArgumentException.class,
+                () -> jsonService.findInJson(json, List.of("alice", "bob"), List.of("exact", "prefix", "regex")));
+    }
+
+    /**
+     * Tests the {@code queryJson} method with a JSONPath query holding a filter.
+     * Verifies that the method returns the values of the selected nodes, in document order.
+     */
+    @Test
+    void testQueryJson_filterQuery_returnsSelectedValues() throws Exception {
+        // Arrange
+        String json = """
+                {
+                  "store": {
+                    "book": [
+                      { "title": "Sayings of the Century", "price": 8.95 },
+                      { "title": "Sword of Honour", "price": 12.99 },
+                      { "title": "Moby Dick", "isbn": "0-553-21311-3", "price": 8.99 }
+                    ]
+                  }
+                }
+                """;
+
+        // Act
+        String result = jsonService.queryJson(json, "$.store.book[?@.price < 10].title");
+
+        // Assert
+        assertEquals(new ObjectMapper().readTree("[\"Sayings of the Century\", \"Moby Dick\"]"), new ObjectMapper().readTree(result),
+                "Expected the titles of the books cheaper than 10");
+    }
+
+    /**
+     * Tests the {@code queryJsonPaths} method with descendant, slice and name selectors.
+     * Verifies that the method returns the normalized paths of the selected nodes.
+     */
+    @Test
+    void testQueryJsonPaths_returnsNormalizedPaths() {
+        // Arrange
+        String json = "{\"a\": [{\"b\": 1}, {\"b\": 2}, {\"b\": 3}], \"it's\": {\"b\": 4}}";
+
+        // Act
+        List<String> paths = jsonService.queryJsonPaths(json, "$..[-2:]['b']");
+        List<String> quotedPaths = jsonService.queryJsonPaths(json, "$[\"it's\"].b");
+
+        // Assert
+        assertEquals(List.of("$['a'][1]['b']", "$['a'][2]['b']"), paths, "Expected the paths of the last two elements' members");
+        assertEquals(List.of("$['it\\'s']['b']"), quotedPaths, "Expected quotes in member names to be escaped");
+    }
+
+    /**
+     * Tests the {@code queryJson} method with a streamed document.
+     * Verifies that the values selected over the token stream are those selected from the tree.
+     */
+    @Test
+    void testQueryJson_stream_matchesTreeQuery() throws Exception {
+        // Arrange
+        ObjectMapper mapper = new ObjectMapper();
+        List<Map<String, Object>> elements = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            elements.add(Map.of("id", i, "group", i % 7, "tags", List.of("t" + i % 3, "t" + i % 5)));
+        }
+        String json = mapper.writeValueAsString(Map.of("items", elements));
+        String path = "$.items[?@.group == 3 && @.tags[0] == 't0'].id";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        jsonService.queryJson(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), out, path);
+
+        // Assert
+        JsonNode streamed = mapper.readTree(out.toByteArray());
+        assertEquals(mapper.readTree(jsonService.queryJson(json, path)), streamed, "Expected the streamed query to select the same values");
+        assertEquals(10, streamed.size(), "Expected one element in 21 to be selected");
+    }
+
+    /**
+     * Tests the {@code queryJson} method with a query that is not valid JSONPath.
+     * Verifies that the method throws an {@code IllegalArgumentException} naming the position of the error.
+     */
+    @Test
+    void testQueryJson_invalidQuery_throwsException() {
+        // Arrange
+        String json = "{\"a\": [1, 2, 3]}";
+
+        // Act & Assert
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> jsonService.queryJson(json, "$.a[?@.* == 1]"),
+                "Expected a comparison of a query selecting several nodes to throw IllegalArgumentException");
+        assertTrue(ex.getMessage().startsWith("Invalid JSONPath"), "Expected error message to indicate an invalid query");
+        assertTrue(ex.getMessage().contains("position 5"), "Expected error message to name the position of the error");
+    }
+
+    /**
+     * Tests the {@code getJsonPathCacheStats} method after running the same query twice.
+     * Verifies that the query is compiled once and then served from the cache.
+     */
+    @Test
+    void testGetJsonPathCacheStats_repeatedQuery_hitsCache() {
+        // Arrange
+        String json = "{\"a\": [1, 2, 3]}";
+
+        // Act
+        jsonService.queryJson(json, "$.a[0]");
+        jsonService.queryJsonPaths(json, "$.a[0]");
+        Map<String, Long> stats = jsonService.getJsonPathCacheStats();
+
+        // Assert
+        assertEquals(1L, stats.get("misses"), "Expected the query to be compiled once");
+        assertEquals(1L, stats.get("hits"), "Expected the second run to reuse the compiled query");
+        assertEquals(1L, stats.get("size"), "Expected one cached query");
+    }
+
     /**
      * Tests the {@code convertJsonToCsv} method with a valid JSON array of objects.
      * Verifies that the method returns a CSV string representation of the JSON data.